@@ -0,0 +1,57 @@
+package com.codeosseum.eligo.benchmark;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Player with the attributes the benchmarks classify on. Identity is used for equality, like session objects.
+ */
+public final class BenchmarkPlayer {
+    public static final List<String> REGIONS = Arrays.asList("eu-west", "eu-east", "us-west", "us-east", "asia", "oceania", "africa", "south-america");
+
+    public static final List<String> ROLES = Arrays.asList("attacker", "defender", "support", "healer");
+
+    public static final int MAX_RANK = 3000;
+
+    private final int rank;
+
+    private final String region;
+
+    private final String role;
+
+    public static BenchmarkPlayer random(final Random random) {
+        return new BenchmarkPlayer(
+                random.nextInt(MAX_RANK),
+                REGIONS.get(random.nextInt(REGIONS.size())),
+                ROLES.get(random.nextInt(ROLES.size())));
+    }
+
+    public static BenchmarkPlayer[] random(final Random random, final int count) {
+        final BenchmarkPlayer[] players = new BenchmarkPlayer[count];
+
+        for (int i = 0; i < count; ++i) {
+            players[i] = random(random);
+        }
+
+        return players;
+    }
+
+    public int getRank() {
+        return rank;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    private BenchmarkPlayer(final int rank, final String region, final String role) {
+        this.rank = rank;
+        this.region = region;
+        this.role = role;
+    }
+}
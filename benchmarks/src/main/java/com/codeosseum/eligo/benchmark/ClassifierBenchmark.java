@@ -0,0 +1,89 @@
+package com.codeosseum.eligo.benchmark;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.codeosseum.eligo.classifier.Classifier;
+import com.codeosseum.eligo.classifier.Classifiers;
+
+import static java.util.Arrays.stream;
+
+/**
+ * Classification of a single player, both through the allocating {@code classify} and the index-returning
+ * {@code classIndex}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ClassifierBenchmark {
+    private static final int PLAYER_COUNT = 1024;
+
+    private BenchmarkPlayer[] players;
+
+    private Classifier<BenchmarkPlayer> exact;
+
+    private Classifier<BenchmarkPlayer> openInterval;
+
+    private Classifier<BenchmarkPlayer> primitiveOpenInterval;
+
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        players = BenchmarkPlayer.random(new Random(42), PLAYER_COUNT);
+
+        final List<Integer> boundaries = stream(Lobbies.RANK_BOUNDARIES).boxed().collect(Collectors.toList());
+
+        exact = Classifiers.exact(BenchmarkPlayer.REGIONS, BenchmarkPlayer::getRegion);
+        openInterval = Classifiers.openInterval(boundaries, BenchmarkPlayer::getRank);
+        primitiveOpenInterval = Classifiers.openInterval(Lobbies.RANK_BOUNDARIES, BenchmarkPlayer::getRank);
+    }
+
+    @Benchmark
+    public List<Optional<BenchmarkPlayer>> exactClassify() {
+        return exact.classify(nextPlayer());
+    }
+
+    @Benchmark
+    public int exactClassIndex() {
+        return exact.classIndex(nextPlayer());
+    }
+
+    @Benchmark
+    public List<Optional<BenchmarkPlayer>> openIntervalClassify() {
+        return openInterval.classify(nextPlayer());
+    }
+
+    @Benchmark
+    public int openIntervalClassIndex() {
+        return openInterval.classIndex(nextPlayer());
+    }
+
+    @Benchmark
+    public int primitiveOpenIntervalClassIndex() {
+        return primitiveOpenInterval.classIndex(nextPlayer());
+    }
+
+    private BenchmarkPlayer nextPlayer() {
+        cursor = (cursor + 1) & (PLAYER_COUNT - 1);
+
+        return players[cursor];
+    }
+}
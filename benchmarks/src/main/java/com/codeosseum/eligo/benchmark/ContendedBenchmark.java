@@ -0,0 +1,58 @@
+package com.codeosseum.eligo.benchmark;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.codeosseum.eligo.matchmaker.Matchmaker;
+
+/**
+ * Players joining from several threads while another thread keeps making matches, comparing the locking modes of
+ * the decision tree. Ticks drain the buckets, hence the lobby does not grow without bounds.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Group)
+public class ContendedBenchmark {
+    @Param({"dense", "concurrent", "buffered"})
+    public String mode;
+
+    private Matchmaker<BenchmarkPlayer, List<BenchmarkPlayer>> matchmaker;
+
+    @Setup
+    public void setUp() {
+        matchmaker = Lobbies.decisionTree(3, true, Lobbies.mode(mode));
+    }
+
+    @Benchmark
+    @Group("joinAndTick")
+    @GroupThreads(3)
+    public void join() {
+        matchmaker.addPlayer(BenchmarkPlayer.random(ThreadLocalRandom.current()));
+    }
+
+    @Benchmark
+    @Group("joinAndTick")
+    @GroupThreads(1)
+    public Set<List<BenchmarkPlayer>> tick() {
+        return matchmaker.makeMatch();
+    }
+}
@@ -0,0 +1,84 @@
+package com.codeosseum.eligo.benchmark;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+
+import com.codeosseum.eligo.classifier.Classifier;
+import com.codeosseum.eligo.classifier.Classifiers;
+import com.codeosseum.eligo.matchmaker.Matchmaker;
+import com.codeosseum.eligo.matchmaker.Matchmakers;
+import com.codeosseum.eligo.matchmaker.decisiontree.DecisionTreeMatchmakerBuilder;
+import com.codeosseum.eligo.matchmaker.decisiontree.MatchFunction;
+
+import static com.codeosseum.eligo.matchmaker.decisiontree.BucketMatcher.hasAtLeast;
+
+/**
+ * Creates the decision tree matchmakers shared by the benchmarks.
+ */
+final class Lobbies {
+    static final int MATCH_SIZE = 2;
+
+    /**
+     * Rank boundaries splitting the ranks into ten classes.
+     */
+    static final int[] RANK_BOUNDARIES = IntStream.range(1, 10).map(i -> i * BenchmarkPlayer.MAX_RANK / 10).toArray();
+
+    /**
+     * Creates a matchmaker classifying on rank, then region, then role, using the specified number of classifiers.
+     */
+    static Matchmaker<BenchmarkPlayer, List<BenchmarkPlayer>> decisionTree(final int depth, final boolean draining,
+                                                                         final UnaryOperator<DecisionTreeMatchmakerBuilder<BenchmarkPlayer, List<BenchmarkPlayer>>> configuration) {
+        final DecisionTreeMatchmakerBuilder<BenchmarkPlayer, List<BenchmarkPlayer>> builder = Matchmakers.decisionTree();
+
+        classifiers(depth).forEach(builder::classifier);
+
+        final MatchFunction.MatchFunctionBuilder<BenchmarkPlayer, List<BenchmarkPlayer>> function = MatchFunction.<BenchmarkPlayer, List<BenchmarkPlayer>>builder()
+                .predicate(hasAtLeast(MATCH_SIZE))
+                .supplier(picker -> picker.pickMany(MATCH_SIZE));
+
+        builder.matchFunction((draining ? function.drain() : function).build());
+
+        return configuration.apply(builder).build();
+    }
+
+    static List<Classifier<BenchmarkPlayer>> classifiers(final int depth) {
+        final List<Classifier<BenchmarkPlayer>> classifiers = Arrays.asList(
+                Classifiers.openInterval(RANK_BOUNDARIES, BenchmarkPlayer::getRank),
+                Classifiers.exact(BenchmarkPlayer.REGIONS, BenchmarkPlayer::getRegion),
+                Classifiers.exact(BenchmarkPlayer.ROLES, BenchmarkPlayer::getRole));
+
+        if (depth < 1 || depth > classifiers.size()) {
+            throw new IllegalArgumentException("depth must be between 1 and " + classifiers.size() + "!");
+        }
+
+        return classifiers.subList(0, depth);
+    }
+
+    static UnaryOperator<DecisionTreeMatchmakerBuilder<BenchmarkPlayer, List<BenchmarkPlayer>>> mode(final String mode) {
+        switch (mode) {
+            case "dense":
+                return UnaryOperator.identity();
+            case "sparse":
+                return DecisionTreeMatchmakerBuilder::sparse;
+            case "concurrent":
+                return DecisionTreeMatchmakerBuilder::concurrent;
+            case "buffered":
+                return DecisionTreeMatchmakerBuilder::buffered;
+            default:
+                throw new IllegalArgumentException("Unknown mode: " + mode);
+        }
+    }
+
+    static void readd(final Matchmaker<BenchmarkPlayer, List<BenchmarkPlayer>> matchmaker, final Set<List<BenchmarkPlayer>> matches) {
+        for (List<BenchmarkPlayer> match : matches) {
+            match.forEach(matchmaker::addPlayer);
+        }
+    }
+
+    private Lobbies() {
+        // Cannot be constructed.
+    }
+}
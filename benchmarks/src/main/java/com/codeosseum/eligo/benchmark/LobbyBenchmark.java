@@ -0,0 +1,73 @@
+package com.codeosseum.eligo.benchmark;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.codeosseum.eligo.matchmaker.Matchmaker;
+
+/**
+ * Joining and leaving a lobby of a given size. Every invocation adds a player and removes the one added the
+ * longest time ago, so that the size of the lobby stays constant.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class LobbyBenchmark {
+    private static final int SPARE_PLAYER_COUNT = 4096;
+
+    @Param({"1000", "100000", "1000000"})
+    public int lobbySize;
+
+    @Param({"dense", "sparse", "concurrent"})
+    public String mode;
+
+    private Matchmaker<BenchmarkPlayer, List<BenchmarkPlayer>> matchmaker;
+
+    private BenchmarkPlayer[] sparePlayers;
+
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(42);
+
+        matchmaker = Lobbies.decisionTree(3, false, Lobbies.mode(mode));
+
+        for (BenchmarkPlayer player : BenchmarkPlayer.random(random, lobbySize)) {
+            matchmaker.addPlayer(player);
+        }
+
+        sparePlayers = BenchmarkPlayer.random(random, SPARE_PLAYER_COUNT);
+
+        // Half of the spare players are in the lobby at any time.
+        for (int i = 0; i < SPARE_PLAYER_COUNT / 2; ++i) {
+            matchmaker.addPlayer(sparePlayers[i]);
+        }
+
+        cursor = SPARE_PLAYER_COUNT / 2;
+    }
+
+    @Benchmark
+    public void addPlayerAndRemovePlayer() {
+        matchmaker.addPlayer(sparePlayers[cursor]);
+        matchmaker.removePlayer(sparePlayers[(cursor + SPARE_PLAYER_COUNT / 2) & (SPARE_PLAYER_COUNT - 1)]);
+
+        cursor = (cursor + 1) & (SPARE_PLAYER_COUNT - 1);
+    }
+}
@@ -0,0 +1,63 @@
+package com.codeosseum.eligo.benchmark;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.codeosseum.eligo.matchmaker.Matchmaker;
+
+/**
+ * A single tick over lobbies of various sizes and classifier depths. The matched players rejoin right away, so
+ * that every invocation sees a lobby of the same size.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class MakeMatchBenchmark {
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int lobbySize;
+
+    @Param({"1", "2", "3"})
+    public int depth;
+
+    private Matchmaker<BenchmarkPlayer, List<BenchmarkPlayer>> matchmaker;
+
+    @Setup
+    public void setUp() {
+        matchmaker = Lobbies.decisionTree(depth, false, Lobbies.mode("dense"));
+
+        for (BenchmarkPlayer player : BenchmarkPlayer.random(new Random(42), lobbySize)) {
+            matchmaker.addPlayer(player);
+        }
+    }
+
+    @Benchmark
+    public Set<List<BenchmarkPlayer>> makeMatch() {
+        final Set<List<BenchmarkPlayer>> matches = matchmaker.makeMatch();
+
+        Lobbies.readd(matchmaker, matches);
+
+        return matches;
+    }
+
+    @Benchmark
+    public Set<List<BenchmarkPlayer>> makeMatchAndKeepPlayers() {
+        return matchmaker.makeMatchAndKeepPlayers();
+    }
+}
@@ -0,0 +1,59 @@
+package com.codeosseum.eligo.matchmaker.decisiontree;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Picking players for a single match from buckets of various sizes. Lives in the package of {@link PlayerPicker},
+ * since pickers are only created by the matchmaker.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PlayerPickerBenchmark {
+    private static final Predicate<Integer> EVEN = player -> (player & 1) == 0;
+
+    @Param({"10", "1000", "100000"})
+    public int bucketSize;
+
+    @Param({"2", "10"})
+    public int count;
+
+    private List<Integer> players;
+
+    @Setup
+    public void setUp() {
+        players = new ArrayList<>(bucketSize);
+
+        for (int i = 0; i < bucketSize; ++i) {
+            players.add(i);
+        }
+    }
+
+    @Benchmark
+    public List<Integer> pickMany() {
+        return new PlayerPicker<>(players).pickMany(count);
+    }
+
+    @Benchmark
+    public List<Integer> pickManyMatching() {
+        return new PlayerPicker<>(players).pickMany(Math.min(count, bucketSize / 2), EVEN);
+    }
+}
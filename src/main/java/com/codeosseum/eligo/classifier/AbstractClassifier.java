@@ -1,53 +1,108 @@
 package com.codeosseum.eligo.classifier;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
 /**
- * Abstract base class implementing common logic for classification.
+ * Abstract base class implementing common logic for classification. Subclasses override {@link #mapToIndex(Object)},
+ * or the deprecated {@link #mapToOptionals(Object)} in case of classifiers written before class indices existed.
  * @param <P> the player type
  */
 public abstract class AbstractClassifier<P> implements Classifier<P> {
+    /**
+     * Value returned by {@link #mapToIndex(Object)} if the player does not belong to any of the classes.
+     */
+    protected static final int NO_CLASS = -1;
+
+    /**
+     * Set while the default {@link #mapToIndex(Object)} calls {@link #mapToOptionals(Object)}, so that a subclass
+     * overriding neither method fails instead of recursing.
+     */
+    private final ThreadLocal<Boolean> adaptingOptionals = new ThreadLocal<>();
+
     @Override
-    public final List<Optional<P>> classify(P player) {
-        final List<Optional<P>> optionals = mapToOptionals(Objects.requireNonNull(player));
+    public final int classIndex(P player) {
+        final int index = mapToIndex(Objects.requireNonNull(player));
 
-        if (invalidClassCount(optionals)) {
-            throw new IllegalStateException("Invalid number of classes returned!");
+        if (index == NO_CLASS) {
+            throw new ClassificationException("The specified player does not belong to any of the classes.");
         }
 
-        if (playerIsNotClassified(optionals)) {
-            throw new ClassificationException("The specified player does not belong to any of the classes.");
+        if (invalidClassIndex(index)) {
+            throw new IllegalStateException("Invalid class index returned!");
         }
 
-        if (playerIsInMultipleClasses(optionals)) {
-            throw new ClassificationException("The specified player belongs to multiple classes.");
+        return index;
+    }
+
+    /**
+     * Maps the specified player to the index of its class. {@link #NO_CLASS} should be returned if the player
+     * does not belong to any of the classes.
+     *
+     * The default implementation finds the non-empty optional returned by {@link #mapToOptionals(Object)}, so that
+     * subclasses overriding only that method keep working.
+     * @param player the player to classify
+     * @return the index of the class or {@link #NO_CLASS}
+     */
+    protected int mapToIndex(P player) {
+        final List<Optional<P>> optionals;
+
+        adaptingOptionals.set(Boolean.TRUE);
+
+        try {
+            optionals = mapToOptionals(player);
+        } finally {
+            adaptingOptionals.remove();
         }
 
-        return optionals;
+        if (optionals.size() != this.getClassCount()) {
+            throw new IllegalStateException("Invalid number of classes returned!");
+        }
+
+        int index = NO_CLASS;
+
+        for (int i = 0; i < optionals.size(); ++i) {
+            if (optionals.get(i).isPresent()) {
+                if (index != NO_CLASS) {
+                    throw new ClassificationException("The specified player belongs to multiple classes.");
+                }
+
+                index = i;
+            }
+        }
+
+        return index;
     }
 
     /**
      * Maps the specified player to a list of optionals. An empty optional should be placed in the list
      * if the player does not belong to a class, otherwise a non-empty one.
+     *
+     * The default implementation is an adapter over {@link #mapToIndex(Object)}, hence subclasses must override
+     * one of the two methods, otherwise classification throws an {@link UnsupportedOperationException}.
      * @param player the player to classify
      * @return a list of classification optionals
+     * @deprecated allocates a list on every classification, override {@link #mapToIndex(Object)} instead
      */
-    protected abstract List<Optional<P>> mapToOptionals(P player);
+    @Deprecated
+    protected List<Optional<P>> mapToOptionals(P player) {
+        if (adaptingOptionals.get() != null) {
+            throw new UnsupportedOperationException(getClass().getName() + " must override mapToIndex!");
+        }
 
-    private boolean invalidClassCount(final List<Optional<P>> optionals) {
-        return optionals.size() != this.getClassCount();
-    }
+        final int index = mapToIndex(player);
+        final List<Optional<P>> optionals = new ArrayList<>(this.getClassCount());
 
-    private boolean playerIsNotClassified(final List<Optional<P>> optionals) {
-        return optionals.stream()
-                .noneMatch(Optional::isPresent);
+        for (int i = 0; i < this.getClassCount(); ++i) {
+            optionals.add(i == index ? Optional.of(player) : Optional.empty());
+        }
+
+        return optionals;
     }
 
-    private boolean playerIsInMultipleClasses(final List<Optional<P>> optionals) {
-        return optionals.stream()
-                .filter(Optional::isPresent)
-                .count() > 1;
+    private boolean invalidClassIndex(final int index) {
+        return index < 0 || index >= this.getClassCount();
     }
 }
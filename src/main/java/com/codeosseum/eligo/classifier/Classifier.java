@@ -1,5 +1,6 @@
 package com.codeosseum.eligo.classifier;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,15 +15,39 @@ public interface Classifier<P> {
      */
     int getClassCount();
 
+    /**
+     * Determines the index of the class the specified player belongs to. The returned index is greater than or
+     * equal to zero and less than the value returned by {@link #getClassCount()}. Unlike {@link #classify(Object)},
+     * this method does not allocate, hence it should be preferred on hot paths.
+     * @param player the player to be classified
+     * @return the index of the class of the player
+     * @throws ClassificationException if the player cannot be classified or belongs to multiple classes
+     * @throws NullPointerException if the player is {@code null}
+     */
+    int classIndex(P player);
+
     /**
      * Determines the class the specified player belongs to. The length of the returned list is
      * equal to the value returned by {@link #getClassCount()}. Each place in the returned list corresponds to a
      * class. If the classified player does not belong to a class, then an empty optional is placed on the
      * appropriate index. As a consequence, there is only a single non-empty optional in the returned list.
+     *
+     * The default implementation is an adapter over {@link #classIndex(Object)}.
      * @param player the player to be classified
      * @return the result of the classification
      * @throws ClassificationException if the player cannot be classified or belongs to multiple classes
      * @throws NullPointerException if the player is {@code null}
      */
-    List<Optional<P>> classify(P player);
+    default List<Optional<P>> classify(P player) {
+        final int index = classIndex(player);
+        final int classCount = getClassCount();
+
+        final List<Optional<P>> optionals = new ArrayList<>(classCount);
+
+        for (int i = 0; i < classCount; ++i) {
+            optionals.add(i == index ? Optional.of(player) : Optional.empty());
+        }
+
+        return optionals;
+    }
 }
@@ -23,6 +23,36 @@ public final class Classifiers {
         return ExactMatchingClassifier.fromValues(values, valueSource);
     }
 
+    /**
+     * Creates a new {@link Classifier} which uses exact matching on enum constants. The semantics are the same as in
+     * the case of {@link #exact(List, ValueSource)}, however, classification is a lookup by ordinal.
+     * @param values the list of expected constants
+     * @param valueSource the source of actual values
+     * @param <P> the player type
+     * @param <E> the enum type
+     * @return a new classifier
+     * @throws IllegalArgumentException if the values list is empty or has repeated elements
+     * @throws NullPointerException if any of the arguments or the elements of the list are {@code null}
+     */
+    public static <P, E extends Enum<E>> Classifier<P> exactEnum(final List<E> values, final ValueSource<P, E> valueSource) {
+        return EnumMatchingClassifier.fromValues(values, valueSource);
+    }
+
+    /**
+     * Creates a new {@link Classifier} which uses exact matching on enum constants, having a class for each constant
+     * of the specified enum type in declaration order.
+     * @param enumType the enum type
+     * @param valueSource the source of actual values
+     * @param <P> the player type
+     * @param <E> the enum type
+     * @return a new classifier
+     * @throws IllegalArgumentException if the enum type has no constants
+     * @throws NullPointerException if any of the arguments is {@code null}
+     */
+    public static <P, E extends Enum<E>> Classifier<P> exactEnum(final Class<E> enumType, final ValueSource<P, E> valueSource) {
+        return EnumMatchingClassifier.fromEnum(enumType, valueSource);
+    }
+
     /**
      * Creates a new classifier which uses intervals to determine classes. A value belongs to an interval if it is
      * greater than or equal to the lower boundary and less than the upper boundary. The classify method
@@ -41,6 +71,53 @@ public final class Classifiers {
         return OpenIntervalClassifier.fromBoundaries(boundaries, valueSource);
     }
 
+    /**
+     * Creates a new classifier which uses intervals over primitive {@code int} values to determine classes. The
+     * semantics are the same as in the case of {@link #openInterval(List, ValueSource)}, however, the value of the
+     * player is obtained once and the boundaries are binary searched without boxing.
+     * @param boundaries the array of boundaries
+     * @param valueSource the value source which will be used for obtaining values
+     * @param <P> the player type
+     * @return a new classifier
+     * @throws IllegalArgumentException if the boundaries array is either unsorted or contains repeated elements
+     * @throws NullPointerException if any of the arguments is {@code null}
+     */
+    public static <P> Classifier<P> openInterval(final int[] boundaries, final IntValueSource<P> valueSource) {
+        return IntOpenIntervalClassifier.fromBoundaries(boundaries, valueSource);
+    }
+
+    /**
+     * Creates a new classifier which uses intervals over primitive {@code long} values to determine classes. The
+     * semantics are the same as in the case of {@link #openInterval(List, ValueSource)}, however, the value of the
+     * player is obtained once and the boundaries are binary searched without boxing.
+     * @param boundaries the array of boundaries
+     * @param valueSource the value source which will be used for obtaining values
+     * @param <P> the player type
+     * @return a new classifier
+     * @throws IllegalArgumentException if the boundaries array is either unsorted or contains repeated elements
+     * @throws NullPointerException if any of the arguments is {@code null}
+     */
+    public static <P> Classifier<P> openInterval(final long[] boundaries, final LongValueSource<P> valueSource) {
+        return LongOpenIntervalClassifier.fromBoundaries(boundaries, valueSource);
+    }
+
+    /**
+     * Creates a new classifier which uses intervals over primitive {@code double} values to determine classes. The
+     * semantics are the same as in the case of {@link #openInterval(List, ValueSource)}, however, the value of the
+     * player is obtained once and the boundaries are binary searched without boxing. Players with a {@code NaN}
+     * value cannot be classified.
+     * @param boundaries the array of boundaries
+     * @param valueSource the value source which will be used for obtaining values
+     * @param <P> the player type
+     * @return a new classifier
+     * @throws IllegalArgumentException if the boundaries array is either unsorted, contains repeated elements or
+     * {@code NaN}
+     * @throws NullPointerException if any of the arguments is {@code null}
+     */
+    public static <P> Classifier<P> openInterval(final double[] boundaries, final DoubleValueSource<P> valueSource) {
+        return DoubleOpenIntervalClassifier.fromBoundaries(boundaries, valueSource);
+    }
+
     private Classifiers() {
         // Cannot be constructed.
     }
@@ -0,0 +1,88 @@
+package com.codeosseum.eligo.classifier;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import static com.codeosseum.eligo.util.ListUtils.hasRepeatedElements;
+
+/**
+ * Specialization of {@link ExactMatchingClassifier} for enum values. The class index of each expected constant is
+ * stored in an array indexed by ordinal, thus classification takes constant time without hashing.
+ * @param <P> the player type
+ * @param <E> the enum type
+ */
+final class EnumMatchingClassifier<P, E extends Enum<E>> extends AbstractClassifier<P> {
+    private final ValueSource<P, E> valueSource;
+
+    private final int[] classIndices;
+
+    private final int classCount;
+
+    /**
+     * Creates a new classifier based on the given list of enum constants. The list must contain unique elements. The
+     * classify methods return value will respect the ordering of the elements in this list.
+     * @param values the list of expected constants
+     * @param valueSource the source of actual values
+     * @param <P> the player type
+     * @param <E> the enum type
+     * @return a new classifier
+     * @throws IllegalArgumentException if the values list is empty or has repeated elements
+     * @throws NullPointerException if any of the arguments or the elements of the list are {@code null}
+     */
+    public static <P, E extends Enum<E>> EnumMatchingClassifier<P, E> fromValues(final List<E> values, final ValueSource<P, E> valueSource) {
+        Objects.requireNonNull(values);
+        Objects.requireNonNull(valueSource);
+
+        if (values.isEmpty()) {
+            throw new IllegalArgumentException("Values must not be empty!");
+        }
+
+        if (hasRepeatedElements(values)) {
+            throw new IllegalArgumentException("Values must contain unique elements!");
+        }
+
+        final E[] constants = Objects.requireNonNull(values.get(0)).getDeclaringClass().getEnumConstants();
+
+        final int[] classIndices = new int[constants.length];
+        Arrays.fill(classIndices, NO_CLASS);
+
+        for (int i = 0; i < values.size(); ++i) {
+            classIndices[Objects.requireNonNull(values.get(i)).ordinal()] = i;
+        }
+
+        return new EnumMatchingClassifier<>(valueSource, classIndices, values.size());
+    }
+
+    /**
+     * Creates a new classifier having a class for each constant of the specified enum type, in declaration order.
+     * @param enumType the enum type
+     * @param valueSource the source of actual values
+     * @param <P> the player type
+     * @param <E> the enum type
+     * @return a new classifier
+     * @throws IllegalArgumentException if the enum type has no constants
+     * @throws NullPointerException if any of the arguments is {@code null}
+     */
+    public static <P, E extends Enum<E>> EnumMatchingClassifier<P, E> fromEnum(final Class<E> enumType, final ValueSource<P, E> valueSource) {
+        return fromValues(Arrays.asList(enumType.getEnumConstants()), valueSource);
+    }
+
+    @Override
+    public int getClassCount() {
+        return classCount;
+    }
+
+    @Override
+    protected int mapToIndex(final P player) {
+        final E actual = valueSource.get(player);
+
+        return actual == null ? NO_CLASS : classIndices[actual.ordinal()];
+    }
+
+    private EnumMatchingClassifier(final ValueSource<P, E> valueSource, final int[] classIndices, final int classCount) {
+        this.valueSource = valueSource;
+        this.classIndices = classIndices;
+        this.classCount = classCount;
+    }
+}
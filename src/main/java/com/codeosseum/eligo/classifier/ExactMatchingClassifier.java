@@ -1,22 +1,22 @@
 package com.codeosseum.eligo.classifier;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
-
-import static java.util.stream.Collectors.toList;
 
 import static com.codeosseum.eligo.util.ListUtils.hasRepeatedElements;
 
 /**
- * Classifier that uses exact matching (based on {@code equals}) to perform classification.
+ * Classifier that uses exact matching (based on {@code equals} and {@code hashCode}) to perform classification.
+ * The class index of each expected value is stored in a hash table, thus classification takes constant time.
  * @param <P> the player type
  * @param <V> the value type
  */
 final class ExactMatchingClassifier<P, V> extends AbstractClassifier<P> {
     private final ValueSource<P, V> valueSource;
 
-    private final List<V> values;
+    private final Map<V, Integer> classIndices;
 
     /**
      * Creates a new classifier based on the given list of values. The list must contain unique elements. The classify
@@ -41,27 +41,33 @@ final class ExactMatchingClassifier<P, V> extends AbstractClassifier<P> {
             throw new IllegalArgumentException("Values must contain unique elements!");
         }
 
-        return new ExactMatchingClassifier<>(valueSource, values);
+        return new ExactMatchingClassifier<>(valueSource, indexValues(values));
     }
 
     @Override
     public int getClassCount() {
-        return values.size();
+        return classIndices.size();
     }
 
     @Override
-    protected List<Optional<P>> mapToOptionals(final P player) {
-        final V actual = valueSource.get(player);
+    protected int mapToIndex(final P player) {
+        final Integer index = classIndices.get(valueSource.get(player));
+
+        return index == null ? NO_CLASS : index;
+    }
+
+    private static <V> Map<V, Integer> indexValues(final List<V> values) {
+        final Map<V, Integer> classIndices = new HashMap<>();
+
+        for (int i = 0; i < values.size(); ++i) {
+            classIndices.put(values.get(i), i);
+        }
 
-        return values.stream()
-                .map(expected -> expected.equals(actual))
-                .map(match -> match ? player : null)
-                .map(Optional::ofNullable)
-                .collect(toList());
+        return classIndices;
     }
 
-    private ExactMatchingClassifier(final ValueSource<P, V> valueSource, final List<V> values) {
+    private ExactMatchingClassifier(final ValueSource<P, V> valueSource, final Map<V, Integer> classIndices) {
         this.valueSource = valueSource;
-        this.values = values;
+        this.classIndices = classIndices;
     }
 }
@@ -0,0 +1,22 @@
+package com.codeosseum.eligo.classifier;
+
+/**
+ * Classifier of players identified by {@code int} ids. This is the primitive specialization of {@link Classifier},
+ * classifying players by attributes looked up using their ids.
+ */
+public interface IntClassifier {
+    /**
+     * Returns the number of classes.
+     * @return the number of classes
+     */
+    int getClassCount();
+
+    /**
+     * Determines the index of the class the specified player belongs to. The returned index is greater than or
+     * equal to zero and less than the value returned by {@link #getClassCount()}.
+     * @param playerId the id of the player to be classified
+     * @return the index of the class of the player
+     * @throws ClassificationException if the player cannot be classified
+     */
+    int classIndex(int playerId);
+}
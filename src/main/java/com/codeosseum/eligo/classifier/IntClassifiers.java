@@ -0,0 +1,152 @@
+package com.codeosseum.eligo.classifier;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntUnaryOperator;
+
+import static com.codeosseum.eligo.util.ArrayUtils.isStrictlyIncreasing;
+import static com.codeosseum.eligo.util.ArrayUtils.upperBound;
+
+/**
+ * This class consists of static methods that can be used to create various {@link IntClassifier} instances.
+ */
+public final class IntClassifiers {
+    /**
+     * Creates a new classifier which uses intervals to determine classes. The semantics are the same as in the case
+     * of {@link Classifiers#openInterval(int[], IntValueSource)}.
+     * @param boundaries the boundaries of the intervals
+     * @param valueSource the function looking up the value of a player by its id
+     * @return a new classifier
+     * @throws IllegalArgumentException if the boundaries are either unsorted or contain repeated elements
+     * @throws NullPointerException if any of the arguments is {@code null}
+     */
+    public static IntClassifier openInterval(final int[] boundaries, final IntUnaryOperator valueSource) {
+        Objects.requireNonNull(boundaries);
+        Objects.requireNonNull(valueSource);
+
+        if (!isStrictlyIncreasing(boundaries)) {
+            throw new IllegalArgumentException("Boundaries must be sorted and must contain unique elements!");
+        }
+
+        return new IntBoundaryClassifier(Arrays.copyOf(boundaries, boundaries.length), valueSource);
+    }
+
+    /**
+     * Creates a new classifier which uses intervals to determine classes. The semantics are the same as in the case
+     * of {@link Classifiers#openInterval(double[], DoubleValueSource)}.
+     * @param boundaries the boundaries of the intervals
+     * @param valueSource the function looking up the value of a player by its id
+     * @return a new classifier
+     * @throws IllegalArgumentException if the boundaries are either unsorted, contain repeated elements or {@code NaN}
+     * @throws NullPointerException if any of the arguments is {@code null}
+     */
+    public static IntClassifier openInterval(final double[] boundaries, final IntToDoubleFunction valueSource) {
+        Objects.requireNonNull(boundaries);
+        Objects.requireNonNull(valueSource);
+
+        if (!isStrictlyIncreasing(boundaries)) {
+            throw new IllegalArgumentException("Boundaries must be sorted and must contain unique elements!");
+        }
+
+        return new DoubleBoundaryClassifier(Arrays.copyOf(boundaries, boundaries.length), valueSource);
+    }
+
+    /**
+     * Creates a new classifier whose class indices are looked up directly, such as the index of the region or the
+     * ordinal of the role of a player.
+     * @param classCount the number of classes
+     * @param classIndexSource the function looking up the class index of a player by its id
+     * @return a new classifier
+     * @throws IllegalArgumentException if the number of classes is not positive
+     * @throws NullPointerException if the function is {@code null}
+     */
+    public static IntClassifier indexed(final int classCount, final IntUnaryOperator classIndexSource) {
+        Objects.requireNonNull(classIndexSource);
+
+        if (classCount <= 0) {
+            throw new IllegalArgumentException("classCount must be greater than zero!");
+        }
+
+        return new IndexedClassifier(classCount, classIndexSource);
+    }
+
+    private IntClassifiers() {
+        // Cannot be constructed.
+    }
+
+    private static final class IntBoundaryClassifier implements IntClassifier {
+        private final int[] boundaries;
+
+        private final IntUnaryOperator valueSource;
+
+        private IntBoundaryClassifier(final int[] boundaries, final IntUnaryOperator valueSource) {
+            this.boundaries = boundaries;
+            this.valueSource = valueSource;
+        }
+
+        @Override
+        public int getClassCount() {
+            return boundaries.length + 1;
+        }
+
+        @Override
+        public int classIndex(final int playerId) {
+            return upperBound(boundaries, valueSource.applyAsInt(playerId));
+        }
+    }
+
+    private static final class DoubleBoundaryClassifier implements IntClassifier {
+        private final double[] boundaries;
+
+        private final IntToDoubleFunction valueSource;
+
+        private DoubleBoundaryClassifier(final double[] boundaries, final IntToDoubleFunction valueSource) {
+            this.boundaries = boundaries;
+            this.valueSource = valueSource;
+        }
+
+        @Override
+        public int getClassCount() {
+            return boundaries.length + 1;
+        }
+
+        @Override
+        public int classIndex(final int playerId) {
+            final double actualValue = valueSource.applyAsDouble(playerId);
+
+            if (Double.isNaN(actualValue)) {
+                throw new ClassificationException("The specified player does not belong to any of the classes.");
+            }
+
+            return upperBound(boundaries, actualValue);
+        }
+    }
+
+    private static final class IndexedClassifier implements IntClassifier {
+        private final int classCount;
+
+        private final IntUnaryOperator classIndexSource;
+
+        private IndexedClassifier(final int classCount, final IntUnaryOperator classIndexSource) {
+            this.classCount = classCount;
+            this.classIndexSource = classIndexSource;
+        }
+
+        @Override
+        public int getClassCount() {
+            return classCount;
+        }
+
+        @Override
+        public int classIndex(final int playerId) {
+            final int index = classIndexSource.applyAsInt(playerId);
+
+            if (index < 0 || index >= classCount) {
+                throw new ClassificationException("The specified player does not belong to any of the classes.");
+            }
+
+            return index;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.codeosseum.eligo.classifier;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import static com.codeosseum.eligo.util.ArrayUtils.isStrictlyIncreasing;
+import static com.codeosseum.eligo.util.ArrayUtils.upperBound;
+
+/**
+ * Primitive specialization of {@link OpenIntervalClassifier} for {@code long} values. The value of the player is
+ * queried once and the boundaries are binary searched, without boxing.
+ * @param <P> the player type
+ */
+final class LongOpenIntervalClassifier<P> extends AbstractClassifier<P> {
+    private final LongValueSource<P> valueSource;
+
+    private final long[] boundaries;
+
+    /**
+     * Creates a new classifier based on the specified boundaries. The semantics of the classification are the same
+     * as in the case of {@link OpenIntervalClassifier#fromBoundaries(java.util.List, ValueSource)}. The passed array
+     * is copied.
+     * @param boundaries the array of boundaries
+     * @param valueSource the value source which will be used for obtaining values
+     * @param <P> the player type
+     * @return a new classifier
+     * @throws IllegalArgumentException if the boundaries are either unsorted or contain repeated elements
+     * @throws NullPointerException if any of the arguments is {@code null}
+     */
+    public static <P> LongOpenIntervalClassifier<P> fromBoundaries(final long[] boundaries, final LongValueSource<P> valueSource) {
+        Objects.requireNonNull(boundaries);
+        Objects.requireNonNull(valueSource);
+
+        if (!isStrictlyIncreasing(boundaries)) {
+            throw new IllegalArgumentException("Boundaries must be sorted and must contain unique elements!");
+        }
+
+        return new LongOpenIntervalClassifier<>(valueSource, Arrays.copyOf(boundaries, boundaries.length));
+    }
+
+    @Override
+    public int getClassCount() {
+        return boundaries.length + 1;
+    }
+
+    @Override
+    protected int mapToIndex(final P player) {
+        final long actualValue = valueSource.get(player);
+
+        return upperBound(boundaries, actualValue);
+    }
+
+    private LongOpenIntervalClassifier(final LongValueSource<P> valueSource, final long[] boundaries) {
+        this.valueSource = valueSource;
+        this.boundaries = boundaries;
+    }
+}
@@ -0,0 +1,16 @@
+package com.codeosseum.eligo.classifier;
+
+/**
+ * Represents a getter function on a specified type returning a primitive {@code long}. This is the
+ * primitive specialization of {@link ValueSource}.
+ * @param <T> the type of the object from which the value is queried
+ */
+@FunctionalInterface
+public interface LongValueSource<T> {
+    /**
+     * Gets a value from the specified object.
+     * @param obj the object which is the source of the value
+     * @return the queried value
+     */
+    long get(T obj);
+}
@@ -1,13 +1,9 @@
 package com.codeosseum.eligo.classifier;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
-import java.util.stream.Collectors;
-
-import static java.util.Collections.nCopies;
-import static java.util.Collections.singletonList;
 
 import static com.codeosseum.eligo.util.ListUtils.hasRepeatedElements;
 import static com.codeosseum.eligo.util.ListUtils.isSorted;
@@ -53,7 +49,7 @@ final class OpenIntervalClassifier<P, V extends Comparable<V>> extends AbstractC
             throw new IllegalArgumentException("Boundaries must be sorted!");
         }
 
-        return new OpenIntervalClassifier<>(valueSource, boundaries);
+        return new OpenIntervalClassifier<>(valueSource, new ArrayList<>(boundaries));
     }
 
     @Override
@@ -62,74 +58,17 @@ final class OpenIntervalClassifier<P, V extends Comparable<V>> extends AbstractC
     }
 
     @Override
-    protected List<Optional<P>> mapToOptionals(P player) {
-        final List<Optional<P>> result;
+    protected int mapToIndex(final P player) {
+        final V actualValue = valueSource.get(player);
 
-        if (singleClassClassification()) {
-            result = singletonList(Optional.of(player));
-        } else {
-            result = mapOverIntervals(player);
-        }
+        final int searchResult = Collections.binarySearch(boundaries, actualValue);
 
-        return result;
+        // An exact hit on a boundary belongs to the interval starting at that boundary.
+        return searchResult >= 0 ? searchResult + 1 : -(searchResult + 1);
     }
 
     private OpenIntervalClassifier(final ValueSource<P, V> valueSource, final List<V> boundaries) {
         this.valueSource = valueSource;
         this.boundaries = boundaries;
     }
-
-    private boolean singleClassClassification() {
-        return boundaries.isEmpty();
-    }
-
-    private List<Optional<P>> mapOverIntervals(P player) {
-        final List<Optional<P>> classifications = new ArrayList<>();
-
-        for (V boundary : boundaries) {
-            final Optional<P> classification = classifyInterval(boundary, player);
-            classifications.add(classification);
-
-            if (classification.isPresent()) {
-                break;
-            }
-        }
-
-        if (hasNonEmptyClass(classifications)) {
-            fillWithEmptyClasses(classifications);
-        } else {
-            addLastClassAsMatch(classifications, player);
-        }
-
-        return classifications;
-    }
-
-    private Optional<P> classifyInterval(V boundary, P player) {
-        if (isInInterval(boundary, player)) {
-            return Optional.of(player);
-        } else {
-            return Optional.empty();
-        }
-    }
-
-    private boolean isInInterval(final V boundary, final P player) {
-        final V actualValue = valueSource.get(player);
-
-        return actualValue.compareTo(boundary) < 0;
-    }
-
-    private void addLastClassAsMatch(List<Optional<P>> result, P player) {
-        result.add(Optional.of(player));
-    }
-
-    private boolean hasNonEmptyClass(final List<Optional<P>> optionals) {
-        return optionals.stream()
-                .anyMatch(Optional::isPresent);
-    }
-
-    private void fillWithEmptyClasses(final List<Optional<P>> optionals) {
-        final int fillCount = getClassCount() - optionals.size();
-
-        optionals.addAll(nCopies(fillCount, Optional.empty()));
-    }
 }
@@ -0,0 +1,46 @@
+package com.codeosseum.eligo.matchmaker;
+
+import java.util.Set;
+
+/**
+ * Primitive specialization of {@link Matchmaker} for players identified by {@code int} ids. Ids are neither boxed
+ * nor hashed as objects, hence the lobby takes a fraction of the memory of an equivalent {@link Matchmaker}.
+ * {@link Integer#MIN_VALUE} cannot be used as an id.
+ * @param <M> Type parameter representing a match.
+ */
+public interface IntMatchmaker<M> {
+    /**
+     * Adds a specified player to the matchmaking lobby. If the player is already present, then
+     * does nothing.
+     * @param playerId the id of the player to add
+     */
+    void addPlayer(int playerId);
+
+    /**
+     * Removes the specified player from the matchmaking lobby. If the player is not present, then
+     * does nothing.
+     * @param playerId the id of the player to remove
+     */
+    void removePlayer(int playerId);
+
+    /**
+     * Classifies the specified player again after its attributes have changed, moving it to the bucket it now belongs
+     * to. If the player is not present, then it is added.
+     * @param playerId the id of the player to update
+     */
+    void updatePlayer(int playerId);
+
+    /**
+     * Creates new matches from the previously added players. If no matches can be made, then an empty set is returned.
+     * Players contained within the returned matches are automatically removed from the lobby.
+     * @return a set of matches
+     */
+    Set<M> makeMatch();
+
+    /**
+     * Creates new matches from the previously added players. If no matches can be made, then an empty set is returned.
+     * Players contained within the returned matches are kept in the lobby. Their removal must be handled by the caller.
+     * @return a set of matches
+     */
+    Set<M> makeMatchAndKeepPlayers();
+}
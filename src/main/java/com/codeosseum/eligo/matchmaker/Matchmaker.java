@@ -1,6 +1,8 @@
 package com.codeosseum.eligo.matchmaker;
 
+import java.util.Collection;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Interface for services that can create matches from a given set of players.
@@ -15,6 +17,28 @@ public interface Matchmaker<P, M> {
      */
     void addPlayer(P player);
 
+    /**
+     * Adds the specified players to the matchmaking lobby, skipping the ones already present. Implementations might
+     * apply the whole batch at once, which is cheaper than adding the players one by one.
+     * @param players the players to add
+     */
+    default void addPlayers(final Collection<? extends P> players) {
+        players.forEach(this::addPlayer);
+    }
+
+    /**
+     * Adds a specified player to the matchmaking lobby, and returns a future which is completed with the match the
+     * player is placed into by {@link #makeMatch()}. If the player is already present, then the future belonging
+     * to the player is returned.
+     *
+     * The future is completed exceptionally with a {@link PlayerRemovedException} if the player is removed from the
+     * lobby using {@link #removePlayer(Object)}. {@link #makeMatchAndKeepPlayers()} does not complete the future.
+     * Futures are completed after the lobby has been unlocked, on the thread making the matches.
+     * @param player the player to add
+     * @return the future match of the player
+     */
+    CompletableFuture<M> awaitMatch(P player);
+
     /**
      * Removes the specified player from the matchmaking lobby. If the player is not present, then
      * does nothing.
@@ -22,6 +46,29 @@ public interface Matchmaker<P, M> {
      */
     void removePlayer(P player);
 
+    /**
+     * Removes the specified players from the matchmaking lobby, skipping the ones not present. Implementations might
+     * apply the whole batch at once, which is cheaper than removing the players one by one.
+     * @param players the players to remove
+     */
+    default void removePlayers(final Collection<? extends P> players) {
+        players.forEach(this::removePlayer);
+    }
+
+    /**
+     * Classifies the specified player again after its attributes have changed, moving it to the bucket it now belongs
+     * to. The player keeps its time of joining the lobby and the future returned by {@link #awaitMatch(Object)}. If the
+     * player is not present, then it is added.
+     *
+     * The default implementation removes and adds the player again, thus its waiting time restarts and its future is
+     * completed exceptionally.
+     * @param player the player to update, equal to the one in the lobby and carrying its current attributes
+     */
+    default void updatePlayer(final P player) {
+        removePlayer(player);
+        addPlayer(player);
+    }
+
     /**
      * Creates new matches from the previously added players. If no matches can be made, then an empty set is returned.
      * Players contained within the returned matches are automatically removed from the lobby.
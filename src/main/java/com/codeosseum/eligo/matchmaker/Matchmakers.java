@@ -1,12 +1,27 @@
 package com.codeosseum.eligo.matchmaker;
 
 import com.codeosseum.eligo.matchmaker.decisiontree.DecisionTreeMatchmakerBuilder;
+import com.codeosseum.eligo.matchmaker.decisiontree.IntDecisionTreeMatchmakerBuilder;
+import com.codeosseum.eligo.matchmaker.partition.PartitionedMatchmakerBuilder;
+import com.codeosseum.eligo.matchmaker.ratingwindow.RatingWindowMatchmakerBuilder;
 
 public final class Matchmakers {
     public static <P, M> DecisionTreeMatchmakerBuilder<P, M> decisionTree() {
         return new DecisionTreeMatchmakerBuilder<>();
     }
 
+    public static <M> IntDecisionTreeMatchmakerBuilder<M> intDecisionTree() {
+        return new IntDecisionTreeMatchmakerBuilder<>();
+    }
+
+    public static <P, M> RatingWindowMatchmakerBuilder<P, M> ratingWindow() {
+        return new RatingWindowMatchmakerBuilder<>();
+    }
+
+    public static <P, M> PartitionedMatchmakerBuilder<P, M> partitioned() {
+        return new PartitionedMatchmakerBuilder<>();
+    }
+
     private Matchmakers() {
         // Cannot be constructed.
     }
@@ -0,0 +1,26 @@
+package com.codeosseum.eligo.matchmaker;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Converts players to and from their binary representation, so that they can be persisted or transferred.
+ * @param <P> the player type
+ */
+public interface PlayerCodec<P> {
+    /**
+     * Writes the specified player to the buffer, starting at its position. If the player does not fit into the
+     * remaining bytes, then a {@link java.nio.BufferOverflowException} must be thrown, in which case the caller
+     * retries with a larger buffer.
+     * @param player the player to encode
+     * @param buffer the buffer to write to
+     */
+    void encode(P player, ByteBuffer buffer);
+
+    /**
+     * Reads a player from the buffer, starting at its position. The limit of the buffer is set to the end of the
+     * bytes written by {@link #encode(Object, ByteBuffer)}.
+     * @param buffer the buffer to read from
+     * @return the decoded player
+     */
+    P decode(ByteBuffer buffer);
+}
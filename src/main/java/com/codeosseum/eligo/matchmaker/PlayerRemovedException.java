@@ -0,0 +1,12 @@
+package com.codeosseum.eligo.matchmaker;
+
+/**
+ * Signals that a player awaiting a match has been removed from the lobby before being matched.
+ */
+public class PlayerRemovedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public PlayerRemovedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,220 @@
+package com.codeosseum.eligo.matchmaker.decisiontree;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Leaf of the decision tree, collecting players that belong to the same class of every classifier. Tickets are
+ * stored in an array, so that both random access and removal take constant time.
+ * @param <P> the player type
+ */
+final class Bucket<P> {
+    private final long address;
+
+    private final List<Ticket<P>> tickets;
+
+    private final List<P> players;
+
+    private final TrackedPredicates<P> trackedPredicates;
+
+    private final int[] counters;
+
+    private Ticket<P> oldest;
+
+    private Ticket<P> newest;
+
+    private boolean retired;
+
+    Bucket(final long address, final TrackedPredicates<P> trackedPredicates) {
+        this.address = address;
+        this.tickets = new ArrayList<>();
+        this.players = new PlayerView();
+        this.trackedPredicates = trackedPredicates;
+        this.counters = new int[trackedPredicates.size()];
+    }
+
+    long getAddress() {
+        return address;
+    }
+
+    /**
+     * Returns a read-only view of the players in the bucket. The order of the players changes as players are removed.
+     * @return the players in the bucket
+     */
+    List<P> getPlayers() {
+        return players;
+    }
+
+    /**
+     * Returns the number of players in the bucket matching the tracked predicate at the specified index.
+     * @param predicateIndex the index of the tracked predicate
+     * @return the number of matching players
+     */
+    int count(final int predicateIndex) {
+        return counters[predicateIndex];
+    }
+
+    int size() {
+        return tickets.size();
+    }
+
+    /**
+     * Returns the ticket which has been in the bucket for the longest time. Following {@link Ticket#next} yields the
+     * rest of the tickets in the order of their arrival, hence the players waiting for at least a given time can be
+     * enumerated without scanning the whole bucket.
+     * @return the oldest ticket, or {@code null} if the bucket is empty
+     */
+    Ticket<P> getOldest() {
+        return oldest;
+    }
+
+    TrackedPredicates<P> getTrackedPredicates() {
+        return trackedPredicates;
+    }
+
+    void add(final Ticket<P> ticket) {
+        ticket.position = tickets.size();
+        tickets.add(ticket);
+
+        // Tickets usually arrive last, but moved and restored ones are placed after the last ticket not newer than them.
+        Ticket<P> previous = newest;
+
+        while (previous != null && previous.enqueuedAt > ticket.enqueuedAt) {
+            previous = previous.previous;
+        }
+
+        ticket.previous = previous;
+        ticket.next = previous == null ? oldest : previous.next;
+
+        if (previous == null) {
+            oldest = ticket;
+        } else {
+            previous.next = ticket;
+        }
+
+        if (ticket.next == null) {
+            newest = ticket;
+        } else {
+            ticket.next.previous = ticket;
+        }
+
+        countTrackedPredicates(ticket);
+    }
+
+    /**
+     * Puts the replacement into the place of the ticket, both in the array and in the arrival order.
+     */
+    void replace(final Ticket<P> ticket, final Ticket<P> replacement) {
+        replacement.position = ticket.position;
+        tickets.set(ticket.position, replacement);
+
+        replacement.previous = ticket.previous;
+        replacement.next = ticket.next;
+
+        if (ticket.previous == null) {
+            oldest = replacement;
+        } else {
+            ticket.previous.next = replacement;
+        }
+
+        if (ticket.next == null) {
+            newest = replacement;
+        } else {
+            ticket.next.previous = replacement;
+        }
+
+        ticket.previous = null;
+        ticket.next = null;
+
+        uncountTrackedPredicates(ticket);
+        countTrackedPredicates(replacement);
+    }
+
+    void remove(final Ticket<P> ticket) {
+        final Ticket<P> last = tickets.remove(tickets.size() - 1);
+
+        if (last != ticket) {
+            tickets.set(ticket.position, last);
+            last.position = ticket.position;
+        }
+
+        if (ticket.previous == null) {
+            oldest = ticket.next;
+        } else {
+            ticket.previous.next = ticket.next;
+        }
+
+        if (ticket.next == null) {
+            newest = ticket.previous;
+        } else {
+            ticket.next.previous = ticket.previous;
+        }
+
+        ticket.previous = null;
+        ticket.next = null;
+
+        uncountTrackedPredicates(ticket);
+    }
+
+    boolean isEmpty() {
+        return tickets.isEmpty();
+    }
+
+    /**
+     * Returns whether the bucket has been reclaimed by its tree, in which case it must not receive new players.
+     * Must be called while holding the monitor guarding the bucket.
+     * @return whether the bucket is retired
+     */
+    boolean isRetired() {
+        return retired;
+    }
+
+    void retire() {
+        this.retired = true;
+    }
+
+    private void countTrackedPredicates(final Ticket<P> ticket) {
+        if (counters.length == 0) {
+            return;
+        }
+
+        ticket.matchedPredicates = new boolean[counters.length];
+
+        for (int i = 0; i < counters.length; ++i) {
+            if (trackedPredicates.test(i, ticket.player)) {
+                ticket.matchedPredicates[i] = true;
+                ++counters[i];
+            }
+        }
+    }
+
+    /**
+     * Reverts the counting of the ticket based on the results recorded when it was added, since the attributes of
+     * the player might have changed since.
+     */
+    private void uncountTrackedPredicates(final Ticket<P> ticket) {
+        if (ticket.matchedPredicates == null) {
+            return;
+        }
+
+        for (int i = 0; i < counters.length; ++i) {
+            if (ticket.matchedPredicates[i]) {
+                --counters[i];
+            }
+        }
+    }
+
+    private final class PlayerView extends AbstractList<P> implements RandomAccess {
+        @Override
+        public P get(final int index) {
+            return tickets.get(index).player;
+        }
+
+        @Override
+        public int size() {
+            return tickets.size();
+        }
+    }
+}
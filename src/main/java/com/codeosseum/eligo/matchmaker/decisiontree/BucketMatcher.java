@@ -1,35 +1,132 @@
 package com.codeosseum.eligo.matchmaker.decisiontree;
 
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
-import java.util.Set;
+import java.util.RandomAccess;
 import java.util.function.Predicate;
 
 public final class BucketMatcher<P> {
-    private final Set<P> players;
+    private final Bucket<P> bucket;
+
+    private final List<Ticket<P>> guests;
 
     public static <P> Predicate<BucketMatcher<P>> all(final Predicate<P> playerPredicate) {
         Objects.requireNonNull(playerPredicate);
 
-        return ctx -> ctx.players.stream().allMatch(playerPredicate);
+        return ctx -> ctx.getPlayers().stream().allMatch(playerPredicate);
     }
 
     public static <P> Predicate<BucketMatcher<P>> hasAtLeast(final int count) {
-        return hasAtLeast(count, p -> true);
+        requirePositive(count);
+
+        return ctx -> ctx.size() >= count;
     }
 
+    /**
+     * Creates a predicate checking whether the bucket contains at least the specified number of players matching
+     * the player predicate. If the very same player predicate instance has been registered with
+     * {@link DecisionTreeMatchmakerBuilder#playerPredicate(String, Predicate)}, then the check takes constant time,
+     * otherwise the players of the bucket are scanned.
+     */
     public static <P> Predicate<BucketMatcher<P>> hasAtLeast(final int count, final Predicate<P> playerPredicate) {
         Objects.requireNonNull(playerPredicate);
 
+        requirePositive(count);
+
+        return ctx -> {
+            final int predicateIndex = ctx.bucket.getTrackedPredicates().indexOf(playerPredicate);
+
+            if (predicateIndex == TrackedPredicates.UNTRACKED) {
+                return ctx.getPlayers().stream()
+                        .filter(playerPredicate)
+                        .count() >= count;
+            }
+
+            return ctx.count(predicateIndex) >= count;
+        };
+    }
+
+    /**
+     * Creates a predicate checking whether the bucket contains at least the specified number of players matching
+     * the player predicate registered under the specified name. The check takes constant time.
+     * @throws IllegalArgumentException if no player predicate is registered under the name when the returned
+     * predicate is evaluated
+     */
+    public static <P> Predicate<BucketMatcher<P>> hasAtLeast(final int count, final String predicateName) {
+        Objects.requireNonNull(predicateName);
+
+        requirePositive(count);
+
+        return ctx -> ctx.count(ctx.bucket.getTrackedPredicates().indexOf(predicateName)) >= count;
+    }
+
+    BucketMatcher(final Bucket<P> bucket) {
+        this(bucket, Collections.emptyList());
+    }
+
+    /**
+     * Creates a matcher over the players of the bucket and the specified guests, which are players of other buckets
+     * visible to the bucket.
+     */
+    BucketMatcher(final Bucket<P> bucket, final List<Ticket<P>> guests) {
+        this.bucket = bucket;
+        this.guests = guests;
+    }
+
+    Bucket<P> getBucket() {
+        return bucket;
+    }
+
+    List<Ticket<P>> getGuests() {
+        return guests;
+    }
+
+    /**
+     * Returns a read-only view of the players of the bucket followed by the guests.
+     */
+    List<P> getPlayers() {
+        return guests.isEmpty() ? bucket.getPlayers() : new PoolView();
+    }
+
+    boolean isEmpty() {
+        return size() == 0;
+    }
+
+    private int size() {
+        return bucket.size() + guests.size();
+    }
+
+    private int count(final int predicateIndex) {
+        int count = bucket.count(predicateIndex);
+
+        for (Ticket<P> guest : guests) {
+            if (bucket.getTrackedPredicates().test(predicateIndex, guest.player)) {
+                ++count;
+            }
+        }
+
+        return count;
+    }
+
+    private static void requirePositive(final int count) {
         if (count <= 0) {
             throw new IllegalArgumentException("count must be greater than zero!");
         }
-
-        return ctx -> ctx.players.stream()
-                .filter(playerPredicate)
-                .count() >= count;
     }
 
-    BucketMatcher(final Set<P> players) {
-        this.players = players;
+    private final class PoolView extends AbstractList<P> implements RandomAccess {
+        @Override
+        public P get(final int index) {
+            final int residentCount = bucket.size();
+
+            return index < residentCount ? bucket.getPlayers().get(index) : guests.get(index - residentCount).player;
+        }
+
+        @Override
+        public int size() {
+            return BucketMatcher.this.size();
+        }
     }
 }
@@ -0,0 +1,138 @@
+package com.codeosseum.eligo.matchmaker.decisiontree;
+
+import java.util.List;
+
+import com.codeosseum.eligo.classifier.Classifier;
+
+/**
+ * Holds the buckets of a decision tree. Every bucket is identified by its address, which is the mixed-radix number
+ * formed by the class indices of a player, the first classifier being the most significant digit. The shape of the
+ * tree is immutable, thus computing addresses is thread-safe.
+ * @param <P> the player type
+ */
+abstract class BucketTree<P> {
+    private final Classifier<P>[] classifiers;
+
+    private final long[] strides;
+
+    private final long bucketCount;
+
+    private final TrackedPredicates<P> trackedPredicates;
+
+    static <P> BucketTree<P> create(final List<Classifier<P>> classifiers, final TrackedPredicates<P> trackedPredicates, final boolean sparse) {
+        return sparse ? new SparseBucketTree<>(classifiers, trackedPredicates) : new DenseBucketTree<>(classifiers, trackedPredicates);
+    }
+
+    /**
+     * Classifies the specified player and returns the address of the bucket it belongs to.
+     * @param player the player to classify
+     * @return the address of the bucket
+     */
+    final long address(final P player) {
+        long address = 0;
+
+        for (int i = 0; i < classifiers.length; ++i) {
+            address += classifiers[i].classIndex(player) * strides[i];
+        }
+
+        return address;
+    }
+
+    /**
+     * Returns the class index of the specified classifier encoded in the address.
+     * @param address the address of a bucket
+     * @param classifierIndex the index of the classifier
+     * @return the class index
+     */
+    final int classIndex(final long address, final int classifierIndex) {
+        return (int) ((address / strides[classifierIndex]) % classifiers[classifierIndex].getClassCount());
+    }
+
+    /**
+     * Returns the address of the bucket whose class index of the specified classifier is offset by the specified
+     * amount, every other class index being the same.
+     * @param address the address of a bucket
+     * @param classifierIndex the index of the classifier
+     * @param offset the difference of the class indices
+     * @return the address of the neighbouring bucket, or {@code -1} if the offset class index is out of range
+     */
+    final long neighbour(final long address, final int classifierIndex, final int offset) {
+        final int classIndex = classIndex(address, classifierIndex) + offset;
+
+        if (classIndex < 0 || classIndex >= classifiers[classifierIndex].getClassCount()) {
+            return -1;
+        }
+
+        return address + offset * strides[classifierIndex];
+    }
+
+    /**
+     * Returns the number of classes of every classifier, which determines the shape of the tree.
+     * @return the class counts in the order of the classifiers
+     */
+    final int[] getClassCounts() {
+        final int[] classCounts = new int[classifiers.length];
+
+        for (int i = 0; i < classifiers.length; ++i) {
+            classCounts[i] = classifiers[i].getClassCount();
+        }
+
+        return classCounts;
+    }
+
+    final long getBucketCount() {
+        return bucketCount;
+    }
+
+    final Bucket<P> newBucket(final long address) {
+        return new Bucket<>(address, trackedPredicates);
+    }
+
+    /**
+     * Returns the bucket at the specified address, creating it if necessary.
+     * @param address the address of the bucket
+     * @return the bucket
+     */
+    abstract Bucket<P> bucket(long address);
+
+    /**
+     * Returns the bucket at the specified address if it exists, without creating it.
+     * @param address the address of the bucket
+     * @return the bucket, or {@code null}
+     */
+    abstract Bucket<P> find(long address);
+
+    /**
+     * Returns the buckets which should be visited when making matches.
+     * @return the buckets
+     */
+    abstract Iterable<Bucket<P>> buckets();
+
+    /**
+     * Notifies the tree that the specified bucket might have become empty. Must be called while holding the monitor
+     * guarding the bucket.
+     * @param bucket the bucket
+     */
+    abstract void release(Bucket<P> bucket);
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    BucketTree(final List<Classifier<P>> classifiers, final TrackedPredicates<P> trackedPredicates) {
+        this.trackedPredicates = trackedPredicates;
+        this.classifiers = classifiers.toArray(new Classifier[0]);
+        this.strides = new long[this.classifiers.length];
+
+        long stride = 1;
+
+        for (int i = this.classifiers.length - 1; i >= 0; --i) {
+            this.strides[i] = stride;
+
+            try {
+                stride = Math.multiplyExact(stride, this.classifiers[i].getClassCount());
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException("The classifiers have too many classes in total!");
+            }
+        }
+
+        this.bucketCount = stride;
+    }
+}
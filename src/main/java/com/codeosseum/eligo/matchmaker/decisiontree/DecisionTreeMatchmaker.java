@@ -1,177 +1,1030 @@
 package com.codeosseum.eligo.matchmaker.decisiontree;
 
+import java.time.Clock;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
-import java.util.stream.Stream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
-import com.codeosseum.eligo.classifier.Classifier;
 import com.codeosseum.eligo.matchmaker.Matchmaker;
+import com.codeosseum.eligo.matchmaker.PlayerRemovedException;
+import com.codeosseum.eligo.matchmaker.metrics.MatchmakerMetrics;
 
 class DecisionTreeMatchmaker<P, M> implements Matchmaker<P, M> {
     private final Object lock;
 
-    private final List<Set<P>> buckets;
+    private final boolean concurrent;
+
+    private final boolean buffered;
+
+    private final Queue<PendingOperation<P, M>> pendingOperations;
+
+    private final boolean trackingDirtyBuckets;
+
+    private final ForkJoinPool forkJoinPool;
+
+    private final Set<Bucket<P>> dirtyBuckets;
+
+    private final BucketTree<P> tree;
+
+    private final Map<P, Ticket<P>> tickets;
 
     private final List<MatchFunction<P, M>> matchFunctions;
 
-    private final Node<P> tree;
+    private final Clock clock;
+
+    private final Widening widening;
+
+    private final MatchmakerMetrics metrics;
+
+    /**
+     * The tickets waiting to cross the widening threshold of the respective distance, in the order of their arrival.
+     * Only maintained if dirty buckets are tracked.
+     */
+    private final List<Queue<Ticket<P>>> wideningQueues;
 
     @Override
     public void addPlayer(final P player) {
-        synchronized (lock) {
-            tree.addPlayer(player);
+        // The shape of the tree is immutable, hence classification can happen outside of the lock.
+        final long address = tree.address(player);
+
+        if (buffered) {
+            pendingOperations.offer(new PendingOperation<>(player, address, null, clock.millis()));
+        } else {
+            insertPlayer(player, address, null, clock.millis());
+        }
+    }
+
+    @Override
+    public CompletableFuture<M> awaitMatch(final P player) {
+        final long address = tree.address(player);
+        final CompletableFuture<M> future = new CompletableFuture<>();
+
+        if (buffered) {
+            pendingOperations.offer(new PendingOperation<>(player, address, future, clock.millis()));
+
+            return future;
         }
+
+        return insertPlayer(player, address, future, clock.millis());
     }
 
     @Override
     public void removePlayer(P player) {
-        synchronized (lock) {
-            buckets.forEach(set -> set.remove(player));
+        if (buffered) {
+            pendingOperations.offer(new PendingOperation<>(player, PendingOperation.REMOVAL, null, 0));
+        } else {
+            failRemoved(deletePlayer(player));
         }
     }
 
     @Override
-    public Set<M> makeMatch() {
-        synchronized (lock) {
-            return matchFunctions.stream()
-                    .map(this::makeMatchUsingFunctionRemovingPlayers)
-                    .flatMap(Set::stream)
-                    .collect(Collectors.toSet());
+    public void updatePlayer(final P player) {
+        final long address = tree.address(player);
+
+        if (buffered) {
+            pendingOperations.offer(new PendingOperation<>(player, address, null, clock.millis(), true));
+        } else {
+            relocatePlayer(player, address, clock.millis());
         }
     }
 
     @Override
-    public Set<M> makeMatchAndKeepPlayers() {
-        synchronized (lock) {
-            return matchFunctions.stream()
-                    .map(this::makeMatchUsingFunctionKeepingPlayers)
-                    .flatMap(Set::stream)
-                    .collect(Collectors.toSet());
+    public void addPlayers(final Collection<? extends P> players) {
+        final long enqueuedAt = clock.millis();
+
+        if (buffered) {
+            for (P player : players) {
+                pendingOperations.offer(new PendingOperation<>(player, tree.address(player), null, enqueuedAt));
+            }
+
+            return;
+        }
+
+        // Classification happens before locking, and every bucket is locked once for all of its players.
+        final Map<Long, List<P>> playersByAddress = new HashMap<>();
+
+        for (P player : players) {
+            playersByAddress.computeIfAbsent(tree.address(player), address -> new ArrayList<>()).add(player);
+        }
+
+        if (concurrent) {
+            playersByAddress.forEach((address, group) -> insertPlayers(group, address, enqueuedAt));
+        } else {
+            synchronized (lock) {
+                playersByAddress.forEach((address, group) -> insertPlayers(group, address, enqueuedAt));
+            }
+        }
+    }
+
+    @Override
+    public void removePlayers(final Collection<? extends P> players) {
+        if (buffered) {
+            for (P player : players) {
+                pendingOperations.offer(new PendingOperation<>(player, PendingOperation.REMOVAL, null, 0));
+            }
+
+            return;
+        }
+
+        final Map<Bucket<P>, List<Ticket<P>>> ticketsByBucket = new HashMap<>();
+
+        for (P player : players) {
+            final Ticket<P> ticket = tickets.get(player);
+
+            if (ticket != null) {
+                ticketsByBucket.computeIfAbsent(ticket.bucket, bucket -> new ArrayList<>()).add(ticket);
+            }
         }
+
+        final List<CompletableFuture<M>> removedFutures = new ArrayList<>();
+        final List<P> movedPlayers = new ArrayList<>();
+
+        if (concurrent) {
+            ticketsByBucket.forEach((bucket, group) -> deleteTickets(bucket, group, removedFutures, movedPlayers));
+        } else {
+            synchronized (lock) {
+                ticketsByBucket.forEach((bucket, group) -> deleteTickets(bucket, group, removedFutures, movedPlayers));
+            }
+        }
+
+        // Players updated in the meantime have left their captured buckets, so they are looked up again one by one.
+        for (P player : movedPlayers) {
+            removedFutures.add(deletePlayer(player));
+        }
+
+        removedFutures.forEach(DecisionTreeMatchmaker::failRemoved);
+    }
+
+    @Override
+    public Set<M> makeMatch() {
+        return makeMatch(true).finish();
+    }
+
+    @Override
+    public Set<M> makeMatchAndKeepPlayers() {
+        return makeMatch(false).finish();
     }
 
     DecisionTreeMatchmaker(final DecisionTreeMatchmakerBuilder<P, M> builder) {
         this.lock = new Object();
+        this.concurrent = builder.isConcurrent();
+        this.buffered = builder.isBuffered();
+        this.pendingOperations = new ConcurrentLinkedQueue<>();
+        this.trackingDirtyBuckets = builder.isTrackingDirtyBuckets();
+        this.dirtyBuckets = ConcurrentHashMap.newKeySet();
+        this.forkJoinPool = builder.getForkJoinPool();
 
-        this.buckets = new ArrayList<>();
+        this.tree = BucketTree.create(builder.getClassifiers(), builder.getTrackedPredicates(), builder.isSparse());
+        this.tickets = new ConcurrentHashMap<>();
         this.matchFunctions = builder.getMatchFunctions();
+        this.clock = builder.getClock();
+        this.widening = builder.getWidening();
+        this.metrics = builder.getMetrics();
+        this.wideningQueues = new ArrayList<>();
 
-        this.tree = buildTree(builder.getClassifiers());
+        if (widening != null && trackingDirtyBuckets) {
+            for (int i = 0; i < widening.getMaxDistance(); ++i) {
+                wideningQueues.add(new ConcurrentLinkedQueue<>());
+            }
+        }
     }
 
-    private Set<M> makeMatchUsingFunctionRemovingPlayers(final MatchFunction<P, M> matchFunction) {
-        return buckets.stream()
-                .map(bucket -> makeMatchFromBucketRemovingPlayers(matchFunction, bucket))
-                .flatMap(optional -> optional.map(Stream::of).orElseGet(Stream::empty))
-                .collect(Collectors.toSet());
+    /**
+     * Returns the monitor guarding the specified bucket. In concurrent mode every bucket is guarded by itself,
+     * otherwise a single lock guards the whole lobby.
+     */
+    private Object monitor(final Bucket<P> bucket) {
+        return concurrent ? bucket : lock;
     }
 
-    private Set<M> makeMatchUsingFunctionKeepingPlayers(final MatchFunction<P, M> matchFunction) {
-        return buckets.stream()
-                .map(bucket -> makeMatchFromBucketKeepingPlayers(matchFunction, bucket))
-                .flatMap(optional -> optional.map(Stream::of).orElseGet(Stream::empty))
-                .collect(Collectors.toSet());
+    /**
+     * Adds the player to the lobby, unless it is already present.
+     * @param future the future to attach to the ticket of the player, or {@code null} if nobody awaits the match
+     * @param enqueuedAt the time the player joined the lobby
+     * @return the future attached to the ticket of the player
+     */
+    private CompletableFuture<M> insertPlayer(final P player, final long address, final CompletableFuture<M> future, final long enqueuedAt) {
+        while (true) {
+            final Bucket<P> bucket = tree.bucket(address);
+            final Ticket<P> existing;
+
+            synchronized (monitor(bucket)) {
+                // A sparse tree might have reclaimed the bucket in the meantime.
+                if (bucket.isRetired()) {
+                    continue;
+                }
+
+                final Ticket<P> ticket = new Ticket<>(player, bucket, future, enqueuedAt);
+
+                existing = insertTicket(ticket);
+
+                if (existing == null) {
+                    enqueueForWidening(ticket);
+                    return future;
+                }
+
+                // A sparse tree might have created the bucket for this player only.
+                tree.release(bucket);
+            }
+
+            if (future == null) {
+                return null;
+            }
+
+            final CompletableFuture<M> attached = futureOf(existing.attach(future));
+
+            // Otherwise the ticket has left the lobby in the meantime, hence the player is added again.
+            if (attached != null) {
+                return attached;
+            }
+        }
     }
 
-    private Optional<M> makeMatchFromBucketRemovingPlayers(final MatchFunction<P, M> function, final Set<P> bucket) {
-        final BucketMatcher<P> selectionContext = new BucketMatcher<>(bucket);
+    /**
+     * Moves the ticket of the player to the bucket of the specified address, keeping its time of joining and its
+     * future. The ticket is replaced even if the bucket is the same, so that the bucket holds the updated player.
+     * Absent players are added.
+     * @param enqueuedAt the time to add the player with, if absent
+     */
+    private void relocatePlayer(final P player, final long address, final long enqueuedAt) {
+        while (true) {
+            final Ticket<P> ticket = tickets.get(player);
+            final Bucket<P> target = tree.bucket(address);
 
-        final boolean canMakeMatch = function.getPredicate().test(selectionContext);
+            if (ticket == null) {
+                synchronized (monitor(target)) {
+                    if (target.isRetired()) {
+                        continue;
+                    }
 
-        if (canMakeMatch) {
-            final PlayerPicker<P> playerPicker = new PlayerPicker<>(bucket);
+                    final Ticket<P> added = new Ticket<>(player, target, null, enqueuedAt);
 
-            final M match = function.getFunction().apply(playerPicker);
+                    if (insertTicket(added) == null) {
+                        enqueueForWidening(added);
+                        return;
+                    }
+
+                    tree.release(target);
+                }
+
+                // Otherwise the player has been added in the meantime, hence it is moved instead.
+                continue;
+            }
+
+            final Bucket<P> source = ticket.bucket;
+            // Locking in the order of addresses prevents deadlocks with visits and other moves.
+            final boolean sourceFirst = source.getAddress() <= target.getAddress();
 
-            playerPicker.getSelectedPlayers().forEach(this::removePlayer);
+            synchronized (monitor(sourceFirst ? source : target)) {
+                synchronized (monitor(sourceFirst ? target : source)) {
+                    // The ticket might have left the lobby, or the bucket might have been reclaimed in the meantime.
+                    if (target.isRetired()) {
+                        continue;
+                    }
 
-            return Optional.of(match);
+                    if (tickets.get(player) != ticket) {
+                        tree.release(target);
+                        continue;
+                    }
+
+                    final Ticket<P> moved = new Ticket<>(player, target, ticket.close(), ticket.enqueuedAt);
+
+                    tickets.replace(player, ticket, moved);
+
+                    if (source == target) {
+                        source.replace(ticket, moved);
+                    } else {
+                        source.remove(ticket);
+                        target.add(moved);
+                        metrics.bucketSizeChanged(source.getAddress(), source.size());
+                        metrics.bucketSizeChanged(target.getAddress(), target.size());
+                        markDirty(target);
+                        tree.release(source);
+                    }
+
+                    markDirty(source);
+
+                    return;
+                }
+            }
         }
+    }
+
+    /**
+     * Adds the players of the same bucket to the lobby under a single acquisition of the monitor of the bucket,
+     * skipping the ones already present.
+     */
+    private void insertPlayers(final List<P> players, final long address, final long enqueuedAt) {
+        while (true) {
+            final Bucket<P> bucket = tree.bucket(address);
+
+            synchronized (monitor(bucket)) {
+                if (bucket.isRetired()) {
+                    continue;
+                }
 
-        return Optional.empty();
+                for (P player : players) {
+                    final Ticket<P> ticket = new Ticket<>(player, bucket, null, enqueuedAt);
+
+                    if (insertTicket(ticket) == null) {
+                        enqueueForWidening(ticket);
+                    }
+                }
+
+                // Every player might have been present already.
+                tree.release(bucket);
+
+                return;
+            }
+        }
     }
 
-    private Optional<M> makeMatchFromBucketKeepingPlayers(final MatchFunction<P, M> function, final Set<P> bucket) {
-        final BucketMatcher<P> selectionContext = new BucketMatcher<>(bucket);
+    /**
+     * Adds the ticket to its bucket, whose monitor is held, unless the player is already present.
+     * @return the ticket of the player already present, or {@code null} if the ticket has been added
+     */
+    private Ticket<P> insertTicket(final Ticket<P> ticket) {
+        final Bucket<P> bucket = ticket.bucket;
+        final Ticket<P> existing = tickets.putIfAbsent(ticket.player, ticket);
 
-        final boolean canMakeMatch = function.getPredicate().test(selectionContext);
+        if (existing == null) {
+            bucket.add(ticket);
+            markDirty(bucket);
+            metrics.bucketSizeChanged(bucket.getAddress(), bucket.size());
+        }
 
-        if (canMakeMatch) {
-            final PlayerPicker<P> playerPicker = new PlayerPicker<>(bucket);
+        return existing;
+    }
+
+    private void enqueueForWidening(final Ticket<P> ticket) {
+        if (!wideningQueues.isEmpty()) {
+            wideningQueues.get(0).offer(ticket);
+        }
+    }
+
+    /**
+     * Returns the tickets in the lobby grouped by bucket, the tickets of every bucket in the order of their arrival.
+     * Buffered operations are applied beforehand. In concurrent mode every bucket is captured atomically, otherwise
+     * the whole lobby is.
+     */
+    List<Ticket<P>> captureTickets() {
+        final Tick<M> tick = new Tick<>();
+        final List<Ticket<P>> captured = new ArrayList<>();
 
-            return Optional.of(function.getFunction().apply(playerPicker));
+        if (concurrent) {
+            captureTickets(tick, captured);
+        } else {
+            synchronized (lock) {
+                captureTickets(tick, captured);
+            }
         }
 
-        return Optional.empty();
+        tick.finish();
+
+        return captured;
     }
 
-    private Node<P> buildTree(final List<Classifier<P>> classifiers) {
-        return makeNode(classifiers, 0);
+    private void captureTickets(final Tick<M> tick, final List<Ticket<P>> captured) {
+        applyPendingOperations(tick);
+
+        for (Bucket<P> bucket : tree.buckets()) {
+            synchronized (monitor(bucket)) {
+                for (Ticket<P> ticket = bucket.getOldest(); ticket != null; ticket = ticket.next) {
+                    captured.add(ticket);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds previously captured players to the lobby without classifying them again, skipping the ones already
+     * present. Players of the same bucket must be adjacent, in the order of their arrival.
+     * @param addresses the addresses of the buckets of the players
+     * @param enqueuedAts the times the players joined the lobby
+     */
+    void restorePlayers(final List<P> players, final long[] addresses, final long[] enqueuedAts) {
+        final List<Ticket<P>> restored = new ArrayList<>();
+
+        if (concurrent) {
+            restorePlayers(players, addresses, enqueuedAts, restored);
+        } else {
+            synchronized (lock) {
+                restorePlayers(players, addresses, enqueuedAts, restored);
+            }
+        }
+
+        // The widening queues expect tickets in the order of arrival, while the snapshot is ordered by bucket.
+        if (!wideningQueues.isEmpty()) {
+            restored.sort(Comparator.comparingLong(ticket -> ticket.enqueuedAt));
+            restored.forEach(this::enqueueForWidening);
+        }
+    }
+
+    private void restorePlayers(final List<P> players, final long[] addresses, final long[] enqueuedAts, final List<Ticket<P>> restored) {
+        int from = 0;
+
+        while (from < players.size()) {
+            int to = from + 1;
+
+            while (to < players.size() && addresses[to] == addresses[from]) {
+                ++to;
+            }
+
+            restoreBucket(players, addresses[from], enqueuedAts, from, to, restored);
+            from = to;
+        }
+    }
+
+    private void restoreBucket(final List<P> players, final long address, final long[] enqueuedAts, final int from, final int to,
+                               final List<Ticket<P>> restored) {
+        while (true) {
+            final Bucket<P> bucket = tree.bucket(address);
+
+            synchronized (monitor(bucket)) {
+                if (bucket.isRetired()) {
+                    continue;
+                }
+
+                for (int i = from; i < to; ++i) {
+                    final Ticket<P> ticket = new Ticket<>(players.get(i), bucket, null, enqueuedAts[i]);
+
+                    if (insertTicket(ticket) == null) {
+                        restored.add(ticket);
+                    }
+                }
+
+                tree.release(bucket);
+
+                return;
+            }
+        }
+    }
+
+    long getBucketCount() {
+        return tree.getBucketCount();
+    }
+
+    /**
+     * Returns the number of buckets currently held by the tree, which is less than the bucket count for a sparse tree.
+     */
+    long getAllocatedBucketCount() {
+        long count = 0;
+
+        for (Bucket<P> ignored : tree.buckets()) {
+            ++count;
+        }
+
+        return count;
+    }
+
+    int[] getClassCounts() {
+        return tree.getClassCounts();
+    }
+
+    /**
+     * Removes the tickets of the same bucket from the lobby under a single acquisition of the monitor of the bucket.
+     * Tickets which have left the lobby in the meantime are skipped.
+     * @param removedFutures the list collecting the futures to complete exceptionally
+     * @param movedPlayers the list collecting the players whose tickets have been replaced in the meantime
+     */
+    private void deleteTickets(final Bucket<P> bucket, final List<Ticket<P>> group, final List<CompletableFuture<M>> removedFutures,
+                               final List<P> movedPlayers) {
+        synchronized (monitor(bucket)) {
+            for (Ticket<P> ticket : group) {
+                if (tickets.remove(ticket.player, ticket)) {
+                    bucket.remove(ticket);
+                    removedFutures.add(futureOf(ticket.close()));
+                } else if (isReplaced(ticket)) {
+                    movedPlayers.add(ticket.player);
+                }
+            }
+
+            markDirty(bucket);
+            metrics.bucketSizeChanged(bucket.getAddress(), bucket.size());
+            tree.release(bucket);
+        }
+    }
+
+    /**
+     * Removes the player from the lobby, if present.
+     * @return the future to complete exceptionally, or {@code null} if nobody awaits the match of the player
+     */
+    private CompletableFuture<M> deletePlayer(final P player) {
+        while (true) {
+            final Ticket<P> ticket = tickets.get(player);
+
+            if (ticket == null) {
+                return null;
+            }
+
+            final Bucket<P> bucket = ticket.bucket;
+
+            synchronized (monitor(bucket)) {
+                // The ticket might have been replaced by an update in the meantime.
+                if (!tickets.remove(player, ticket)) {
+                    continue;
+                }
+
+                bucket.remove(ticket);
+                markDirty(bucket);
+                metrics.bucketSizeChanged(bucket.getAddress(), bucket.size());
+                tree.release(bucket);
+            }
+
+            return futureOf(ticket.close());
+        }
     }
 
-    private Node<P> makeNode(final List<Classifier<P>> classifiers, final int classifierIndex) {
-        if (classifierIndex == classifiers.size()) {
-            final BucketNode<P> node = new BucketNode<>();
+    /**
+     * Applies the buffered additions, removals and updates in the order they were requested.
+     */
+    private void applyPendingOperations(final Tick<M> tick) {
+        // Concurrent ticks must not reorder the operations of the same player.
+        synchronized (pendingOperations) {
+            PendingOperation<P, M> operation;
 
-            this.buckets.add(node.players);
+            while ((operation = pendingOperations.poll()) != null) {
+                if (operation.address == PendingOperation.REMOVAL) {
+                    tick.fail(deletePlayer(operation.player));
+                } else if (operation.updating) {
+                    relocatePlayer(operation.player, operation.address, operation.requestedAt);
+                } else {
+                    final CompletableFuture<M> attached = insertPlayer(operation.player, operation.address, operation.future, operation.requestedAt);
 
-            return node;
+                    // The player was already awaiting a match when the operation was requested.
+                    if (attached != operation.future) {
+                        propagate(attached, operation.future);
+                    }
+                }
+            }
+        }
+    }
+
+    private void markDirty(final Bucket<P> bucket) {
+        if (trackingDirtyBuckets) {
+            dirtyBuckets.add(bucket);
+        }
+    }
+
+    /**
+     * Marks the buckets dirty to which players have become visible since the previous tick. Every ticket crosses the
+     * thresholds in the order of arrival, thus only the heads of the queues need to be examined.
+     */
+    private void markWidenedBuckets() {
+        if (wideningQueues.isEmpty()) {
+            return;
+        }
+
+        final long now = clock.millis();
+
+        synchronized (wideningQueues) {
+            for (int distance = 1; distance <= wideningQueues.size(); ++distance) {
+                final Queue<Ticket<P>> queue = wideningQueues.get(distance - 1);
+
+                Ticket<P> ticket;
+
+                while ((ticket = queue.peek()) != null && widening.isVisible(ticket, distance, now)) {
+                    queue.poll();
+
+                    final Ticket<P> current = tickets.get(ticket.player);
+
+                    // Tickets which have already left the lobby are dropped lazily. Tickets replaced by an update keep
+                    // their place in the queues on behalf of their replacements, which share their time of joining.
+                    if (current == null || current.enqueuedAt != ticket.enqueuedAt) {
+                        continue;
+                    }
+
+                    markNeighbourDirty(current.bucket, -distance);
+                    markNeighbourDirty(current.bucket, distance);
+
+                    if (distance < wideningQueues.size()) {
+                        wideningQueues.get(distance).offer(ticket);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns whether the ticket has been replaced by an update, as replacements share the time of joining of the
+     * tickets they replace.
+     */
+    private boolean isReplaced(final Ticket<P> ticket) {
+        final Ticket<P> current = tickets.get(ticket.player);
+
+        return current != null && current != ticket && current.enqueuedAt == ticket.enqueuedAt;
+    }
+
+    private void markNeighbourDirty(final Bucket<P> bucket, final int offset) {
+        final Bucket<P> neighbour = neighbour(bucket, offset);
+
+        if (neighbour != null) {
+            markDirty(neighbour);
+        }
+    }
+
+    /**
+     * Returns the buckets which might yield a match. If dirty buckets are tracked, then these are the buckets which
+     * have changed or yielded a match since their last visit, otherwise every bucket.
+     */
+    private Iterable<Bucket<P>> bucketsToVisit() {
+        return trackingDirtyBuckets ? dirtyBuckets : tree.buckets();
+    }
+
+    private Tick<M> makeMatch(final boolean removingPlayers) {
+        final long start = System.nanoTime();
+        final Tick<M> tick;
+
+        if (concurrent) {
+            tick = visitBuckets(removingPlayers);
         } else {
-            final Classifier<P> classifier = classifiers.get(classifierIndex);
-            final ClassifierNode<P> node = new ClassifierNode<>(classifier);
+            synchronized (lock) {
+                tick = visitBuckets(removingPlayers);
+            }
+        }
+
+        metrics.tickCompleted(System.nanoTime() - start, tick.matches.size());
+
+        return tick;
+    }
 
-            final List<Node<P>> children = IntStream.range(0, classifier.getClassCount())
-                    .mapToObj(i -> makeNode(classifiers, classifierIndex + 1))
-                    .collect(Collectors.toList());
+    private Tick<M> visitBuckets(final boolean removingPlayers) {
+        final Tick<M> tick = new Tick<>();
 
-            node.children.addAll(children);
+        applyPendingOperations(tick);
+        markWidenedBuckets();
 
-            return node;
+        if (forkJoinPool != null) {
+            tick.merge(visitBucketsInParallel(removingPlayers));
+
+            return tick;
+        }
+
+        final List<Bucket<P>> matchedBuckets = new ArrayList<>();
+
+        for (Bucket<P> bucket : bucketsToVisit()) {
+            if (visitBucket(bucket, removingPlayers, tick)) {
+                matchedBuckets.add(bucket);
+            }
         }
+
+        // Marked after the visit, so that the same tick does not visit them again.
+        matchedBuckets.forEach(this::markDirty);
+
+        return tick;
     }
 
-    private static abstract class Node<P> {
-        List<Node<P>> children;
+    private Tick<M> visitBucketsInParallel(final boolean removingPlayers) {
+        final List<Bucket<P>> buckets = new ArrayList<>();
+
+        bucketsToVisit().forEach(buckets::add);
 
-        abstract void addPlayer(P player);
+        return forkJoinPool.invoke(new BucketVisit(buckets, 0, buckets.size(), removingPlayers));
     }
 
-    private static final class ClassifierNode<P> extends Node<P> {
-        private final Classifier<P> classifier;
+    /**
+     * Applies every match function to the specified bucket.
+     * @return whether a match has been made from the bucket
+     */
+    private boolean visitBucket(final Bucket<P> bucket, final boolean removingPlayers, final Tick<M> tick) {
+        if (widening == null) {
+            synchronized (visitMonitor(bucket)) {
+                return visitLockedBucket(bucket, Collections.emptyList(), removingPlayers, tick);
+            }
+        }
+
+        final List<Bucket<P>> neighbours = neighbours(bucket);
+        final List<Bucket<P>> lockOrder = new ArrayList<>(neighbours);
 
-        private ClassifierNode(final Classifier<P> classifier) {
-            this.children = new ArrayList<>();
-            this.classifier = classifier;
+        lockOrder.add(bucket);
+        // Locking in the order of addresses prevents deadlocks between visits of overlapping neighbourhoods.
+        lockOrder.sort(Comparator.comparingLong(Bucket::getAddress));
+
+        return visitLockingBuckets(lockOrder, 0, bucket, neighbours, removingPlayers, tick);
+    }
+
+    private boolean visitLockingBuckets(final List<Bucket<P>> lockOrder, final int index, final Bucket<P> bucket,
+                                        final List<Bucket<P>> neighbours, final boolean removingPlayers, final Tick<M> tick) {
+        if (index == lockOrder.size()) {
+            return visitLockedBucket(bucket, neighbours, removingPlayers, tick);
         }
 
-        @Override
-        void addPlayer(final P player) {
-            final List<Optional<P>> classification = classifier.classify(player);
+        synchronized (visitMonitor(lockOrder.get(index))) {
+            return visitLockingBuckets(lockOrder, index + 1, bucket, neighbours, removingPlayers, tick);
+        }
+    }
+
+    /**
+     * Applies every match function to the specified bucket, whose monitor is held along with the monitors of its
+     * neighbours.
+     */
+    private boolean visitLockedBucket(final Bucket<P> bucket, final List<Bucket<P>> neighbours, final boolean removingPlayers, final Tick<M> tick) {
+        dirtyBuckets.remove(bucket);
+
+        final BucketMatcher<P> selectionContext = new BucketMatcher<>(bucket, guests(bucket, neighbours));
+
+        boolean matched = false;
+
+        for (int i = 0; i < matchFunctions.size(); ++i) {
+            if (removingPlayers) {
+                matched |= makeMatchFromBucketRemovingPlayers(i, selectionContext, tick);
+            } else {
+                matched |= makeMatchFromBucketKeepingPlayers(i, selectionContext, tick);
+            }
+        }
 
-            for (int i = 0; i < classification.size(); ++i) {
-                if (classification.get(i).isPresent()) {
-                    children.get(i).addPlayer(player);
-                    break;
+        if (removingPlayers) {
+            if (matched) {
+                metrics.bucketSizeChanged(bucket.getAddress(), bucket.size());
+            }
+
+            tree.release(bucket);
+        }
+
+        return matched;
+    }
+
+    /**
+     * Returns the existing buckets within the widening distance of the specified bucket.
+     */
+    private List<Bucket<P>> neighbours(final Bucket<P> bucket) {
+        final List<Bucket<P>> neighbours = new ArrayList<>();
+
+        for (int distance = 1; distance <= widening.getMaxDistance(); ++distance) {
+            for (int offset : new int[] {-distance, distance}) {
+                final Bucket<P> neighbour = neighbour(bucket, offset);
+
+                if (neighbour != null) {
+                    neighbours.add(neighbour);
                 }
             }
         }
+
+        return neighbours;
+    }
+
+    private Bucket<P> neighbour(final Bucket<P> bucket, final int offset) {
+        final long address = tree.neighbour(bucket.getAddress(), widening.getClassifierIndex(), offset);
+
+        return address == -1 ? null : tree.find(address);
+    }
+
+    /**
+     * Collects the players of the neighbours who have been waiting long enough to be visible to the bucket. These
+     * form a prefix of the tickets of every neighbour in arrival order.
+     */
+    private List<Ticket<P>> guests(final Bucket<P> bucket, final List<Bucket<P>> neighbours) {
+        if (neighbours.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final long now = clock.millis();
+        final int classifierIndex = widening.getClassifierIndex();
+        final int classIndex = tree.classIndex(bucket.getAddress(), classifierIndex);
+
+        final List<Ticket<P>> guests = new ArrayList<>();
+
+        for (Bucket<P> neighbour : neighbours) {
+            final int distance = Math.abs(tree.classIndex(neighbour.getAddress(), classifierIndex) - classIndex);
+
+            for (Ticket<P> ticket = neighbour.getOldest(); ticket != null && widening.isVisible(ticket, distance, now); ticket = ticket.next) {
+                guests.add(ticket);
+            }
+        }
+
+        return guests;
+    }
+
+    /**
+     * Returns the monitor held while visiting the specified bucket. Parallel visits happen on worker threads while
+     * the calling thread holds the lobby-wide lock, thus workers lock the visited bucket only.
+     */
+    private Object visitMonitor(final Bucket<P> bucket) {
+        return forkJoinPool != null ? bucket : monitor(bucket);
+    }
+
+    private boolean makeMatchFromBucketRemovingPlayers(final int functionIndex, final BucketMatcher<P> selectionContext, final Tick<M> tick) {
+        final MatchFunction<P, M> function = matchFunctions.get(functionIndex);
+
+        PlayerPicker<P> playerPicker = null;
+        int matchCount = 0;
+
+        while (matchCount < function.getMaxMatchesPerBucket() && !selectionContext.isEmpty() && test(functionIndex, selectionContext)) {
+            if (playerPicker == null) {
+                playerPicker = new PlayerPicker<>(selectionContext.getPlayers());
+            }
+
+            final M match = function.getFunction().apply(playerPicker);
+
+            tick.matches.add(match);
+            ++matchCount;
+
+            if (playerPicker.getSelectedPlayerCount() == 0) {
+                // The bucket did not change, applying the function again would yield the same result.
+                break;
+            }
+
+            removeSelectedPlayers(selectionContext, playerPicker.getSelectedPlayers(), match, tick);
+            playerPicker.clearSelection();
+        }
+
+        return matchCount > 0;
+    }
+
+    private boolean makeMatchFromBucketKeepingPlayers(final int functionIndex, final BucketMatcher<P> selectionContext, final Tick<M> tick) {
+        if (selectionContext.isEmpty()) {
+            return false;
+        }
+
+        final boolean canMakeMatch = test(functionIndex, selectionContext);
+
+        if (canMakeMatch) {
+            final PlayerPicker<P> playerPicker = new PlayerPicker<>(selectionContext.getPlayers());
+
+            tick.matches.add(matchFunctions.get(functionIndex).getFunction().apply(playerPicker));
+        }
+
+        return canMakeMatch;
+    }
+
+    private boolean test(final int functionIndex, final BucketMatcher<P> selectionContext) {
+        final boolean passed = matchFunctions.get(functionIndex).getPredicate().test(selectionContext);
+
+        metrics.predicateEvaluated(functionIndex, passed);
+
+        return passed;
     }
 
-    private static final class BucketNode<P> extends Node<P> {
-        private final Set<P> players;
+    private void removeSelectedPlayers(final BucketMatcher<P> selectionContext, final List<P> selectedPlayers, final M match, final Tick<M> tick) {
+        final long now = clock.millis();
 
-        private BucketNode() {
-            this.players = new HashSet<>();
+        for (P player : selectedPlayers) {
+            final Ticket<P> ticket = tickets.remove(player);
+            final Bucket<P> home = ticket.bucket;
+
+            home.remove(ticket);
+            tick.complete(futureOf(ticket.close()), match);
+            metrics.playerMatched(now - ticket.enqueuedAt);
+
+            if (home != selectionContext.getBucket()) {
+                selectionContext.getGuests().remove(ticket);
+                markDirty(home);
+                metrics.bucketSizeChanged(home.getAddress(), home.size());
+                tree.release(home);
+            }
+        }
+    }
+
+    private static <M> void failRemoved(final CompletableFuture<M> future) {
+        if (future != null) {
+            future.completeExceptionally(new PlayerRemovedException("The player has been removed from the lobby."));
+        }
+    }
+
+    private static <M> void propagate(final CompletableFuture<M> source, final CompletableFuture<M> target) {
+        source.whenComplete((match, throwable) -> {
+            if (throwable != null) {
+                target.completeExceptionally(throwable);
+            } else {
+                target.complete(match);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <M> CompletableFuture<M> futureOf(final CompletableFuture<?> future) {
+        // Tickets only ever carry futures created for this matchmaker.
+        return (CompletableFuture<M>) future;
+    }
+
+    /**
+     * Visits a range of buckets, splitting it between workers if the range is large.
+     */
+    private final class BucketVisit extends RecursiveTask<Tick<M>> {
+        private static final long serialVersionUID = 1L;
+
+        private static final int THRESHOLD = 16;
+
+        private final List<Bucket<P>> buckets;
+
+        private final int from;
+
+        private final int to;
+
+        private final boolean removingPlayers;
+
+        private BucketVisit(final List<Bucket<P>> buckets, final int from, final int to, final boolean removingPlayers) {
+            this.buckets = buckets;
+            this.from = from;
+            this.to = to;
+            this.removingPlayers = removingPlayers;
         }
 
         @Override
-        void addPlayer(final P player) {
-            this.players.add(player);
+        protected Tick<M> compute() {
+            if (to - from <= THRESHOLD) {
+                final Tick<M> tick = new Tick<>();
+
+                for (int i = from; i < to; ++i) {
+                    final Bucket<P> bucket = buckets.get(i);
+
+                    // The buckets to visit have been collected upfront, so they can be marked right away.
+                    if (visitBucket(bucket, removingPlayers, tick)) {
+                        markDirty(bucket);
+                    }
+                }
+
+                return tick;
+            }
+
+            final int middle = (from + to) >>> 1;
+
+            final BucketVisit left = new BucketVisit(buckets, from, middle, removingPlayers);
+            final BucketVisit right = new BucketVisit(buckets, middle, to, removingPlayers);
+
+            left.fork();
+
+            final Tick<M> rightTick = right.compute();
+            final Tick<M> leftTick = left.join();
+
+            leftTick.merge(rightTick);
+
+            return leftTick;
+        }
+    }
+
+    /**
+     * The outcome of visiting the buckets. Futures are only completed once the lobby has been unlocked, since their
+     * dependent actions run on the completing thread.
+     */
+    private static final class Tick<M> {
+        private final Set<M> matches = new HashSet<>();
+
+        private final List<Runnable> completions = new ArrayList<>();
+
+        private void complete(final CompletableFuture<M> future, final M match) {
+            if (future != null) {
+                completions.add(() -> future.complete(match));
+            }
+        }
+
+        private void fail(final CompletableFuture<M> future) {
+            if (future != null) {
+                completions.add(() -> failRemoved(future));
+            }
+        }
+
+        private void merge(final Tick<M> other) {
+            matches.addAll(other.matches);
+            completions.addAll(other.completions);
+        }
+
+        private Set<M> finish() {
+            completions.forEach(Runnable::run);
+
+            return matches;
+        }
+    }
+
+    /**
+     * An addition, removal or update waiting to be applied at the start of the next tick.
+     */
+    private static final class PendingOperation<P, M> {
+        private static final long REMOVAL = -1;
+
+        private final P player;
+
+        private final long address;
+
+        private final CompletableFuture<M> future;
+
+        private final long requestedAt;
+
+        private final boolean updating;
+
+        private PendingOperation(final P player, final long address, final CompletableFuture<M> future, final long requestedAt) {
+            this(player, address, future, requestedAt, false);
+        }
+
+        private PendingOperation(final P player, final long address, final CompletableFuture<M> future, final long requestedAt,
+                                 final boolean updating) {
+            this.player = player;
+            this.address = address;
+            this.future = future;
+            this.requestedAt = requestedAt;
+            this.updating = updating;
         }
     }
 }
@@ -1,19 +1,46 @@
 package com.codeosseum.eligo.matchmaker.decisiontree;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
 
 import com.codeosseum.eligo.classifier.Classifier;
 import com.codeosseum.eligo.matchmaker.Matchmaker;
+import com.codeosseum.eligo.matchmaker.metrics.MatchmakerMetrics;
 
 public final class DecisionTreeMatchmakerBuilder<P, M> {
     private final List<Classifier<P>> classifiers;
 
     private final List<MatchFunction<P, M>> matchFunctions;
 
+    private final TrackedPredicates<P> trackedPredicates;
+
+    private boolean sparse;
+
+    private boolean concurrent;
+
+    private boolean buffered;
+
+    private boolean trackingDirtyBuckets;
+
+    private ForkJoinPool forkJoinPool;
+
+    private Widening widening;
+
+    private Clock clock;
+
+    private MatchmakerMetrics metrics;
+
     public DecisionTreeMatchmakerBuilder() {
         this.classifiers = new ArrayList<>();
         this.matchFunctions = new ArrayList<>();
+        this.trackedPredicates = new TrackedPredicates<>();
+        this.clock = Clock.systemUTC();
+        this.metrics = MatchmakerMetrics.NOOP;
     }
 
     public DecisionTreeMatchmakerBuilder<P, M> classifier(final Classifier<P> classifier) {
@@ -28,7 +55,73 @@ public final class DecisionTreeMatchmakerBuilder<P, M> {
         return this;
     }
 
+    public DecisionTreeMatchmakerBuilder<P, M> playerPredicate(final String name, final Predicate<P> predicate) {
+        this.trackedPredicates.register(name, predicate);
+
+        return this;
+    }
+
+    public DecisionTreeMatchmakerBuilder<P, M> sparse() {
+        this.sparse = true;
+
+        return this;
+    }
+
+    public DecisionTreeMatchmakerBuilder<P, M> concurrent() {
+        this.concurrent = true;
+
+        return this;
+    }
+
+    public DecisionTreeMatchmakerBuilder<P, M> buffered() {
+        this.buffered = true;
+
+        return this;
+    }
+
+    public DecisionTreeMatchmakerBuilder<P, M> trackDirtyBuckets() {
+        this.trackingDirtyBuckets = true;
+
+        return this;
+    }
+
+    public DecisionTreeMatchmakerBuilder<P, M> parallel() {
+        return parallel(ForkJoinPool.commonPool());
+    }
+
+    public DecisionTreeMatchmakerBuilder<P, M> parallel(final ForkJoinPool forkJoinPool) {
+        this.forkJoinPool = Objects.requireNonNull(forkJoinPool);
+
+        return this;
+    }
+
+    public DecisionTreeMatchmakerBuilder<P, M> widen(final int classifierIndex, final Duration... thresholds) {
+        if (this.widening != null) {
+            throw new IllegalStateException("Only a single classifier can be widened!");
+        }
+
+        this.widening = new Widening(classifierIndex, thresholds);
+
+        return this;
+    }
+
+    public DecisionTreeMatchmakerBuilder<P, M> clock(final Clock clock) {
+        this.clock = Objects.requireNonNull(clock);
+
+        return this;
+    }
+
+    public DecisionTreeMatchmakerBuilder<P, M> metrics(final MatchmakerMetrics metrics) {
+        this.metrics = Objects.requireNonNull(metrics);
+
+        return this;
+    }
+
     public Matchmaker<P, M> build() {
+        if (widening != null && widening.getClassifierIndex() >= classifiers.size()) {
+            throw new IllegalArgumentException("There is no classifier with the index " + widening.getClassifierIndex() + " to widen!");
+        }
+
         return new DecisionTreeMatchmaker<>(this);
     }
 
@@ -39,4 +132,40 @@ public final class DecisionTreeMatchmakerBuilder<P, M> {
     List<MatchFunction<P, M>> getMatchFunctions() {
         return matchFunctions;
     }
+
+    TrackedPredicates<P> getTrackedPredicates() {
+        return trackedPredicates;
+    }
+
+    boolean isSparse() {
+        return sparse;
+    }
+
+    boolean isConcurrent() {
+        return concurrent;
+    }
+
+    boolean isBuffered() {
+        return buffered;
+    }
+
+    boolean isTrackingDirtyBuckets() {
+        return trackingDirtyBuckets;
+    }
+
+    ForkJoinPool getForkJoinPool() {
+        return forkJoinPool;
+    }
+
+    Widening getWidening() {
+        return widening;
+    }
+
+    Clock getClock() {
+        return clock;
+    }
+
+    MatchmakerMetrics getMetrics() {
+        return metrics;
+    }
 }
@@ -0,0 +1,61 @@
+package com.codeosseum.eligo.matchmaker.decisiontree;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.codeosseum.eligo.classifier.Classifier;
+
+/**
+ * Bucket tree which eagerly creates every bucket of the decision tree. Since the shape of the tree is fixed, the tree
+ * is compiled into a flat array of buckets indexed by their addresses, so finding a bucket takes a single array
+ * access instead of descending through the classifiers.
+ * @param <P> the player type
+ */
+final class DenseBucketTree<P> extends BucketTree<P> {
+    /**
+     * The largest number of buckets an array can hold on common virtual machines.
+     */
+    private static final long MAX_BUCKET_COUNT = Integer.MAX_VALUE - 8;
+
+    private final Bucket<P>[] buckets;
+
+    private final List<Bucket<P>> bucketList;
+
+    @Override
+    Bucket<P> bucket(final long address) {
+        return buckets[(int) address];
+    }
+
+    @Override
+    Bucket<P> find(final long address) {
+        return buckets[(int) address];
+    }
+
+    @Override
+    Iterable<Bucket<P>> buckets() {
+        return bucketList;
+    }
+
+    @Override
+    void release(final Bucket<P> bucket) {
+        // Buckets live as long as the tree.
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    DenseBucketTree(final List<Classifier<P>> classifiers, final TrackedPredicates<P> trackedPredicates) {
+        super(classifiers, trackedPredicates);
+
+        if (getBucketCount() > MAX_BUCKET_COUNT) {
+            throw new IllegalArgumentException("The classifiers have too many classes in total, consider using a sparse tree!");
+        }
+
+        this.buckets = new Bucket[(int) getBucketCount()];
+
+        for (int address = 0; address < buckets.length; ++address) {
+            buckets[address] = newBucket(address);
+        }
+
+        this.bucketList = Collections.unmodifiableList(Arrays.asList(buckets));
+    }
+}
@@ -0,0 +1,58 @@
+package com.codeosseum.eligo.matchmaker.decisiontree;
+
+import java.util.Arrays;
+
+import com.codeosseum.eligo.util.IntIntHashMap;
+
+/**
+ * Leaf of an {@link IntDecisionTreeMatchmaker}. The ids of the players are stored in a dense array, while an
+ * open-addressing map keeps their positions, so that random access, addition and removal take constant time
+ * without boxing.
+ */
+final class IntBucket {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private static final int ABSENT = -1;
+
+    private final IntIntHashMap positions;
+
+    private int[] players;
+
+    private int size;
+
+    IntBucket() {
+        this.positions = new IntIntHashMap();
+        this.players = new int[INITIAL_CAPACITY];
+    }
+
+    int get(final int index) {
+        return players[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void add(final int playerId) {
+        if (size == players.length) {
+            players = Arrays.copyOf(players, size << 1);
+        }
+
+        positions.put(playerId, size);
+        players[size++] = playerId;
+    }
+
+    void remove(final int playerId) {
+        final int position = positions.remove(playerId, ABSENT);
+        final int last = players[--size];
+
+        if (position != size) {
+            players[position] = last;
+            positions.put(last, position);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.codeosseum.eligo.matchmaker.decisiontree;
+
+import java.util.Objects;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * Primitive specialization of {@link BucketMatcher} for player ids.
+ */
+public final class IntBucketMatcher {
+    private final IntBucket bucket;
+
+    public static Predicate<IntBucketMatcher> all(final IntPredicate playerPredicate) {
+        Objects.requireNonNull(playerPredicate);
+
+        return ctx -> {
+            for (int i = 0; i < ctx.bucket.size(); ++i) {
+                if (!playerPredicate.test(ctx.bucket.get(i))) {
+                    return false;
+                }
+            }
+
+            return true;
+        };
+    }
+
+    public static Predicate<IntBucketMatcher> hasAtLeast(final int count) {
+        requirePositive(count);
+
+        return ctx -> ctx.bucket.size() >= count;
+    }
+
+    public static Predicate<IntBucketMatcher> hasAtLeast(final int count, final IntPredicate playerPredicate) {
+        Objects.requireNonNull(playerPredicate);
+
+        requirePositive(count);
+
+        return ctx -> {
+            int found = 0;
+
+            for (int i = 0; i < ctx.bucket.size() && found < count; ++i) {
+                if (playerPredicate.test(ctx.bucket.get(i))) {
+                    ++found;
+                }
+            }
+
+            return found >= count;
+        };
+    }
+
+    IntBucketMatcher(final IntBucket bucket) {
+        this.bucket = bucket;
+    }
+
+    private static void requirePositive(final int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count must be greater than zero!");
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.codeosseum.eligo.matchmaker.decisiontree;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.codeosseum.eligo.classifier.IntClassifier;
+import com.codeosseum.eligo.matchmaker.IntMatchmaker;
+import com.codeosseum.eligo.util.IntIntHashMap;
+
+/**
+ * Decision tree matchmaker over player ids. Buckets are addressed the same way as in {@link BucketTree} and are
+ * created on first use. Every player costs an entry in the lobby-wide map from ids to bucket addresses, an entry in
+ * the position map of its bucket and a slot in the array of its bucket, all of them primitive.
+ * @param <M> the match type
+ */
+final class IntDecisionTreeMatchmaker<M> implements IntMatchmaker<M> {
+    private static final int ABSENT = -1;
+
+    private final Object lock;
+
+    private final IntClassifier[] classifiers;
+
+    private final int[] strides;
+
+    private final IntBucket[] buckets;
+
+    private final List<IntBucket> createdBuckets;
+
+    private final IntIntHashMap addresses;
+
+    private final List<IntMatchFunction<M>> matchFunctions;
+
+    @Override
+    public void addPlayer(final int playerId) {
+        final int address = address(playerId);
+
+        synchronized (lock) {
+            if (addresses.containsKey(playerId)) {
+                return;
+            }
+
+            addresses.put(playerId, address);
+            bucket(address).add(playerId);
+        }
+    }
+
+    @Override
+    public void removePlayer(final int playerId) {
+        synchronized (lock) {
+            final int address = addresses.remove(playerId, ABSENT);
+
+            if (address != ABSENT) {
+                buckets[address].remove(playerId);
+            }
+        }
+    }
+
+    @Override
+    public void updatePlayer(final int playerId) {
+        final int address = address(playerId);
+
+        synchronized (lock) {
+            final int previous = addresses.get(playerId, ABSENT);
+
+            if (previous == address) {
+                return;
+            }
+
+            if (previous != ABSENT) {
+                buckets[previous].remove(playerId);
+            }
+
+            addresses.put(playerId, address);
+            bucket(address).add(playerId);
+        }
+    }
+
+    @Override
+    public Set<M> makeMatch() {
+        synchronized (lock) {
+            return visitBuckets(true);
+        }
+    }
+
+    @Override
+    public Set<M> makeMatchAndKeepPlayers() {
+        synchronized (lock) {
+            return visitBuckets(false);
+        }
+    }
+
+    IntDecisionTreeMatchmaker(final IntDecisionTreeMatchmakerBuilder<M> builder) {
+        this.lock = new Object();
+        this.classifiers = builder.getClassifiers().toArray(new IntClassifier[0]);
+        this.strides = new int[classifiers.length];
+
+        int stride = 1;
+
+        for (int i = classifiers.length - 1; i >= 0; --i) {
+            strides[i] = stride;
+
+            try {
+                stride = Math.multiplyExact(stride, classifiers[i].getClassCount());
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException("The classifiers have too many classes in total!");
+            }
+        }
+
+        this.buckets = new IntBucket[stride];
+        this.createdBuckets = new ArrayList<>();
+        this.addresses = new IntIntHashMap();
+        this.matchFunctions = new ArrayList<>(builder.getMatchFunctions());
+    }
+
+    private int address(final int playerId) {
+        int address = 0;
+
+        for (int i = 0; i < classifiers.length; ++i) {
+            address += classifiers[i].classIndex(playerId) * strides[i];
+        }
+
+        return address;
+    }
+
+    private IntBucket bucket(final int address) {
+        IntBucket bucket = buckets[address];
+
+        if (bucket == null) {
+            bucket = new IntBucket();
+
+            buckets[address] = bucket;
+            createdBuckets.add(bucket);
+        }
+
+        return bucket;
+    }
+
+    private Set<M> visitBuckets(final boolean removingPlayers) {
+        final Set<M> matches = new HashSet<>();
+
+        for (IntBucket bucket : createdBuckets) {
+            for (IntMatchFunction<M> matchFunction : matchFunctions) {
+                if (removingPlayers) {
+                    makeMatchFromBucketRemovingPlayers(matchFunction, bucket, matches);
+                } else {
+                    makeMatchFromBucketKeepingPlayers(matchFunction, bucket, matches);
+                }
+            }
+        }
+
+        return matches;
+    }
+
+    private void makeMatchFromBucketRemovingPlayers(final IntMatchFunction<M> function, final IntBucket bucket, final Set<M> matches) {
+        final IntBucketMatcher selectionContext = new IntBucketMatcher(bucket);
+
+        IntPlayerPicker playerPicker = null;
+        int matchCount = 0;
+
+        while (matchCount < function.getMaxMatchesPerBucket() && !bucket.isEmpty() && function.getPredicate().test(selectionContext)) {
+            if (playerPicker == null) {
+                playerPicker = new IntPlayerPicker(bucket);
+            }
+
+            matches.add(function.getFunction().apply(playerPicker));
+            ++matchCount;
+
+            if (playerPicker.getSelectedPlayerCount() == 0) {
+                // The bucket did not change, applying the function again would yield the same result.
+                break;
+            }
+
+            for (int i = 0; i < playerPicker.getSelectedPlayerCount(); ++i) {
+                final int playerId = playerPicker.getSelectedPlayer(i);
+
+                addresses.remove(playerId, ABSENT);
+                bucket.remove(playerId);
+            }
+
+            playerPicker.clearSelection();
+        }
+    }
+
+    private void makeMatchFromBucketKeepingPlayers(final IntMatchFunction<M> function, final IntBucket bucket, final Set<M> matches) {
+        if (bucket.isEmpty()) {
+            return;
+        }
+
+        if (function.getPredicate().test(new IntBucketMatcher(bucket))) {
+            matches.add(function.getFunction().apply(new IntPlayerPicker(bucket)));
+        }
+    }
+}
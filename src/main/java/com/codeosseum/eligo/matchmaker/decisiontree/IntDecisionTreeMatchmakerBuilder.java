@@ -0,0 +1,43 @@
+package com.codeosseum.eligo.matchmaker.decisiontree;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import com.codeosseum.eligo.classifier.IntClassifier;
+import com.codeosseum.eligo.matchmaker.IntMatchmaker;
+
+public final class IntDecisionTreeMatchmakerBuilder<M> {
+    private final List<IntClassifier> classifiers;
+
+    private final List<IntMatchFunction<M>> matchFunctions;
+
+    public IntDecisionTreeMatchmakerBuilder() {
+        this.classifiers = new ArrayList<>();
+        this.matchFunctions = new ArrayList<>();
+    }
+
+    public IntDecisionTreeMatchmakerBuilder<M> classifier(final IntClassifier classifier) {
+        this.classifiers.add(Objects.requireNonNull(classifier));
+
+        return this;
+    }
+
+    public IntDecisionTreeMatchmakerBuilder<M> matchFunction(final IntMatchFunction<M> matchFunction) {
+        this.matchFunctions.add(Objects.requireNonNull(matchFunction));
+
+        return this;
+    }
+
+    public IntMatchmaker<M> build() {
+        return new IntDecisionTreeMatchmaker<>(this);
+    }
+
+    List<IntClassifier> getClassifiers() {
+        return classifiers;
+    }
+
+    List<IntMatchFunction<M>> getMatchFunctions() {
+        return matchFunctions;
+    }
+}
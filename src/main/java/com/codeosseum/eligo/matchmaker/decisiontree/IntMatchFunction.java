@@ -0,0 +1,81 @@
+package com.codeosseum.eligo.matchmaker.decisiontree;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Primitive specialization of {@link MatchFunction} for player ids.
+ */
+public final class IntMatchFunction<M> {
+    private final Predicate<IntBucketMatcher> predicate;
+    private final Function<IntPlayerPicker, M> function;
+    private final int maxMatchesPerBucket;
+
+    public static <M> IntMatchFunctionBuilder<M> builder() {
+        return new IntMatchFunctionBuilder<>();
+    }
+
+    private IntMatchFunction(final IntMatchFunctionBuilder<M> builder) {
+        this.predicate = Optional.ofNullable(builder.predicate).orElse(ctx -> true);
+        this.function = Objects.requireNonNull(builder.function);
+        this.maxMatchesPerBucket = builder.maxMatchesPerBucket;
+    }
+
+    Predicate<IntBucketMatcher> getPredicate() {
+        return predicate;
+    }
+
+    Function<IntPlayerPicker, M> getFunction() {
+        return function;
+    }
+
+    int getMaxMatchesPerBucket() {
+        return maxMatchesPerBucket;
+    }
+
+    public static final class IntMatchFunctionBuilder<M> {
+        private Predicate<IntBucketMatcher> predicate;
+        private Function<IntPlayerPicker, M> function;
+        private int maxMatchesPerBucket = 1;
+
+        public IntMatchFunctionBuilder<M> predicate(final Predicate<IntBucketMatcher> predicate) {
+            this.predicate = Objects.requireNonNull(predicate);
+
+            return this;
+        }
+
+        public IntMatchFunctionBuilder<M> supplier(final Function<IntPlayerPicker, M> function) {
+            this.function = Objects.requireNonNull(function);
+
+            return this;
+        }
+
+        /**
+         * Same as {@link MatchFunction.MatchFunctionBuilder#drain()}.
+         */
+        public IntMatchFunctionBuilder<M> drain() {
+            this.maxMatchesPerBucket = Integer.MAX_VALUE;
+
+            return this;
+        }
+
+        /**
+         * Same as {@link MatchFunction.MatchFunctionBuilder#drain(int)}.
+         */
+        public IntMatchFunctionBuilder<M> drain(final int maxMatchesPerBucket) {
+            if (maxMatchesPerBucket <= 0) {
+                throw new IllegalArgumentException("maxMatchesPerBucket must be greater than zero!");
+            }
+
+            this.maxMatchesPerBucket = maxMatchesPerBucket;
+
+            return this;
+        }
+
+        public IntMatchFunction<M> build() {
+            return new IntMatchFunction<>(this);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.codeosseum.eligo.matchmaker.decisiontree;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntPredicate;
+
+import com.codeosseum.eligo.util.IntIntHashMap;
+
+/**
+ * Primitive specialization of {@link PlayerPicker} for player ids. Picks random players from a bucket by lazily
+ * shuffling the indices of the bucket, without copying it.
+ */
+public final class IntPlayerPicker {
+    private final IntBucket bucket;
+
+    private final IntIntHashMap displacedIndices;
+
+    private final Random random;
+
+    private int[] selectedPlayers;
+
+    private int selectedCount;
+
+    public int pickSingle() {
+        if (getAvailablePlayerCount() == 0) {
+            throw new IllegalStateException("There are no more players available!");
+        }
+
+        swap(selectedCount, randomAvailablePosition(selectedCount));
+
+        return select();
+    }
+
+    public int pickSingle(final IntPredicate playerPredicate) {
+        if (findMatching(1, playerPredicate) < 1) {
+            throw new IllegalStateException("There is no matching player available!");
+        }
+
+        return select();
+    }
+
+    public int[] pickMany(final int count) {
+        requireValidCount(count);
+
+        final int[] selected = new int[count];
+
+        for (int i = 0; i < count; ++i) {
+            selected[i] = pickSingle();
+        }
+
+        return selected;
+    }
+
+    public int[] pickMany(final int count, final IntPredicate playerPredicate) {
+        requireValidCount(count);
+
+        if (findMatching(count, playerPredicate) < count) {
+            throw new IllegalArgumentException("The number of matching players is less than the required player count.");
+        }
+
+        final int[] selected = new int[count];
+
+        for (int i = 0; i < count; ++i) {
+            selected[i] = select();
+        }
+
+        return selected;
+    }
+
+    public int getAvailablePlayerCount() {
+        return bucket.size() - selectedCount;
+    }
+
+    public int getSelectedPlayerCount() {
+        return selectedCount;
+    }
+
+    IntPlayerPicker(final IntBucket bucket) {
+        this.bucket = bucket;
+        this.displacedIndices = new IntIntHashMap();
+        this.random = ThreadLocalRandom.current();
+        this.selectedPlayers = new int[4];
+    }
+
+    int getSelectedPlayer(final int index) {
+        return selectedPlayers[index];
+    }
+
+    /**
+     * Forgets the selected players without making them available again, so that the picker can be reused
+     * for another match after the selected players have been removed from the bucket.
+     */
+    void clearSelection() {
+        selectedCount = 0;
+        displacedIndices.clear();
+    }
+
+    private int findMatching(final int count, final IntPredicate playerPredicate) {
+        int found = 0;
+
+        for (int position = selectedCount; position < bucket.size() && found < count; ++position) {
+            swap(position, randomAvailablePosition(position));
+
+            if (playerPredicate.test(playerAt(position))) {
+                swap(selectedCount + found, position);
+
+                ++found;
+            }
+        }
+
+        return found;
+    }
+
+    private int select() {
+        final int selected = playerAt(selectedCount);
+
+        if (selectedCount == selectedPlayers.length) {
+            selectedPlayers = Arrays.copyOf(selectedPlayers, selectedCount << 1);
+        }
+
+        selectedPlayers[selectedCount++] = selected;
+
+        return selected;
+    }
+
+    private int randomAvailablePosition(final int from) {
+        return from + random.nextInt(bucket.size() - from);
+    }
+
+    private int playerAt(final int position) {
+        return bucket.get(indexAt(position));
+    }
+
+    private int indexAt(final int position) {
+        return displacedIndices.get(position, position);
+    }
+
+    private void swap(final int first, final int second) {
+        if (first != second) {
+            final int firstIndex = indexAt(first);
+
+            displacedIndices.put(first, indexAt(second));
+            displacedIndices.put(second, firstIndex);
+        }
+    }
+
+    private void requireValidCount(final int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count must be greater than zero!");
+        }
+
+        if (count > getAvailablePlayerCount()) {
+            throw new IllegalArgumentException("The number of available players is less than the required player count.");
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package com.codeosseum.eligo.matchmaker.decisiontree;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import com.codeosseum.eligo.matchmaker.Matchmaker;
+import com.codeosseum.eligo.matchmaker.PlayerCodec;
+
+/**
+ * Writes the lobby of a decision tree matchmaker to a memory-mapped file and reads it back, so that a restarted node
+ * can resume matchmaking without the players having to join again. Players are stored along with the addresses of
+ * their buckets and the times they joined, hence restoring does not classify them again and preserves their waiting
+ * times. Futures returned by {@code awaitMatch} are not part of the snapshot.
+ *
+ * The file starts with a header holding the class count of every classifier, followed by the buckets in sections of
+ * the address and the player count of the bucket. Every player is written as its join time, the length of its
+ * encoding and the encoding itself, in the order of arrival.
+ */
+public final class LobbySnapshots {
+    private static final int MAGIC = 0x454C474F;
+
+    private static final int VERSION = 1;
+
+    private static final int WINDOW_SIZE = 64 << 20;
+
+    private static final int SECTION_HEADER_SIZE = Long.BYTES + Integer.BYTES;
+
+    private static final int RECORD_HEADER_SIZE = Long.BYTES + Integer.BYTES;
+
+    /**
+     * Writes the players in the lobby of the matchmaker to the specified file, replacing it atomically. Matches can
+     * be made while the snapshot is being written, since the lobby is only locked while its players are collected.
+     * @param matchmaker a matchmaker created by {@link com.codeosseum.eligo.matchmaker.Matchmakers#decisionTree()}
+     * @param codec the codec of the players
+     * @param path the file to write
+     * @return the number of players written
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if the matchmaker is not a decision tree matchmaker
+     */
+    public static <P, M> int write(final Matchmaker<P, M> matchmaker, final PlayerCodec<P> codec, final Path path) throws IOException {
+        return write(matchmaker, codec, path, WINDOW_SIZE);
+    }
+
+    /**
+     * Adds the players of the snapshot to the lobby of the matchmaker, skipping the ones already present. The
+     * matchmaker must have been configured with classifiers of the same class counts as the one the snapshot was
+     * taken of.
+     * @param matchmaker a matchmaker created by {@link com.codeosseum.eligo.matchmaker.Matchmakers#decisionTree()}
+     * @param codec the codec of the players
+     * @param path the file to read
+     * @return the number of players read
+     * @throws IOException if the file cannot be read or is not a valid snapshot
+     * @throws IllegalArgumentException if the matchmaker is not a decision tree matchmaker or its classifiers differ
+     */
+    public static <P, M> int read(final Matchmaker<P, M> matchmaker, final PlayerCodec<P> codec, final Path path) throws IOException {
+        return read(matchmaker, codec, path, WINDOW_SIZE);
+    }
+
+    static <P, M> int write(final Matchmaker<P, M> matchmaker, final PlayerCodec<P> codec, final Path path, final int windowSize) throws IOException {
+        final DecisionTreeMatchmaker<P, M> decisionTree = decisionTree(matchmaker);
+        Objects.requireNonNull(codec);
+
+        final List<Ticket<P>> tickets = decisionTree.captureTickets();
+        final ByteBuffer header = header(decisionTree.getClassCounts());
+        final Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+
+        int sectionCount = 0;
+
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final Window window = new Window(channel, FileChannel.MapMode.READ_WRITE, header.capacity(), windowSize);
+
+            int from = 0;
+
+            while (from < tickets.size()) {
+                final Bucket<P> bucket = tickets.get(from).bucket;
+
+                int to = from + 1;
+
+                while (to < tickets.size() && tickets.get(to).bucket == bucket) {
+                    ++to;
+                }
+
+                window.require(SECTION_HEADER_SIZE)
+                        .putLong(bucket.getAddress())
+                        .putInt(to - from);
+
+                for (int i = from; i < to; ++i) {
+                    writeRecord(window, codec, tickets.get(i));
+                }
+
+                ++sectionCount;
+                from = to;
+            }
+
+            window.finish();
+
+            // The header is written last, so that an interrupted write never yields a seemingly valid snapshot.
+            header.putInt(sectionCount).putInt(tickets.size()).flip();
+
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+
+            channel.force(true);
+        }
+
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        return tickets.size();
+    }
+
+    static <P, M> int read(final Matchmaker<P, M> matchmaker, final PlayerCodec<P> codec, final Path path, final int windowSize) throws IOException {
+        final DecisionTreeMatchmaker<P, M> decisionTree = decisionTree(matchmaker);
+        Objects.requireNonNull(codec);
+
+        final int[] classCounts = decisionTree.getClassCounts();
+        final long bucketCount = decisionTree.getBucketCount();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final ByteBuffer header = ByteBuffer.allocate(header(classCounts).capacity());
+
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0) {
+                    throw new EOFException("The snapshot is truncated.");
+                }
+            }
+
+            header.flip();
+
+            if (header.getInt() != MAGIC) {
+                throw new StreamCorruptedException("The file is not a lobby snapshot.");
+            }
+
+            final int version = header.getInt();
+
+            if (version != VERSION) {
+                throw new StreamCorruptedException("Unsupported snapshot version " + version + "!");
+            }
+
+            if (header.getInt() != classCounts.length) {
+                throw new IllegalArgumentException("The snapshot was taken of a lobby with a different number of classifiers!");
+            }
+
+            final int[] snapshotClassCounts = new int[classCounts.length];
+
+            for (int i = 0; i < snapshotClassCounts.length; ++i) {
+                snapshotClassCounts[i] = header.getInt();
+            }
+
+            if (!Arrays.equals(snapshotClassCounts, classCounts)) {
+                throw new IllegalArgumentException("The snapshot was taken of a lobby with different class counts!");
+            }
+
+            final int sectionCount = header.getInt();
+            final int playerCount = header.getInt();
+
+            if (sectionCount < 0 || playerCount < 0) {
+                throw new StreamCorruptedException("The snapshot header is corrupted.");
+            }
+
+            final List<P> players = new ArrayList<>(playerCount);
+            final long[] addresses = new long[playerCount];
+            final long[] enqueuedAts = new long[playerCount];
+
+            final Window window = new Window(channel, FileChannel.MapMode.READ_ONLY, header.capacity(), windowSize);
+
+            for (int section = 0; section < sectionCount; ++section) {
+                final ByteBuffer sectionHeader = window.require(SECTION_HEADER_SIZE);
+                final long address = sectionHeader.getLong();
+                final int count = sectionHeader.getInt();
+
+                if (address < 0 || address >= bucketCount || count < 0 || count > playerCount - players.size()) {
+                    throw new StreamCorruptedException("The snapshot contains a corrupted bucket.");
+                }
+
+                for (int i = 0; i < count; ++i) {
+                    addresses[players.size()] = address;
+                    enqueuedAts[players.size()] = readRecord(window, codec, players);
+                }
+            }
+
+            if (players.size() != playerCount) {
+                throw new StreamCorruptedException("The snapshot contains fewer players than its header states.");
+            }
+
+            decisionTree.restorePlayers(players, addresses, enqueuedAts);
+
+            return playerCount;
+        }
+    }
+
+    private static <P> void writeRecord(final Window window, final PlayerCodec<P> codec, final Ticket<P> ticket) throws IOException {
+        int required = RECORD_HEADER_SIZE;
+
+        while (true) {
+            final ByteBuffer buffer = window.require(required);
+            final int start = buffer.position();
+
+            buffer.putLong(ticket.enqueuedAt).putInt(0);
+
+            try {
+                codec.encode(ticket.player, buffer);
+            } catch (BufferOverflowException e) {
+                // Retried from the start of the record, within a window at least twice as large.
+                buffer.position(start);
+                required = Math.max(required, buffer.limit() - start) * 2;
+
+                continue;
+            }
+
+            buffer.putInt(start + Long.BYTES, buffer.position() - start - RECORD_HEADER_SIZE);
+
+            return;
+        }
+    }
+
+    /**
+     * Decodes the next player into the list.
+     * @return the time the player joined the lobby
+     */
+    private static <P> long readRecord(final Window window, final PlayerCodec<P> codec, final List<P> players) throws IOException {
+        final ByteBuffer recordHeader = window.require(RECORD_HEADER_SIZE);
+        final long enqueuedAt = recordHeader.getLong();
+        final int length = recordHeader.getInt();
+
+        if (length < 0) {
+            throw new StreamCorruptedException("The snapshot contains a corrupted player.");
+        }
+
+        final ByteBuffer buffer = window.require(length);
+        final int limit = buffer.limit();
+        final int end = buffer.position() + length;
+
+        buffer.limit(end);
+        players.add(codec.decode(buffer));
+        buffer.limit(limit).position(end);
+
+        return enqueuedAt;
+    }
+
+    private static ByteBuffer header(final int[] classCounts) {
+        final ByteBuffer header = ByteBuffer.allocate(Integer.BYTES * (5 + classCounts.length));
+
+        header.putInt(MAGIC).putInt(VERSION).putInt(classCounts.length);
+
+        for (int classCount : classCounts) {
+            header.putInt(classCount);
+        }
+
+        return header;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <P, M> DecisionTreeMatchmaker<P, M> decisionTree(final Matchmaker<P, M> matchmaker) {
+        if (!(matchmaker instanceof DecisionTreeMatchmaker)) {
+            throw new IllegalArgumentException("Only the lobby of a decision tree matchmaker can be snapshotted!");
+        }
+
+        return (DecisionTreeMatchmaker<P, M>) matchmaker;
+    }
+
+    /**
+     * A sliding region of the file mapped into memory. Files larger than the window are processed by mapping the
+     * next region once the current one is exhausted.
+     */
+    private static final class Window {
+        private final FileChannel channel;
+
+        private final FileChannel.MapMode mode;
+
+        private final int windowSize;
+
+        private MappedByteBuffer buffer;
+
+        private long base;
+
+        private Window(final FileChannel channel, final FileChannel.MapMode mode, final long position, final int windowSize) {
+            this.channel = channel;
+            this.mode = mode;
+            this.windowSize = windowSize;
+            this.base = position;
+        }
+
+        /**
+         * Returns the mapped buffer positioned at the current offset of the file, having at least the specified
+         * number of remaining bytes.
+         */
+        private ByteBuffer require(final int bytes) throws IOException {
+            if (buffer != null && buffer.remaining() >= bytes) {
+                return buffer;
+            }
+
+            final long position = position();
+
+            long size = Math.max(windowSize, bytes);
+
+            if (mode == FileChannel.MapMode.READ_ONLY) {
+                size = Math.min(size, channel.size() - position);
+
+                if (size < bytes) {
+                    throw new EOFException("The snapshot is truncated.");
+                }
+            } else if (buffer != null) {
+                buffer.force();
+            }
+
+            buffer = channel.map(mode, position, size);
+            base = position;
+
+            return buffer;
+        }
+
+        private long position() {
+            return buffer == null ? base : base + buffer.position();
+        }
+
+        /**
+         * Flushes the written bytes and trims the file to their end.
+         */
+        private void finish() throws IOException {
+            if (buffer != null) {
+                buffer.force();
+            }
+
+            channel.truncate(position());
+        }
+    }
+
+    private LobbySnapshots() {
+        // Cannot be constructed.
+    }
+}
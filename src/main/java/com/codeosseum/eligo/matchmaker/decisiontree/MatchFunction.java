@@ -8,6 +8,7 @@ import java.util.function.Predicate;
 public final class MatchFunction<P, M> {
     private final Predicate<BucketMatcher<P>> predicate;
     private final Function<PlayerPicker<P>, M> function;
+    private final int maxMatchesPerBucket;
 
     public static <P, M> MatchFunctionBuilder<P, M> builder() {
         return new MatchFunctionBuilder<>();
@@ -16,6 +17,7 @@ public final class MatchFunction<P, M> {
     private MatchFunction(final MatchFunctionBuilder<P, M> builder) {
         this.predicate = Optional.ofNullable(builder.predicate).orElse(ctx -> true);
         this.function = Objects.requireNonNull(builder.function);
+        this.maxMatchesPerBucket = builder.maxMatchesPerBucket;
     }
 
     Predicate<BucketMatcher<P>> getPredicate() {
@@ -26,9 +28,14 @@ public final class MatchFunction<P, M> {
         return function;
     }
 
+    int getMaxMatchesPerBucket() {
+        return maxMatchesPerBucket;
+    }
+
     public static final class MatchFunctionBuilder<P, M> {
         private Predicate<BucketMatcher<P>> predicate;
         private Function<PlayerPicker<P>, M> function;
+        private int maxMatchesPerBucket = 1;
 
         public MatchFunctionBuilder<P, M> predicate(final Predicate<BucketMatcher<P>> predicate) {
             this.predicate = Objects.requireNonNull(predicate);
@@ -42,6 +49,29 @@ public final class MatchFunction<P, M> {
             return this;
         }
 
+        /**
+         * Makes the function drain buckets: when making matches and removing players, the function is applied to a
+         * bucket repeatedly until its predicate fails. When players are kept, at most one match is made per bucket.
+         */
+        public MatchFunctionBuilder<P, M> drain() {
+            this.maxMatchesPerBucket = Integer.MAX_VALUE;
+
+            return this;
+        }
+
+        /**
+         * Same as {@link #drain()}, but makes at most the specified number of matches from a bucket per call.
+         */
+        public MatchFunctionBuilder<P, M> drain(final int maxMatchesPerBucket) {
+            if (maxMatchesPerBucket <= 0) {
+                throw new IllegalArgumentException("maxMatchesPerBucket must be greater than zero!");
+            }
+
+            this.maxMatchesPerBucket = maxMatchesPerBucket;
+
+            return this;
+        }
+
         public MatchFunction<P, M> build() {
             return new MatchFunction<>(this);
         }
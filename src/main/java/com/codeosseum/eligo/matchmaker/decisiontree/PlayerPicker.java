@@ -1,89 +1,77 @@
 package com.codeosseum.eligo.matchmaker.decisiontree;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Predicate;
 
-import static java.util.stream.Collectors.toList;
+import com.codeosseum.eligo.util.IntIntHashMap;
 
+/**
+ * Picks random players from a bucket. Instead of copying and shuffling the whole bucket, the picker lazily performs
+ * a Fisher-Yates shuffle over the indices of the bucket, recording only the displaced indices. Hence picking a
+ * player takes constant time and the memory used is proportional to the number of examined players.
+ *
+ * The first {@code selectedCount} shuffled positions hold the selected players, the rest are available.
+ */
 public final class PlayerPicker<P> {
-    private final Set<P> selectedPlayers;
+    private final List<P> players;
 
-    private final List<P> availablePlayers;
+    private final IntIntHashMap displacedIndices;
+
+    private final List<P> selectedPlayers;
+
+    private final Random random;
 
     public P pickSingle() {
-        if (availablePlayers.isEmpty()) {
+        if (getAvailablePlayerCount() == 0) {
             throw new IllegalStateException("There are no more players available!");
         }
 
-        final P selected = availablePlayers.remove(availablePlayers.size() - 1);
-
-        selectedPlayers.add(selected);
+        swap(selectedPlayers.size(), randomAvailablePosition(selectedPlayers.size()));
 
-        return selected;
+        return select();
     }
 
     public P pickSingle(final Predicate<P> playerPredicate) {
-        final P selected = availablePlayers.stream()
-                .filter(playerPredicate)
-                .findFirst()
-                .orElseThrow(() -> new IllegalStateException("There is no matching player available!"));
-
-        availablePlayers.remove(selected);
-
-        selectedPlayers.add(selected);
+        if (findMatching(1, playerPredicate) < 1) {
+            throw new IllegalStateException("There is no matching player available!");
+        }
 
-        return selected;
+        return select();
     }
 
     public List<P> pickMany(final int count) {
-        if (count <= 0) {
-            throw new IllegalArgumentException("count must be greater than zero!");
-        }
-
-        if (count > availablePlayers.size()) {
-            throw new IllegalArgumentException("The number of available players is less than the required player count.");
-        }
-
-        final List<P> selected = new ArrayList<>(availablePlayers.subList(0, count));
+        requireValidCount(count);
 
-        availablePlayers.removeAll(selected);
+        final List<P> selected = new ArrayList<>(count);
 
-        selectedPlayers.addAll(selected);
+        for (int i = 0; i < count; ++i) {
+            selected.add(pickSingle());
+        }
 
         return selected;
     }
 
     public List<P> pickMany(final int count, final Predicate<P> playerPredicate) {
-        if (count <= 0) {
-            throw new IllegalArgumentException("count must be greater than zero!");
-        }
+        requireValidCount(count);
 
-        if (count > availablePlayers.size()) {
-            throw new IllegalArgumentException("The number of available players is less than the required player count.");
-        }
-
-        final List<P> selected = availablePlayers.stream()
-                .filter(playerPredicate)
-                .limit(count)
-                .collect(toList());
-
-        if (selected.size() < count) {
+        if (findMatching(count, playerPredicate) < count) {
             throw new IllegalArgumentException("The number of matching players is less than the required player count.");
         }
 
-        availablePlayers.removeAll(selected);
+        final List<P> selected = new ArrayList<>(count);
 
-        selectedPlayers.addAll(selected);
+        for (int i = 0; i < count; ++i) {
+            selected.add(select());
+        }
 
         return selected;
     }
 
     public int getAvailablePlayerCount() {
-        return availablePlayers.size();
+        return players.size() - selectedPlayers.size();
     }
 
     public int getSelectedPlayerCount() {
@@ -91,21 +79,92 @@ public final class PlayerPicker<P> {
     }
 
     public void reset() {
-        availablePlayers.addAll(selectedPlayers);
+        // Every pick is random, hence there is no need to restore the original order.
+        selectedPlayers.clear();
+    }
+
+    PlayerPicker(final List<P> players) {
+        this.players = players;
+        this.displacedIndices = new IntIntHashMap();
+        this.selectedPlayers = new ArrayList<>();
+        this.random = ThreadLocalRandom.current();
+    }
 
+    List<P> getSelectedPlayers() {
+        return selectedPlayers;
+    }
+
+    /**
+     * Forgets the selected players without making them available again, so that the picker can be reused
+     * for another match after the selected players have been removed from the bucket.
+     */
+    void clearSelection() {
         selectedPlayers.clear();
+        displacedIndices.clear();
+    }
+
+    /**
+     * Moves up to the specified number of available players matching the predicate right after the selected ones,
+     * examining the available players in random order.
+     * @return the number of matching players found
+     */
+    private int findMatching(final int count, final Predicate<P> playerPredicate) {
+        final int selectedCount = selectedPlayers.size();
+
+        int found = 0;
+
+        for (int position = selectedCount; position < players.size() && found < count; ++position) {
+            swap(position, randomAvailablePosition(position));
+
+            if (playerPredicate.test(playerAt(position))) {
+                swap(selectedCount + found, position);
 
-        Collections.shuffle(availablePlayers);
+                ++found;
+            }
+        }
+
+        return found;
     }
 
-    PlayerPicker(final Set<P> players) {
-        this.selectedPlayers = new HashSet<>();
-        this.availablePlayers = new ArrayList<>(players);
+    /**
+     * Selects the first available player.
+     */
+    private P select() {
+        final P selected = playerAt(selectedPlayers.size());
+
+        selectedPlayers.add(selected);
 
-        Collections.shuffle(this.availablePlayers);
+        return selected;
     }
 
-    Set<P> getSelectedPlayers() {
-        return selectedPlayers;
+    private int randomAvailablePosition(final int from) {
+        return from + random.nextInt(players.size() - from);
+    }
+
+    private P playerAt(final int position) {
+        return players.get(indexAt(position));
+    }
+
+    private int indexAt(final int position) {
+        return displacedIndices.get(position, position);
+    }
+
+    private void swap(final int first, final int second) {
+        if (first != second) {
+            final int firstIndex = indexAt(first);
+
+            displacedIndices.put(first, indexAt(second));
+            displacedIndices.put(second, firstIndex);
+        }
+    }
+
+    private void requireValidCount(final int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count must be greater than zero!");
+        }
+
+        if (count > getAvailablePlayerCount()) {
+            throw new IllegalArgumentException("The number of available players is less than the required player count.");
+        }
     }
 }
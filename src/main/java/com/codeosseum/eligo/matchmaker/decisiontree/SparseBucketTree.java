@@ -0,0 +1,47 @@
+package com.codeosseum.eligo.matchmaker.decisiontree;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.codeosseum.eligo.classifier.Classifier;
+
+/**
+ * Bucket tree which creates buckets on first use and reclaims them once they become empty. Memory usage and the
+ * cost of making matches scale with the number of occupied buckets instead of the number of possible ones.
+ * @param <P> the player type
+ */
+final class SparseBucketTree<P> extends BucketTree<P> {
+    // Concurrent, so that empty buckets can be reclaimed while iterating over the buckets.
+    private final Map<Long, Bucket<P>> buckets;
+
+    @Override
+    Bucket<P> bucket(final long address) {
+        return buckets.computeIfAbsent(address, this::newBucket);
+    }
+
+    @Override
+    Bucket<P> find(final long address) {
+        return buckets.get(address);
+    }
+
+    @Override
+    Iterable<Bucket<P>> buckets() {
+        return buckets.values();
+    }
+
+    @Override
+    void release(final Bucket<P> bucket) {
+        if (bucket.isEmpty()) {
+            bucket.retire();
+
+            buckets.remove(bucket.getAddress(), bucket);
+        }
+    }
+
+    SparseBucketTree(final List<Classifier<P>> classifiers, final TrackedPredicates<P> trackedPredicates) {
+        super(classifiers, trackedPredicates);
+
+        this.buckets = new ConcurrentHashMap<>();
+    }
+}
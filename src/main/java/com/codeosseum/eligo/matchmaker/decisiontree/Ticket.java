@@ -0,0 +1,77 @@
+package com.codeosseum.eligo.matchmaker.decisiontree;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Entry of a player waiting in the lobby.
+ * @param <P> the player type
+ */
+final class Ticket<P> {
+    final P player;
+
+    final Bucket<P> bucket;
+
+    /**
+     * The time the player joined the lobby, in milliseconds.
+     */
+    final long enqueuedAt;
+
+    /**
+     * The index of the ticket within its bucket, guarded by the monitor of the bucket.
+     */
+    int position;
+
+    /**
+     * The neighbours of the ticket in the arrival order of its bucket, guarded by the monitor of the bucket.
+     */
+    Ticket<P> previous;
+
+    Ticket<P> next;
+
+    /**
+     * The results of the tracked predicates when the ticket was added to its bucket, guarded by the monitor of the
+     * bucket. Only present if predicates are tracked.
+     */
+    boolean[] matchedPredicates;
+
+    private CompletableFuture<?> future;
+
+    private boolean closed;
+
+    Ticket(final P player, final Bucket<P> bucket) {
+        this(player, bucket, null, 0);
+    }
+
+    Ticket(final P player, final Bucket<P> bucket, final CompletableFuture<?> future, final long enqueuedAt) {
+        this.player = player;
+        this.bucket = bucket;
+        this.future = future;
+        this.enqueuedAt = enqueuedAt;
+    }
+
+    /**
+     * Attaches the specified future to the ticket, unless it already has one.
+     * @return the future of the ticket, or {@code null} if the ticket has already left the lobby
+     */
+    synchronized CompletableFuture<?> attach(final CompletableFuture<?> candidate) {
+        if (closed) {
+            return null;
+        }
+
+        if (future == null) {
+            future = candidate;
+        }
+
+        return future;
+    }
+
+    /**
+     * Marks the ticket as having left the lobby.
+     * @return the future to complete, or {@code null} if nobody awaits the match of the player
+     */
+    synchronized CompletableFuture<?> close() {
+        closed = true;
+
+        return future;
+    }
+}
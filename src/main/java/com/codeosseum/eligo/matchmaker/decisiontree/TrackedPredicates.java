@@ -0,0 +1,64 @@
+package com.codeosseum.eligo.matchmaker.decisiontree;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Registry of the named player predicates whose matching players are counted by every bucket.
+ * @param <P> the player type
+ */
+final class TrackedPredicates<P> {
+    static final int UNTRACKED = -1;
+
+    private final List<Predicate<P>> predicates;
+
+    private final Map<String, Integer> indicesByName;
+
+    private final Map<Predicate<P>, Integer> indicesByPredicate;
+
+    TrackedPredicates() {
+        this.predicates = new ArrayList<>();
+        this.indicesByName = new HashMap<>();
+        this.indicesByPredicate = new IdentityHashMap<>();
+    }
+
+    void register(final String name, final Predicate<P> predicate) {
+        Objects.requireNonNull(name);
+        Objects.requireNonNull(predicate);
+
+        if (indicesByName.containsKey(name)) {
+            throw new IllegalArgumentException("A player predicate is already registered with the name " + name + "!");
+        }
+
+        indicesByName.put(name, predicates.size());
+        indicesByPredicate.putIfAbsent(predicate, predicates.size());
+        predicates.add(predicate);
+    }
+
+    int size() {
+        return predicates.size();
+    }
+
+    boolean test(final int index, final P player) {
+        return predicates.get(index).test(player);
+    }
+
+    int indexOf(final String name) {
+        final Integer index = indicesByName.get(name);
+
+        if (index == null) {
+            throw new IllegalArgumentException("There is no player predicate registered with the name " + name + "!");
+        }
+
+        return index;
+    }
+
+    int indexOf(final Predicate<P> predicate) {
+        return indicesByPredicate.getOrDefault(predicate, UNTRACKED);
+    }
+}
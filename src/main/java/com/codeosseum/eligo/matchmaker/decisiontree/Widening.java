@@ -0,0 +1,53 @@
+package com.codeosseum.eligo.matchmaker.decisiontree;
+
+import java.time.Duration;
+
+/**
+ * Makes players who have been waiting for long visible to the buckets of adjacent classes of a classifier. A player
+ * who has been waiting for at least the n-th threshold is visible to the buckets whose class index of the classifier
+ * differs by at most n, every other class index being the same.
+ */
+final class Widening {
+    private final int classifierIndex;
+
+    private final long[] thresholds;
+
+    Widening(final int classifierIndex, final Duration... thresholds) {
+        if (classifierIndex < 0) {
+            throw new IllegalArgumentException("The classifier index must not be negative!");
+        }
+
+        if (thresholds.length == 0) {
+            throw new IllegalArgumentException("At least one threshold must be specified!");
+        }
+
+        this.classifierIndex = classifierIndex;
+        this.thresholds = new long[thresholds.length];
+
+        for (int i = 0; i < thresholds.length; ++i) {
+            this.thresholds[i] = thresholds[i].toMillis();
+
+            if (this.thresholds[i] <= 0 || (i > 0 && this.thresholds[i] <= this.thresholds[i - 1])) {
+                throw new IllegalArgumentException("The thresholds must be positive and strictly increasing!");
+            }
+        }
+    }
+
+    int getClassifierIndex() {
+        return classifierIndex;
+    }
+
+    /**
+     * Returns the largest difference of class indices a player can ever be visible across.
+     */
+    int getMaxDistance() {
+        return thresholds.length;
+    }
+
+    /**
+     * Returns whether the player of the ticket is visible to buckets at the specified distance at the given time.
+     */
+    boolean isVisible(final Ticket<?> ticket, final int distance, final long now) {
+        return now - ticket.enqueuedAt >= thresholds[distance - 1];
+    }
+}
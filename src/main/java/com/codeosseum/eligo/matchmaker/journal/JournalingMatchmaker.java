@@ -0,0 +1,239 @@
+package com.codeosseum.eligo.matchmaker.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import com.codeosseum.eligo.matchmaker.Matchmaker;
+
+/**
+ * Matchmaker recording the players joining and leaving the wrapped matchmaker in a journal. Every operation is
+ * recorded and applied as a single step under the lock of the stripe of its players, so the operations of the same
+ * player are recorded in the order they are applied, while the operations of other players proceed concurrently.
+ * Waiting for the records to become durable happens afterwards, sharing the {@code fsync} with the concurrent callers.
+ *
+ * Ticks exclude every other operation: the wrapped matchmaker removes the matched players during the tick, before
+ * their removals can be recorded, so a player joining again in the meantime would be recorded before its removal.
+ * @param <P> the player type
+ * @param <M> the match type
+ */
+final class JournalingMatchmaker<P, M> implements Matchmaker<P, M> {
+    private static final int STRIPE_COUNT = Long.SIZE;
+
+    private final MatchmakerJournal<P> journal;
+
+    private final Matchmaker<P, M> matchmaker;
+
+    private final Function<? super M, ? extends Collection<? extends P>> playersOfMatch;
+
+    private final Lock[] stripeLocks;
+
+    @Override
+    public void addPlayer(final P player) {
+        final long stripes = lock(stripeOf(player));
+        final long sequence;
+
+        try {
+            sequence = journal.append(MatchmakerJournal.ADDITION, player);
+            matchmaker.addPlayer(player);
+        } finally {
+            unlock(stripes);
+        }
+
+        sync(sequence);
+    }
+
+    @Override
+    public void addPlayers(final Collection<? extends P> players) {
+        final long stripes = lock(stripesOf(players));
+        final long sequence;
+
+        try {
+            sequence = appendAll(MatchmakerJournal.ADDITION, players);
+            matchmaker.addPlayers(players);
+        } finally {
+            unlock(stripes);
+        }
+
+        sync(sequence);
+    }
+
+    @Override
+    public CompletableFuture<M> awaitMatch(final P player) {
+        final long stripes = lock(stripeOf(player));
+        final long sequence;
+        final CompletableFuture<M> future;
+
+        try {
+            sequence = journal.append(MatchmakerJournal.ADDITION, player);
+            future = matchmaker.awaitMatch(player);
+        } finally {
+            unlock(stripes);
+        }
+
+        sync(sequence);
+
+        return future;
+    }
+
+    @Override
+    public void removePlayer(final P player) {
+        final long stripes = lock(stripeOf(player));
+        final long sequence;
+
+        try {
+            sequence = journal.append(MatchmakerJournal.REMOVAL, player);
+            matchmaker.removePlayer(player);
+        } finally {
+            unlock(stripes);
+        }
+
+        sync(sequence);
+    }
+
+    @Override
+    public void removePlayers(final Collection<? extends P> players) {
+        final long stripes = lock(stripesOf(players));
+        final long sequence;
+
+        try {
+            sequence = appendAll(MatchmakerJournal.REMOVAL, players);
+            matchmaker.removePlayers(players);
+        } finally {
+            unlock(stripes);
+        }
+
+        sync(sequence);
+    }
+
+    @Override
+    public void updatePlayer(final P player) {
+        final long stripes = lock(stripeOf(player));
+        final long sequence;
+
+        try {
+            sequence = journal.append(MatchmakerJournal.UPDATE, player);
+            matchmaker.updatePlayer(player);
+        } finally {
+            unlock(stripes);
+        }
+
+        sync(sequence);
+    }
+
+    @Override
+    public Set<M> makeMatch() {
+        final Lock exclusive = journal.getOperationLock().writeLock();
+        final Set<M> matches;
+
+        long sequence = 0;
+
+        // The removals are recorded before any other operation, so that replaying them cannot reorder the lobby.
+        exclusive.lock();
+
+        try {
+            matches = matchmaker.makeMatch();
+
+            for (M match : matches) {
+                sequence = Math.max(sequence, appendAll(MatchmakerJournal.REMOVAL, playersOfMatch.apply(match)));
+            }
+        } finally {
+            exclusive.unlock();
+        }
+
+        sync(sequence);
+
+        return matches;
+    }
+
+    @Override
+    public Set<M> makeMatchAndKeepPlayers() {
+        return matchmaker.makeMatchAndKeepPlayers();
+    }
+
+    JournalingMatchmaker(final MatchmakerJournal<P> journal, final Matchmaker<P, M> matchmaker,
+                         final Function<? super M, ? extends Collection<? extends P>> playersOfMatch) {
+        this.journal = journal;
+        this.matchmaker = matchmaker;
+        this.playersOfMatch = playersOfMatch;
+        this.stripeLocks = new Lock[STRIPE_COUNT];
+
+        for (int i = 0; i < STRIPE_COUNT; ++i) {
+            stripeLocks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Acquires the shared side of the operation lock of the journal, then the locks of the specified stripes in
+     * ascending order, so that operations locking overlapping stripes cannot deadlock.
+     * @param stripes the set of stripes, one bit each
+     * @return the stripes, for {@link #unlock(long)}
+     */
+    private long lock(final long stripes) {
+        final ReadWriteLock operationLock = journal.getOperationLock();
+
+        operationLock.readLock().lock();
+
+        for (long remaining = stripes; remaining != 0; remaining &= remaining - 1) {
+            stripeLocks[Long.numberOfTrailingZeros(remaining)].lock();
+        }
+
+        return stripes;
+    }
+
+    private void unlock(final long stripes) {
+        for (long remaining = stripes; remaining != 0; remaining &= remaining - 1) {
+            stripeLocks[Long.numberOfTrailingZeros(remaining)].unlock();
+        }
+
+        journal.getOperationLock().readLock().unlock();
+    }
+
+    private long stripesOf(final Collection<? extends P> players) {
+        long stripes = 0;
+
+        for (P player : players) {
+            stripes |= stripeOf(player);
+        }
+
+        return stripes;
+    }
+
+    private static long stripeOf(final Object player) {
+        final int hash = player.hashCode();
+
+        return 1L << ((hash ^ (hash >>> 16)) & (STRIPE_COUNT - 1));
+    }
+
+    /**
+     * Appends a record of every player.
+     * @return the sequence number of the last record, or zero if there are no players
+     */
+    private long appendAll(final byte type, final Collection<? extends P> players) {
+        long sequence = 0;
+
+        for (P player : players) {
+            sequence = journal.append(type, player);
+        }
+
+        return sequence;
+    }
+
+    private void sync(final long sequence) {
+        if (sequence == 0) {
+            return;
+        }
+
+        try {
+            journal.sync(sequence);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
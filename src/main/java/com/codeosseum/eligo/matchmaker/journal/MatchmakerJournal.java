@@ -0,0 +1,517 @@
+package com.codeosseum.eligo.matchmaker.journal;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+import com.codeosseum.eligo.matchmaker.Matchmaker;
+import com.codeosseum.eligo.matchmaker.PlayerCodec;
+
+/**
+ * Write-ahead journal of the players joining and leaving a lobby, so that the lobby can be rebuilt after a restart
+ * from the latest snapshot and the operations recorded since.
+ *
+ * The journal is a directory of segment files, each holding records of the length, the CRC32 checksum, the type and
+ * the encoding of a player. Records are appended to an in-memory batch, and the batch is written and forced to the
+ * disk by whichever caller needs it to be durable first. Callers arriving while the disk is busy join the next batch,
+ * hence concurrent callers share a single {@code fsync} instead of issuing one each.
+ * @param <P> the player type
+ */
+public final class MatchmakerJournal<P> implements Closeable {
+    static final byte ADDITION = 1;
+
+    static final byte REMOVAL = 2;
+
+    static final byte UPDATE = 3;
+
+    private static final String SEGMENT_PREFIX = "journal-";
+
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private static final int RECORD_HEADER_SIZE = Integer.BYTES + Integer.BYTES;
+
+    private static final int INITIAL_BATCH_SIZE = 64 << 10;
+
+    /**
+     * The largest record accepted, so that a corrupted length cannot make the replay allocate arbitrary amounts of
+     * memory.
+     */
+    private static final int MAX_RECORD_SIZE = 16 << 20;
+
+    private final Object lock;
+
+    private final ReadWriteLock operationLock;
+
+    private final Path directory;
+
+    private final PlayerCodec<P> codec;
+
+    private final CRC32 checksum;
+
+    private final List<Path> replayableSegments;
+
+    private FileChannel channel;
+
+    private long segmentNumber;
+
+    private ByteBuffer batch;
+
+    private ByteBuffer spareBatch;
+
+    private long appendedSequence;
+
+    private long durableSequence;
+
+    private long syncCount;
+
+    private boolean flushing;
+
+    private boolean closed;
+
+    private IOException failure;
+
+    /**
+     * Opens the journal in the specified directory, creating the directory if necessary. Operations are recorded in
+     * a new segment, while the existing segments are kept for {@link #replay(Matchmaker)}.
+     * @param directory the directory of the segment files
+     * @param codec the codec of the players
+     * @return the journal
+     * @throws IOException if the directory cannot be read or the new segment cannot be created
+     */
+    public static <P> MatchmakerJournal<P> open(final Path directory, final PlayerCodec<P> codec) throws IOException {
+        Files.createDirectories(directory);
+
+        return new MatchmakerJournal<>(directory, Objects.requireNonNull(codec), segments(directory));
+    }
+
+    /**
+     * Returns a matchmaker recording the players joining and leaving the specified matchmaker in this journal. The
+     * operations are durable by the time the methods of the returned matchmaker return. Every operation is recorded
+     * and applied as a single step, hence the records of every player are replayed in the order its operations were
+     * applied, and {@link #checkpoint(Checkpoint)} never separates a record from its application. Operations of
+     * different players run concurrently. The players of the matches made by {@code makeMatch} are recorded as
+     * removals after the tick, thus joining and leaving players wait for the running tick, and a crash before the
+     * removals are durable might return the players of the last matches to the lobby.
+     *
+     * Failures to write the journal are thrown as {@link java.io.UncheckedIOException}, after which the journal
+     * rejects every further operation.
+     * @param matchmaker the matchmaker to record the operations of
+     * @param playersOfMatch returns the players of a match
+     * @return the journaling matchmaker
+     */
+    public <M> Matchmaker<P, M> journaling(final Matchmaker<P, M> matchmaker, final Function<? super M, ? extends Collection<? extends P>> playersOfMatch) {
+        return new JournalingMatchmaker<>(this, Objects.requireNonNull(matchmaker), Objects.requireNonNull(playersOfMatch));
+    }
+
+    /**
+     * Applies the operations recorded in the segments which existed when the journal was opened, in the order they
+     * were recorded. A record torn by a crash ends the replay of its segment. Consecutive additions are applied as a
+     * batch.
+     * @param matchmaker the matchmaker to apply the operations to, usually restored from the latest snapshot
+     * @return the number of operations applied
+     * @throws IOException if a segment cannot be read
+     */
+    public int replay(final Matchmaker<P, ?> matchmaker) throws IOException {
+        final List<P> additions = new ArrayList<>();
+
+        int operationCount = 0;
+
+        for (Path segment : replayableSegments()) {
+            try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment)))) {
+                long remaining = Files.size(segment);
+                byte[] record;
+
+                while ((record = readRecord(input, remaining)) != null) {
+                    remaining -= RECORD_HEADER_SIZE + record.length;
+
+                    final P player = codec.decode(ByteBuffer.wrap(record, 1, record.length - 1).slice());
+
+                    if (record[0] == ADDITION) {
+                        additions.add(player);
+                    } else if (record[0] == UPDATE) {
+                        applyAdditions(matchmaker, additions);
+                        matchmaker.updatePlayer(player);
+                    } else {
+                        applyAdditions(matchmaker, additions);
+                        matchmaker.removePlayer(player);
+                    }
+
+                    ++operationCount;
+                }
+            }
+        }
+
+        applyAdditions(matchmaker, additions);
+
+        return operationCount;
+    }
+
+    /**
+     * Starts a new segment, runs the checkpoint, then deletes the segments preceding the new one. The checkpoint is
+     * expected to write a snapshot of the lobby, for example using
+     * {@link com.codeosseum.eligo.matchmaker.decisiontree.LobbySnapshots#write}. The segment is switched while no
+     * journaling matchmaker is between recording and applying an operation, hence the snapshot covers every record of
+     * the deleted segments. Operations recorded while the checkpoint is running end up in the new segment, and
+     * replaying them on top of the snapshot yields the same lobby, since additions of present and removals of absent
+     * players have no effect.
+     * @param checkpoint writes the snapshot
+     * @throws IOException if the segments cannot be rotated or the checkpoint fails, in which case no segment is
+     *                     deleted
+     */
+    public void checkpoint(final Checkpoint checkpoint) throws IOException {
+        final long firstKeptSegment;
+
+        operationLock.writeLock().lock();
+
+        try {
+            firstKeptSegment = rotate();
+        } finally {
+            operationLock.writeLock().unlock();
+        }
+
+        checkpoint.run();
+
+        for (Path segment : segments(directory)) {
+            if (segmentNumber(segment) < firstKeptSegment) {
+                Files.delete(segment);
+            }
+        }
+
+        synchronized (lock) {
+            replayableSegments.clear();
+        }
+    }
+
+    /**
+     * Writes the pending records and closes the current segment.
+     * @throws IOException if the pending records cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+
+            awaitIdle();
+
+            try {
+                if (failure == null) {
+                    writeBatch(batch);
+                    durableSequence = appendedSequence;
+                }
+            } finally {
+                closed = true;
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Appends an operation to the pending batch.
+     * @return the sequence number of the record, which can be passed to {@link #sync(long)}
+     */
+    long append(final byte type, final P player) {
+        synchronized (lock) {
+            if (closed) {
+                throw new IllegalStateException("The journal has been closed!");
+            }
+
+            final int start = batch.position();
+
+            while (true) {
+                try {
+                    batch.putInt(0).putInt(0).put(type);
+                    codec.encode(player, batch);
+
+                    break;
+                } catch (BufferOverflowException e) {
+                    batch.position(start);
+                    batch = grow(batch);
+                }
+            }
+
+            final int end = batch.position();
+
+            if (end - start - RECORD_HEADER_SIZE > MAX_RECORD_SIZE) {
+                batch.position(start);
+
+                throw new IllegalArgumentException("The encoding of the player exceeds the maximum record size!");
+            }
+
+            checksum.reset();
+            checksum.update(batch.array(), start + RECORD_HEADER_SIZE, end - start - RECORD_HEADER_SIZE);
+
+            batch.putInt(start, end - start - RECORD_HEADER_SIZE);
+            batch.putInt(start + Integer.BYTES, (int) checksum.getValue());
+
+            return ++appendedSequence;
+        }
+    }
+
+    /**
+     * Returns once the record of the specified sequence number, and every record preceding it, has been forced to
+     * the disk. If no other caller is writing, then the caller writes the whole pending batch, otherwise it waits
+     * for the running write, whose completion might already cover the record.
+     * @param sequence the sequence number returned by {@link #append(byte, Object)}
+     * @throws IOException if the journal cannot be written
+     */
+    void sync(final long sequence) throws IOException {
+        final ByteBuffer written;
+        final long writtenSequence;
+
+        synchronized (lock) {
+            while (true) {
+                if (failure != null) {
+                    throw new IOException("The journal has failed previously.", failure);
+                }
+
+                if (durableSequence >= sequence) {
+                    return;
+                }
+
+                if (!flushing) {
+                    break;
+                }
+
+                awaitNotification();
+            }
+
+            flushing = true;
+            written = batch;
+            writtenSequence = appendedSequence;
+            batch = spareBatch;
+            spareBatch = null;
+        }
+
+        IOException writeFailure = null;
+
+        try {
+            writeBatch(written);
+        } catch (IOException e) {
+            writeFailure = e;
+
+            throw e;
+        } finally {
+            synchronized (lock) {
+                written.clear();
+                spareBatch = written;
+                flushing = false;
+
+                if (writeFailure == null) {
+                    durableSequence = writtenSequence;
+                } else {
+                    failure = writeFailure;
+                }
+
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Returns the lock whose shared side is held by the journaling matchmakers while recording and applying an
+     * operation, and whose exclusive side is held by their ticks and by {@link #checkpoint(Checkpoint)} while switching
+     * segments.
+     */
+    ReadWriteLock getOperationLock() {
+        return operationLock;
+    }
+
+    long getSyncCount() {
+        synchronized (lock) {
+            return syncCount;
+        }
+    }
+
+    private MatchmakerJournal(final Path directory, final PlayerCodec<P> codec, final List<Path> replayableSegments) throws IOException {
+        this.lock = new Object();
+        this.operationLock = new ReentrantReadWriteLock();
+        this.directory = directory;
+        this.codec = codec;
+        this.checksum = new CRC32();
+        this.replayableSegments = new ArrayList<>(replayableSegments);
+        this.batch = ByteBuffer.allocate(INITIAL_BATCH_SIZE);
+        this.spareBatch = ByteBuffer.allocate(INITIAL_BATCH_SIZE);
+        this.segmentNumber = replayableSegments.isEmpty() ? 0 : segmentNumber(replayableSegments.get(replayableSegments.size() - 1)) + 1;
+        this.channel = openSegment(segmentNumber);
+    }
+
+    private List<Path> replayableSegments() {
+        synchronized (lock) {
+            return new ArrayList<>(replayableSegments);
+        }
+    }
+
+    /**
+     * Writes the pending records to the current segment and continues in a new one.
+     * @return the number of the new segment
+     */
+    private long rotate() throws IOException {
+        synchronized (lock) {
+            if (closed) {
+                throw new IllegalStateException("The journal has been closed!");
+            }
+
+            awaitIdle();
+
+            if (failure != null) {
+                throw new IOException("The journal has failed previously.", failure);
+            }
+
+            try {
+                writeBatch(batch);
+                durableSequence = appendedSequence;
+
+                final FileChannel next = openSegment(segmentNumber + 1);
+
+                channel.close();
+                channel = next;
+                ++segmentNumber;
+            } catch (IOException e) {
+                failure = e;
+
+                throw e;
+            }
+
+            return segmentNumber;
+        }
+    }
+
+    /**
+     * Writes the buffer to the current segment and forces it to the disk. The buffer is cleared afterwards.
+     */
+    private void writeBatch(final ByteBuffer buffer) throws IOException {
+        buffer.flip();
+
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+
+        channel.force(false);
+        buffer.clear();
+
+        synchronized (lock) {
+            ++syncCount;
+        }
+    }
+
+    private FileChannel openSegment(final long number) throws IOException {
+        final Path segment = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+
+        return FileChannel.open(segment, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Waits until no caller is writing a batch. Must be called while holding the lock.
+     */
+    private void awaitIdle() throws InterruptedIOException {
+        while (flushing) {
+            awaitNotification();
+        }
+    }
+
+    private void awaitNotification() throws InterruptedIOException {
+        try {
+            lock.wait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            throw new InterruptedIOException("Interrupted while waiting for the journal.");
+        }
+    }
+
+    private static ByteBuffer grow(final ByteBuffer buffer) {
+        final ByteBuffer grown = ByteBuffer.allocate(buffer.capacity() * 2);
+
+        buffer.flip();
+        grown.put(buffer);
+
+        return grown;
+    }
+
+    private static <P> void applyAdditions(final Matchmaker<P, ?> matchmaker, final List<P> additions) {
+        if (!additions.isEmpty()) {
+            matchmaker.addPlayers(additions);
+            additions.clear();
+        }
+    }
+
+    /**
+     * Reads the next record of a segment.
+     * @param remaining the number of bytes left in the segment
+     * @return the type and the encoding of the player, or {@code null} at the end of the segment or at a torn record
+     */
+    private static byte[] readRecord(final DataInputStream input, final long remaining) throws IOException {
+        try {
+            final int length = input.readInt();
+            final int expectedChecksum = input.readInt();
+
+            // A corrupted length is treated as a torn record rather than trusted with an allocation.
+            if (length < 1 || length > MAX_RECORD_SIZE || length > remaining - RECORD_HEADER_SIZE) {
+                return null;
+            }
+
+            final byte[] record = new byte[length];
+
+            input.readFully(record);
+
+            final CRC32 checksum = new CRC32();
+
+            checksum.update(record, 0, length);
+
+            if ((int) checksum.getValue() != expectedChecksum || (record[0] < ADDITION || record[0] > UPDATE)) {
+                return null;
+            }
+
+            return record;
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    private static List<Path> segments(final Path directory) throws IOException {
+        final List<Path> segments = new ArrayList<>();
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            stream.forEach(segments::add);
+        }
+
+        Collections.sort(segments);
+
+        return segments;
+    }
+
+    private static long segmentNumber(final Path segment) {
+        final String name = segment.getFileName().toString();
+
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * Writes a snapshot of the lobby.
+     */
+    @FunctionalInterface
+    public interface Checkpoint {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,148 @@
+package com.codeosseum.eligo.matchmaker.metrics;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.codeosseum.eligo.util.LongIntHashMap;
+
+/**
+ * Metrics keeping the current size of every occupied bucket, the evaluation counts of the match function predicates
+ * and histograms of the tick latencies, matches per tick and player wait times. Bucket sizes are kept in primitive
+ * maps striped by address, so that recording them neither allocates nor contends across most buckets, while the
+ * other measurements are recorded lock-free.
+ */
+public final class AggregatingMatchmakerMetrics implements MatchmakerMetrics {
+    private static final int STRIPE_COUNT = 64;
+
+    /**
+     * The sizes of the occupied buckets, every stripe guarded by its own monitor.
+     */
+    private final LongIntHashMap[] bucketSizes;
+
+    private final Map<Integer, PredicateCounter> predicateCounters;
+
+    private final LogHistogram tickLatencies;
+
+    private final LogHistogram matchesPerTick;
+
+    private final LogHistogram waitTimes;
+
+    public AggregatingMatchmakerMetrics() {
+        this.bucketSizes = new LongIntHashMap[STRIPE_COUNT];
+
+        for (int i = 0; i < STRIPE_COUNT; ++i) {
+            bucketSizes[i] = new LongIntHashMap();
+        }
+
+        this.predicateCounters = new ConcurrentHashMap<>();
+        this.tickLatencies = new LogHistogram();
+        this.matchesPerTick = new LogHistogram();
+        this.waitTimes = new LogHistogram();
+    }
+
+    @Override
+    public void bucketSizeChanged(final long bucketAddress, final int size) {
+        final LongIntHashMap stripe = stripeOf(bucketAddress);
+
+        synchronized (stripe) {
+            if (size == 0) {
+                stripe.remove(bucketAddress, 0);
+            } else {
+                stripe.put(bucketAddress, size);
+            }
+        }
+    }
+
+    @Override
+    public void predicateEvaluated(final int matchFunctionIndex, final boolean passed) {
+        final PredicateCounter counter = predicateCounters.computeIfAbsent(matchFunctionIndex, index -> new PredicateCounter());
+
+        counter.evaluations.increment();
+
+        if (passed) {
+            counter.passes.increment();
+        }
+    }
+
+    @Override
+    public void playerMatched(final long waitMillis) {
+        waitTimes.record(waitMillis);
+    }
+
+    @Override
+    public void tickCompleted(final long durationNanos, final int matchCount) {
+        tickLatencies.record(durationNanos);
+        matchesPerTick.record(matchCount);
+    }
+
+    /**
+     * Returns a snapshot of the sizes of the occupied buckets, keyed by their addresses.
+     * @return the sizes of the buckets
+     */
+    public Map<Long, Integer> getBucketSizes() {
+        final Map<Long, Integer> sizes = new HashMap<>();
+
+        for (LongIntHashMap stripe : bucketSizes) {
+            synchronized (stripe) {
+                stripe.forEach(sizes::put);
+            }
+        }
+
+        return Collections.unmodifiableMap(sizes);
+    }
+
+    public long getPredicateEvaluations(final int matchFunctionIndex) {
+        final PredicateCounter counter = predicateCounters.get(matchFunctionIndex);
+
+        return counter == null ? 0 : counter.evaluations.sum();
+    }
+
+    public long getPredicatePasses(final int matchFunctionIndex) {
+        final PredicateCounter counter = predicateCounters.get(matchFunctionIndex);
+
+        return counter == null ? 0 : counter.passes.sum();
+    }
+
+    /**
+     * Returns the ratio of the evaluations of the predicate of the specified match function which passed.
+     * @param matchFunctionIndex the index of the match function in the order of registration
+     * @return the pass rate, or zero if the predicate has not been evaluated
+     */
+    public double getPredicatePassRate(final int matchFunctionIndex) {
+        final long evaluations = getPredicateEvaluations(matchFunctionIndex);
+
+        return evaluations == 0 ? 0 : (double) getPredicatePasses(matchFunctionIndex) / evaluations;
+    }
+
+    /**
+     * Returns the histogram of the time it took to make matches, in nanoseconds.
+     */
+    public LogHistogram getTickLatencies() {
+        return tickLatencies;
+    }
+
+    public LogHistogram getMatchesPerTick() {
+        return matchesPerTick;
+    }
+
+    /**
+     * Returns the histogram of the time matched players spent in the lobby, in milliseconds.
+     */
+    public LogHistogram getWaitTimes() {
+        return waitTimes;
+    }
+
+    private LongIntHashMap stripeOf(final long bucketAddress) {
+        // Neighbouring addresses end up in different stripes.
+        return bucketSizes[(int) (bucketAddress ^ (bucketAddress >>> 32)) & (STRIPE_COUNT - 1)];
+    }
+
+    private static final class PredicateCounter {
+        private final LongAdder evaluations = new LongAdder();
+
+        private final LongAdder passes = new LongAdder();
+    }
+}
@@ -0,0 +1,108 @@
+package com.codeosseum.eligo.matchmaker.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of non-negative values using buckets of exponentially increasing width: a value {@code v}
+ * is counted in bucket {@code 64 - numberOfLeadingZeros(v)}. Recording takes constant time without allocation,
+ * while percentiles are accurate within a factor of two.
+ */
+public final class LogHistogram {
+    private static final int BUCKET_COUNT = Long.SIZE + 1;
+
+    private final LongAdder[] counts;
+
+    private final LongAdder sum;
+
+    private final LongAccumulator max;
+
+    public LogHistogram() {
+        this.counts = new LongAdder[BUCKET_COUNT];
+        this.sum = new LongAdder();
+        this.max = new LongAccumulator(Math::max, 0);
+
+        for (int i = 0; i < BUCKET_COUNT; ++i) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records the specified value. Negative values are recorded as zero.
+     * @param value the value to record
+     */
+    public void record(final long value) {
+        final long actualValue = Math.max(0, value);
+
+        counts[Long.SIZE - Long.numberOfLeadingZeros(actualValue)].increment();
+        sum.add(actualValue);
+        max.accumulate(actualValue);
+    }
+
+    public long getCount() {
+        long count = 0;
+
+        for (LongAdder bucket : counts) {
+            count += bucket.sum();
+        }
+
+        return count;
+    }
+
+    public long getSum() {
+        return sum.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double getMean() {
+        final long count = getCount();
+
+        return count == 0 ? 0 : (double) getSum() / count;
+    }
+
+    /**
+     * Returns an upper bound of the specified percentile, that is the upper boundary of the bucket containing it,
+     * capped by the largest recorded value.
+     * @param percentile the percentile, between 0 and 100
+     * @return the upper bound of the percentile, or zero if nothing has been recorded
+     * @throws IllegalArgumentException if the percentile is out of range
+     */
+    public long getPercentile(final double percentile) {
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("percentile must be between 0 and 100!");
+        }
+
+        final long[] snapshot = new long[BUCKET_COUNT];
+        long count = 0;
+
+        for (int i = 0; i < BUCKET_COUNT; ++i) {
+            snapshot[i] = counts[i].sum();
+            count += snapshot[i];
+        }
+
+        if (count == 0) {
+            return 0;
+        }
+
+        final long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+
+        long seen = 0;
+
+        for (int i = 0; i < BUCKET_COUNT; ++i) {
+            seen += snapshot[i];
+
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), getMax());
+            }
+        }
+
+        return getMax();
+    }
+
+    private static long upperBoundOf(final int bucket) {
+        return bucket >= Long.SIZE - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+}
@@ -0,0 +1,45 @@
+package com.codeosseum.eligo.matchmaker.metrics;
+
+/**
+ * Receives measurements from a matchmaker. Every method does nothing by default, so implementations only need to
+ * override the ones they are interested in. Methods might be called concurrently and while the lobby is locked,
+ * hence implementations must be thread-safe and should return quickly.
+ */
+public interface MatchmakerMetrics {
+    /**
+     * Metrics ignoring every measurement.
+     */
+    MatchmakerMetrics NOOP = new MatchmakerMetrics() {
+    };
+
+    /**
+     * Invoked whenever players join or leave a bucket.
+     * @param bucketAddress the address of the bucket
+     * @param size the number of players in the bucket after the change
+     */
+    default void bucketSizeChanged(long bucketAddress, int size) {
+    }
+
+    /**
+     * Invoked whenever the predicate of a match function is evaluated against a bucket.
+     * @param matchFunctionIndex the index of the match function in the order of registration
+     * @param passed whether the predicate passed
+     */
+    default void predicateEvaluated(int matchFunctionIndex, boolean passed) {
+    }
+
+    /**
+     * Invoked whenever a player leaves the lobby as part of a match.
+     * @param waitMillis the time the player spent in the lobby, in milliseconds
+     */
+    default void playerMatched(long waitMillis) {
+    }
+
+    /**
+     * Invoked once matches have been made.
+     * @param durationNanos the time it took to make the matches, in nanoseconds
+     * @param matchCount the number of matches made
+     */
+    default void tickCompleted(long durationNanos, int matchCount) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.codeosseum.eligo.matchmaker.partition;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.codeosseum.eligo.matchmaker.Matchmaker;
+
+/**
+ * Transport to a shard living in the same process. Players are added and removed on the calling thread, while
+ * matches are made on a dedicated daemon thread of the shard, so the shards of a lobby make matches in parallel.
+ * @param <P> the player type
+ * @param <M> the match type
+ */
+public final class LoopbackShardTransport<P, M> implements ShardTransport<P, M>, AutoCloseable {
+    private final Matchmaker<P, M> matchmaker;
+
+    private final ExecutorService tickExecutor;
+
+    /**
+     * Creates a transport to the specified matchmaker, which must not be shared with other shards.
+     * @param matchmaker the matchmaker holding the players of the shard
+     */
+    public LoopbackShardTransport(final Matchmaker<P, M> matchmaker) {
+        this.matchmaker = Objects.requireNonNull(matchmaker);
+        this.tickExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "eligo-shard");
+            thread.setDaemon(true);
+
+            return thread;
+        });
+    }
+
+    @Override
+    public void addPlayers(final Collection<? extends P> players) {
+        matchmaker.addPlayers(players);
+    }
+
+    @Override
+    public CompletableFuture<M> awaitMatch(final P player) {
+        return matchmaker.awaitMatch(player);
+    }
+
+    @Override
+    public void removePlayers(final Collection<? extends P> players) {
+        matchmaker.removePlayers(players);
+    }
+
+    @Override
+    public void updatePlayers(final Collection<? extends P> players) {
+        players.forEach(matchmaker::updatePlayer);
+    }
+
+    @Override
+    public CompletableFuture<Set<M>> makeMatch() {
+        return CompletableFuture.supplyAsync(matchmaker::makeMatch, tickExecutor);
+    }
+
+    @Override
+    public CompletableFuture<Set<M>> makeMatchAndKeepPlayers() {
+        return CompletableFuture.supplyAsync(matchmaker::makeMatchAndKeepPlayers, tickExecutor);
+    }
+
+    /**
+     * Stops the tick thread of the shard. Matches requested afterwards are rejected.
+     */
+    @Override
+    public void close() {
+        tickExecutor.shutdown();
+    }
+}
@@ -0,0 +1,200 @@
+package com.codeosseum.eligo.matchmaker.partition;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.codeosseum.eligo.classifier.Classifier;
+import com.codeosseum.eligo.matchmaker.Matchmaker;
+
+/**
+ * Matchmaker splitting the lobby into independent shards by the class index of a classifier. Every shard covers a
+ * contiguous range of class indices, and is reached through a {@link ShardTransport}. Matches are requested from
+ * every shard at once, so the shards make matches in parallel, each under its own lock. A shard failing to make
+ * matches is reported to the error handler, while the matches of the other shards are returned, since their players
+ * have already left the lobby.
+ *
+ * The shard of every player is recorded when it joins, so that removals and updates reach the shard holding the
+ * player even if its attributes have changed since. Records are cleared once the shard reports the player matched.
+ * @param <P> the player type
+ * @param <M> the match type
+ */
+final class PartitionedMatchmaker<P, M> implements Matchmaker<P, M> {
+    private final Classifier<P> classifier;
+
+    private final List<ShardTransport<P, M>> shards;
+
+    private final Consumer<Throwable> errorHandler;
+
+    private final Function<? super M, ? extends Collection<? extends P>> matchedPlayers;
+
+    /**
+     * The index of the shard every player was last sent to.
+     */
+    private final Map<P, Integer> shardIndices;
+
+    @Override
+    public void addPlayer(final P player) {
+        final int shardIndex = shardIndex(player);
+
+        shardIndices.put(player, shardIndex);
+        shards.get(shardIndex).addPlayers(Collections.singletonList(player));
+    }
+
+    @Override
+    public void addPlayers(final Collection<? extends P> players) {
+        final List<List<P>> playersByShard = newGroups();
+
+        for (P player : players) {
+            final int shardIndex = shardIndex(player);
+
+            shardIndices.put(player, shardIndex);
+            playersByShard.get(shardIndex).add(player);
+        }
+
+        for (int i = 0; i < shards.size(); ++i) {
+            if (!playersByShard.get(i).isEmpty()) {
+                shards.get(i).addPlayers(playersByShard.get(i));
+            }
+        }
+    }
+
+    @Override
+    public CompletableFuture<M> awaitMatch(final P player) {
+        final int shardIndex = shardIndex(player);
+
+        shardIndices.put(player, shardIndex);
+
+        return shards.get(shardIndex).awaitMatch(player);
+    }
+
+    /**
+     * Removes the player from the shard it was sent to. Players without a recorded shard are routed by their class.
+     */
+    @Override
+    public void removePlayer(final P player) {
+        shards.get(removeShardIndex(player)).removePlayers(Collections.singletonList(player));
+    }
+
+    @Override
+    public void removePlayers(final Collection<? extends P> players) {
+        final List<List<P>> playersByShard = newGroups();
+
+        for (P player : players) {
+            playersByShard.get(removeShardIndex(player)).add(player);
+        }
+
+        for (int i = 0; i < shards.size(); ++i) {
+            if (!playersByShard.get(i).isEmpty()) {
+                shards.get(i).removePlayers(playersByShard.get(i));
+            }
+        }
+    }
+
+    /**
+     * Updates the player within the shard covering its class. A player moving to another shard is removed from its
+     * previous one, restarting its waiting time, and its future is completed exceptionally.
+     */
+    @Override
+    public void updatePlayer(final P player) {
+        final int shardIndex = shardIndex(player);
+        final Integer previous = shardIndices.put(player, shardIndex);
+        final List<P> singleton = Collections.singletonList(player);
+
+        if (previous != null && previous != shardIndex) {
+            shards.get(previous).removePlayers(singleton);
+        }
+
+        shards.get(shardIndex).updatePlayers(singleton);
+    }
+
+    @Override
+    public Set<M> makeMatch() {
+        final Set<M> matches = collectMatches(ShardTransport::makeMatch);
+
+        // A player joining again in the meantime loses its record, and is then routed by its class.
+        for (M match : matches) {
+            for (P player : matchedPlayers.apply(match)) {
+                shardIndices.remove(player);
+            }
+        }
+
+        return matches;
+    }
+
+    @Override
+    public Set<M> makeMatchAndKeepPlayers() {
+        return collectMatches(ShardTransport::makeMatchAndKeepPlayers);
+    }
+
+    PartitionedMatchmaker(final PartitionedMatchmakerBuilder<P, M> builder) {
+        this.classifier = builder.getClassifier();
+        this.shards = new ArrayList<>(builder.getShards());
+        this.errorHandler = builder.getErrorHandler();
+        this.matchedPlayers = builder.getMatchedPlayers();
+        this.shardIndices = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns the index of the shard covering the class of the player.
+     */
+    int shardIndex(final P player) {
+        return (int) ((long) classifier.classIndex(player) * shards.size() / classifier.getClassCount());
+    }
+
+    /**
+     * Forgets the shard of the player, returning the index of the shard it was sent to, or the one covering its
+     * class if it has no record.
+     */
+    private int removeShardIndex(final P player) {
+        final Integer recorded = shardIndices.remove(player);
+
+        return recorded != null ? recorded : shardIndex(player);
+    }
+
+    private List<List<P>> newGroups() {
+        final List<List<P>> playersByShard = new ArrayList<>(shards.size());
+
+        for (int i = 0; i < shards.size(); ++i) {
+            playersByShard.add(new ArrayList<>());
+        }
+
+        return playersByShard;
+    }
+
+    private Set<M> collectMatches(final Function<ShardTransport<P, M>, CompletableFuture<Set<M>>> request) {
+        final List<CompletableFuture<Set<M>>> futures = new ArrayList<>(shards.size());
+
+        for (ShardTransport<P, M> shard : shards) {
+            try {
+                futures.add(request.apply(shard));
+            } catch (RuntimeException e) {
+                errorHandler.accept(e);
+            }
+        }
+
+        final Set<M> matches = new HashSet<>();
+
+        // Every shard is awaited and a failure never discards the matches of the others, whose players have left.
+        for (CompletableFuture<Set<M>> future : futures) {
+            try {
+                matches.addAll(future.join());
+            } catch (CompletionException e) {
+                errorHandler.accept(e.getCause() != null ? e.getCause() : e);
+            } catch (RuntimeException e) {
+                errorHandler.accept(e);
+            }
+        }
+
+        return matches;
+    }
+}
@@ -0,0 +1,105 @@
+package com.codeosseum.eligo.matchmaker.partition;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.codeosseum.eligo.classifier.Classifier;
+import com.codeosseum.eligo.matchmaker.Matchmaker;
+
+public final class PartitionedMatchmakerBuilder<P, M> {
+    private final List<ShardTransport<P, M>> shards;
+
+    private Classifier<P> classifier;
+
+    private Consumer<Throwable> errorHandler = PartitionedMatchmakerBuilder::reportUncaught;
+
+    private Function<? super M, ? extends Collection<? extends P>> matchedPlayers;
+
+    public PartitionedMatchmakerBuilder() {
+        this.shards = new ArrayList<>();
+    }
+
+    /**
+     * Sets the classifier routing the players to the shards, usually the first classifier of the shards. Players of
+     * the same class always end up in the same shard, hence no match function may combine players of different
+     * classes, and this classifier must not be widened.
+     */
+    public PartitionedMatchmakerBuilder<P, M> classifier(final Classifier<P> classifier) {
+        this.classifier = Objects.requireNonNull(classifier);
+
+        return this;
+    }
+
+    public PartitionedMatchmakerBuilder<P, M> shard(final ShardTransport<P, M> shard) {
+        this.shards.add(Objects.requireNonNull(shard));
+
+        return this;
+    }
+
+    /**
+     * Sets the function listing the players of a match. The shard of every player is recorded when it joins, so that
+     * removals and updates are sent to that shard only, and the records of matched players are dropped using this
+     * function.
+     */
+    public PartitionedMatchmakerBuilder<P, M> matchedPlayers(final Function<? super M, ? extends Collection<? extends P>> matchedPlayers) {
+        this.matchedPlayers = Objects.requireNonNull(matchedPlayers);
+
+        return this;
+    }
+
+    /**
+     * Sets the handler of exceptions thrown by the shards while making matches. The matches of the other shards are
+     * returned regardless. By default, exceptions are passed to the uncaught exception handler of the current thread.
+     */
+    public PartitionedMatchmakerBuilder<P, M> errorHandler(final Consumer<Throwable> errorHandler) {
+        this.errorHandler = Objects.requireNonNull(errorHandler);
+
+        return this;
+    }
+
+    public Matchmaker<P, M> build() {
+        if (classifier == null) {
+            throw new IllegalArgumentException("A classifier is required to route the players!");
+        }
+
+        if (matchedPlayers == null) {
+            throw new IllegalArgumentException("A function listing the players of a match is required to route removals!");
+        }
+
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required!");
+        }
+
+        if (shards.size() > classifier.getClassCount()) {
+            throw new IllegalArgumentException("There cannot be more shards than classes!");
+        }
+
+        return new PartitionedMatchmaker<>(this);
+    }
+
+    Classifier<P> getClassifier() {
+        return classifier;
+    }
+
+    List<ShardTransport<P, M>> getShards() {
+        return shards;
+    }
+
+    Function<? super M, ? extends Collection<? extends P>> getMatchedPlayers() {
+        return matchedPlayers;
+    }
+
+    Consumer<Throwable> getErrorHandler() {
+        return errorHandler;
+    }
+
+    private static void reportUncaught(final Throwable throwable) {
+        final Thread thread = Thread.currentThread();
+
+        thread.getUncaughtExceptionHandler().uncaughtException(thread, throwable);
+    }
+}
@@ -0,0 +1,53 @@
+package com.codeosseum.eligo.matchmaker.partition;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Connection to a shard of a partitioned lobby. The shard might live in the same process, see
+ * {@link LoopbackShardTransport}, or in another one, in which case the transport is responsible for serializing the
+ * requests. Requests sent to the same shard must be applied in the order they were sent.
+ * @param <P> the player type
+ * @param <M> the match type
+ */
+public interface ShardTransport<P, M> {
+    /**
+     * Adds the players to the shard, skipping the ones already present.
+     * @param players the players to add
+     */
+    void addPlayers(Collection<? extends P> players);
+
+    /**
+     * Adds the player to the shard and returns the future of its match, as defined by
+     * {@link com.codeosseum.eligo.matchmaker.Matchmaker#awaitMatch(Object)}.
+     * @param player the player to add
+     * @return the future match of the player
+     */
+    CompletableFuture<M> awaitMatch(P player);
+
+    /**
+     * Removes the players from the shard, skipping the ones not present.
+     * @param players the players to remove
+     */
+    void removePlayers(Collection<? extends P> players);
+
+    /**
+     * Classifies the players of the shard again, adding the ones not present, as defined by
+     * {@link com.codeosseum.eligo.matchmaker.Matchmaker#updatePlayer(Object)}.
+     * @param players the players to update
+     */
+    void updatePlayers(Collection<? extends P> players);
+
+    /**
+     * Requests the shard to make matches, removing the matched players.
+     * @return the future of the matches made
+     */
+    CompletableFuture<Set<M>> makeMatch();
+
+    /**
+     * Requests the shard to make matches, keeping the matched players.
+     * @return the future of the matches made
+     */
+    CompletableFuture<Set<M>> makeMatchAndKeepPlayers();
+}
@@ -0,0 +1,254 @@
+package com.codeosseum.eligo.matchmaker.ratingwindow;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import com.codeosseum.eligo.classifier.ClassificationException;
+import com.codeosseum.eligo.classifier.DoubleValueSource;
+import com.codeosseum.eligo.matchmaker.Matchmaker;
+import com.codeosseum.eligo.matchmaker.PlayerRemovedException;
+
+/**
+ * Matchmaker keeping the players ordered by their ratings, so that matches can be made from any players with close
+ * ratings instead of players within the same fixed interval. Adding and removing players takes logarithmic time.
+ *
+ * Making matches walks the windows of consecutive players once. A window becomes a match if its spread, the
+ * difference of its highest and lowest rating, is within the limit and not larger than the spread of any later
+ * window overlapping it. Hence the tightest windows are matched first, and every tick takes linear time.
+ * @param <P> the player type
+ * @param <M> the match type
+ */
+final class RatingWindowMatchmaker<P, M> implements Matchmaker<P, M> {
+    private static final Comparator<Entry<?, ?>> LADDER_ORDER = Comparator.<Entry<?, ?>>comparingDouble(entry -> entry.rating)
+            .thenComparingLong(entry -> entry.sequence);
+
+    private final Object lock;
+
+    private final DoubleValueSource<P> rating;
+
+    private final int matchSize;
+
+    private final double maxSpread;
+
+    private final Function<List<P>, M> supplier;
+
+    private final NavigableSet<Entry<P, M>> ladder;
+
+    private final Map<P, Entry<P, M>> entries;
+
+    private long nextSequence;
+
+    @Override
+    public void addPlayer(final P player) {
+        insertPlayer(player, null);
+    }
+
+    @Override
+    public CompletableFuture<M> awaitMatch(final P player) {
+        return insertPlayer(player, new CompletableFuture<>());
+    }
+
+    @Override
+    public void removePlayer(final P player) {
+        final Entry<P, M> entry;
+
+        synchronized (lock) {
+            entry = entries.remove(player);
+
+            if (entry == null) {
+                return;
+            }
+
+            ladder.remove(entry);
+        }
+
+        if (entry.future != null) {
+            entry.future.completeExceptionally(new PlayerRemovedException("The player has been removed from the lobby."));
+        }
+    }
+
+    @Override
+    public void updatePlayer(final P player) {
+        final double value = ratingOf(player);
+
+        synchronized (lock) {
+            final Entry<P, M> existing = entries.get(player);
+
+            if (existing == null) {
+                final Entry<P, M> entry = new Entry<>(player, value, nextSequence++, null);
+
+                entries.put(player, entry);
+                ladder.add(entry);
+
+                return;
+            }
+
+            // The sequence is kept, so that the player stays ahead of the later arrivals of equal rating.
+            final Entry<P, M> entry = new Entry<>(player, value, existing.sequence, existing.future);
+
+            ladder.remove(existing);
+            entries.put(player, entry);
+            ladder.add(entry);
+        }
+    }
+
+    @Override
+    public Set<M> makeMatch() {
+        return makeMatch(true);
+    }
+
+    @Override
+    public Set<M> makeMatchAndKeepPlayers() {
+        return makeMatch(false);
+    }
+
+    RatingWindowMatchmaker(final RatingWindowMatchmakerBuilder<P, M> builder) {
+        this.lock = new Object();
+        this.rating = Objects.requireNonNull(builder.getRating());
+        this.matchSize = builder.getMatchSize();
+        this.maxSpread = builder.getMaxSpread();
+        this.supplier = Objects.requireNonNull(builder.getSupplier());
+        this.ladder = new TreeSet<>(LADDER_ORDER);
+        this.entries = new HashMap<>();
+    }
+
+    private CompletableFuture<M> insertPlayer(final P player, final CompletableFuture<M> future) {
+        final double value = ratingOf(player);
+
+        synchronized (lock) {
+            final Entry<P, M> existing = entries.get(player);
+
+            if (existing != null) {
+                if (existing.future == null) {
+                    existing.future = future;
+                }
+
+                return existing.future;
+            }
+
+            final Entry<P, M> entry = new Entry<>(player, value, nextSequence++, future);
+
+            entries.put(player, entry);
+            ladder.add(entry);
+
+            return future;
+        }
+    }
+
+    private double ratingOf(final P player) {
+        final double value = rating.get(player);
+
+        if (Double.isNaN(value)) {
+            throw new ClassificationException("The rating of the player is NaN.");
+        }
+
+        return value;
+    }
+
+    private Set<M> makeMatch(final boolean removingPlayers) {
+        final Set<M> matches = new HashSet<>();
+        final List<Entry<P, M>> matchedEntries = new ArrayList<>();
+        final List<M> matchesOfEntries = new ArrayList<>();
+
+        synchronized (lock) {
+            final List<Entry<P, M>> sorted = new ArrayList<>(ladder);
+
+            int start = 0;
+
+            while (start + matchSize <= sorted.size()) {
+                if (!isTightestWindow(sorted, start)) {
+                    ++start;
+
+                    continue;
+                }
+
+                final List<P> players = new ArrayList<>(matchSize);
+
+                for (int i = start; i < start + matchSize; ++i) {
+                    players.add(sorted.get(i).player);
+                }
+
+                final M match = supplier.apply(players);
+
+                matches.add(match);
+
+                if (removingPlayers) {
+                    for (int i = start; i < start + matchSize; ++i) {
+                        final Entry<P, M> entry = sorted.get(i);
+
+                        entries.remove(entry.player);
+                        ladder.remove(entry);
+
+                        if (entry.future != null) {
+                            matchedEntries.add(entry);
+                            matchesOfEntries.add(match);
+                        }
+                    }
+                }
+
+                start += matchSize;
+            }
+        }
+
+        // Completed outside of the lock, since dependent actions run on the completing thread.
+        for (int i = 0; i < matchedEntries.size(); ++i) {
+            matchedEntries.get(i).future.complete(matchesOfEntries.get(i));
+        }
+
+        return matches;
+    }
+
+    /**
+     * Returns whether the window starting at the specified index is within the allowed spread and is not wider than
+     * any later window overlapping it.
+     */
+    private boolean isTightestWindow(final List<Entry<P, M>> sorted, final int start) {
+        final double spread = spread(sorted, start);
+
+        if (spread > maxSpread) {
+            return false;
+        }
+
+        for (int next = start + 1; next < start + matchSize && next + matchSize <= sorted.size(); ++next) {
+            if (spread(sorted, next) < spread) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private double spread(final List<Entry<P, M>> sorted, final int start) {
+        return sorted.get(start + matchSize - 1).rating - sorted.get(start).rating;
+    }
+
+    /**
+     * A player on the ladder. Players of equal rating are ordered by their arrival.
+     */
+    private static final class Entry<P, M> {
+        private final P player;
+
+        private final double rating;
+
+        private final long sequence;
+
+        private CompletableFuture<M> future;
+
+        private Entry(final P player, final double rating, final long sequence, final CompletableFuture<M> future) {
+            this.player = player;
+            this.rating = rating;
+            this.sequence = sequence;
+            this.future = future;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.codeosseum.eligo.matchmaker.ratingwindow;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+import com.codeosseum.eligo.classifier.DoubleValueSource;
+import com.codeosseum.eligo.matchmaker.Matchmaker;
+
+public final class RatingWindowMatchmakerBuilder<P, M> {
+    private DoubleValueSource<P> rating;
+
+    private int matchSize;
+
+    private double maxSpread;
+
+    private Function<List<P>, M> supplier;
+
+    public RatingWindowMatchmakerBuilder() {
+        this.matchSize = 2;
+        this.maxSpread = Double.POSITIVE_INFINITY;
+    }
+
+    public RatingWindowMatchmakerBuilder<P, M> rating(final DoubleValueSource<P> rating) {
+        this.rating = Objects.requireNonNull(rating);
+
+        return this;
+    }
+
+    /**
+     * Sets the number of players in a match. Defaults to two.
+     */
+    public RatingWindowMatchmakerBuilder<P, M> matchSize(final int matchSize) {
+        if (matchSize <= 0) {
+            throw new IllegalArgumentException("matchSize must be greater than zero!");
+        }
+
+        this.matchSize = matchSize;
+
+        return this;
+    }
+
+    /**
+     * Sets the largest allowed difference between the highest and the lowest rating within a match. Unlimited by
+     * default.
+     */
+    public RatingWindowMatchmakerBuilder<P, M> maxSpread(final double maxSpread) {
+        if (!(maxSpread >= 0)) {
+            throw new IllegalArgumentException("maxSpread must not be negative!");
+        }
+
+        this.maxSpread = maxSpread;
+
+        return this;
+    }
+
+    /**
+     * Sets the function creating a match from players, who are passed in ascending order of their ratings.
+     */
+    public RatingWindowMatchmakerBuilder<P, M> supplier(final Function<List<P>, M> supplier) {
+        this.supplier = Objects.requireNonNull(supplier);
+
+        return this;
+    }
+
+    public Matchmaker<P, M> build() {
+        return new RatingWindowMatchmaker<>(this);
+    }
+
+    DoubleValueSource<P> getRating() {
+        return rating;
+    }
+
+    int getMatchSize() {
+        return matchSize;
+    }
+
+    double getMaxSpread() {
+        return maxSpread;
+    }
+
+    Function<List<P>, M> getSupplier() {
+        return supplier;
+    }
+}
@@ -0,0 +1,14 @@
+package com.codeosseum.eligo.matchmaker.service;
+
+/**
+ * Receives the matches made by a {@link MatchmakingService}.
+ * @param <M> the match type
+ */
+@FunctionalInterface
+public interface MatchListener<M> {
+    /**
+     * Invoked on the delivery executor of the service for every match made.
+     * @param match the match
+     */
+    void onMatch(M match);
+}
@@ -0,0 +1,278 @@
+package com.codeosseum.eligo.matchmaker.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import com.codeosseum.eligo.matchmaker.Matchmaker;
+
+/**
+ * Periodically makes matches using a {@link Matchmaker} on a dedicated thread and delivers them to the registered
+ * listeners asynchronously.
+ *
+ * Ticks are scheduled with a fixed delay. Whenever a tick makes no matches, the delay is doubled, up to the maximum
+ * interval. As soon as a tick makes a match, the delay falls back to the base interval.
+ * @param <M> the match type
+ */
+public final class MatchmakingService<M> {
+    private final Matchmaker<?, M> matchmaker;
+
+    private final long intervalNanos;
+
+    private final long maxIntervalNanos;
+
+    private final List<MatchListener<? super M>> listeners;
+
+    private final Consumer<Throwable> errorHandler;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final Executor deliveryExecutor;
+
+    private final ExecutorService ownedDeliveryExecutor;
+
+    private long currentIntervalNanos;
+
+    private ScheduledFuture<?> nextTick;
+
+    private State state;
+
+    public static <M> MatchmakingServiceBuilder<M> builder(final Matchmaker<?, M> matchmaker) {
+        return new MatchmakingServiceBuilder<>(matchmaker);
+    }
+
+    /**
+     * Starts ticking.
+     * @throws IllegalStateException if the service has already been started
+     */
+    public synchronized void start() {
+        if (state != State.CREATED) {
+            throw new IllegalStateException("The service has already been started!");
+        }
+
+        state = State.RUNNING;
+
+        nextTick = scheduler.schedule(this::tick, 0, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Stops ticking. The tick in progress, if any, is completed and its matches are delivered, but no further
+     * ticks are made. Does nothing if the service has already been shut down.
+     */
+    public synchronized void shutdown() {
+        if (state == State.SHUT_DOWN) {
+            return;
+        }
+
+        state = State.SHUT_DOWN;
+
+        if (nextTick != null) {
+            nextTick.cancel(false);
+        }
+
+        if (ownedDeliveryExecutor != null) {
+            // Deliveries are submitted by the scheduler thread, thus they can only be shut down after the tick in progress.
+            scheduler.execute(ownedDeliveryExecutor::shutdown);
+        }
+
+        scheduler.shutdown();
+    }
+
+    /**
+     * Blocks until the tick in progress and the deliveries of the service's own delivery executor complete after
+     * a shutdown, or the timeout elapses.
+     * @param timeout the maximum time to wait
+     * @return whether the service terminated
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitTermination(final Duration timeout) throws InterruptedException {
+        final long deadline = System.nanoTime() + timeout.toNanos();
+
+        if (!scheduler.awaitTermination(timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+            return false;
+        }
+
+        return ownedDeliveryExecutor == null
+                || ownedDeliveryExecutor.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    public boolean isRunning() {
+        synchronized (this) {
+            return state == State.RUNNING;
+        }
+    }
+
+    private MatchmakingService(final MatchmakingServiceBuilder<M> builder) {
+        this.matchmaker = builder.matchmaker;
+        this.intervalNanos = builder.interval.toNanos();
+        this.maxIntervalNanos = Math.max(intervalNanos, builder.maxInterval.toNanos());
+        this.listeners = new ArrayList<>(builder.listeners);
+        this.errorHandler = builder.errorHandler;
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(daemonThreadFactory("eligo-matchmaking"));
+
+        if (builder.deliveryExecutor == null) {
+            this.ownedDeliveryExecutor = Executors.newSingleThreadExecutor(daemonThreadFactory("eligo-match-delivery"));
+            this.deliveryExecutor = ownedDeliveryExecutor;
+        } else {
+            this.ownedDeliveryExecutor = null;
+            this.deliveryExecutor = builder.deliveryExecutor;
+        }
+
+        this.currentIntervalNanos = intervalNanos;
+        this.state = State.CREATED;
+    }
+
+    private void tick() {
+        try {
+            final Set<M> matches = matchmaker.makeMatch();
+
+            deliver(matches);
+
+            currentIntervalNanos = matches.isEmpty() ? backOff(currentIntervalNanos) : intervalNanos;
+        } catch (Throwable e) {
+            // Errors are reported as well, since an exception escaping the tick would silently end the ticking.
+            errorHandler.accept(e);
+        } finally {
+            synchronized (this) {
+                if (state == State.RUNNING) {
+                    nextTick = scheduler.schedule(this::tick, currentIntervalNanos, TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+    }
+
+    private void deliver(final Set<M> matches) {
+        for (M match : matches) {
+            final Runnable delivery = () -> notifyListeners(match);
+
+            try {
+                deliveryExecutor.execute(delivery);
+            } catch (RejectedExecutionException e) {
+                // The players of the match have already left the lobby, hence the match is delivered right away.
+                delivery.run();
+            }
+        }
+    }
+
+    private void notifyListeners(final M match) {
+        for (MatchListener<? super M> listener : listeners) {
+            try {
+                listener.onMatch(match);
+            } catch (Throwable e) {
+                errorHandler.accept(e);
+            }
+        }
+    }
+
+    private long backOff(final long interval) {
+        return interval > maxIntervalNanos / 2 ? maxIntervalNanos : interval * 2;
+    }
+
+    private static ThreadFactory daemonThreadFactory(final String name) {
+        return runnable -> {
+            final Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+
+            return thread;
+        };
+    }
+
+    private static void reportUncaught(final Throwable throwable) {
+        final Thread thread = Thread.currentThread();
+
+        thread.getUncaughtExceptionHandler().uncaughtException(thread, throwable);
+    }
+
+    private enum State {
+        CREATED, RUNNING, SHUT_DOWN
+    }
+
+    public static final class MatchmakingServiceBuilder<M> {
+        private final Matchmaker<?, M> matchmaker;
+
+        private final List<MatchListener<? super M>> listeners;
+
+        private Duration interval = Duration.ofMillis(100);
+
+        private Duration maxInterval = Duration.ofSeconds(1);
+
+        private Executor deliveryExecutor;
+
+        private Consumer<Throwable> errorHandler = MatchmakingService::reportUncaught;
+
+        /**
+         * Sets the delay between ticks while matches are being made. Defaults to 100 milliseconds.
+         */
+        public MatchmakingServiceBuilder<M> interval(final Duration interval) {
+            this.interval = requirePositive(interval);
+
+            return this;
+        }
+
+        /**
+         * Sets the maximum delay between ticks when idle. Defaults to one second. Setting it to the same value as the
+         * interval disables back-off.
+         */
+        public MatchmakingServiceBuilder<M> maxInterval(final Duration maxInterval) {
+            this.maxInterval = requirePositive(maxInterval);
+
+            return this;
+        }
+
+        public MatchmakingServiceBuilder<M> listener(final MatchListener<? super M> listener) {
+            this.listeners.add(Objects.requireNonNull(listener));
+
+            return this;
+        }
+
+        /**
+         * Sets the executor on which listeners are notified. By default, the service notifies listeners on its own
+         * delivery thread. An executor set here is not shut down by the service. Matches rejected by the executor are
+         * delivered on the thread making the matches.
+         */
+        public MatchmakingServiceBuilder<M> deliveryExecutor(final Executor deliveryExecutor) {
+            this.deliveryExecutor = Objects.requireNonNull(deliveryExecutor);
+
+            return this;
+        }
+
+        /**
+         * Sets the handler of exceptions thrown while making or delivering matches. By default, exceptions are passed
+         * to the uncaught exception handler of the current thread.
+         */
+        public MatchmakingServiceBuilder<M> errorHandler(final Consumer<Throwable> errorHandler) {
+            this.errorHandler = Objects.requireNonNull(errorHandler);
+
+            return this;
+        }
+
+        public MatchmakingService<M> build() {
+            return new MatchmakingService<>(this);
+        }
+
+        private MatchmakingServiceBuilder(final Matchmaker<?, M> matchmaker) {
+            this.matchmaker = Objects.requireNonNull(matchmaker);
+            this.listeners = new ArrayList<>();
+        }
+
+        private static Duration requirePositive(final Duration duration) {
+            if (duration.isNegative() || duration.isZero()) {
+                throw new IllegalArgumentException("The duration must be positive!");
+            }
+
+            return duration;
+        }
+    }
+}
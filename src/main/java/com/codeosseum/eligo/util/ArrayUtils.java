@@ -0,0 +1,104 @@
+package com.codeosseum.eligo.util;
+
+public final class ArrayUtils {
+    public static boolean isStrictlyIncreasing(final int[] array) {
+        for (int i = 0; i < array.length - 1; ++i) {
+            if (array[i] >= array[i + 1]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public static boolean isStrictlyIncreasing(final long[] array) {
+        for (int i = 0; i < array.length - 1; ++i) {
+            if (array[i] >= array[i + 1]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public static boolean isStrictlyIncreasing(final double[] array) {
+        for (int i = 0; i < array.length; ++i) {
+            if (Double.isNaN(array[i])) {
+                return false;
+            }
+
+            if (i < array.length - 1 && !(array[i] < array[i + 1])) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns the index of the first element of the sorted array which is greater than the specified value, or the
+     * length of the array if there is no such element.
+     */
+    public static int upperBound(final int[] sortedArray, final int value) {
+        int low = 0;
+        int high = sortedArray.length;
+
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+
+            if (value < sortedArray[middle]) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Returns the index of the first element of the sorted array which is greater than the specified value, or the
+     * length of the array if there is no such element.
+     */
+    public static int upperBound(final long[] sortedArray, final long value) {
+        int low = 0;
+        int high = sortedArray.length;
+
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+
+            if (value < sortedArray[middle]) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Returns the index of the first element of the sorted array which is greater than the specified value, or the
+     * length of the array if there is no such element.
+     */
+    public static int upperBound(final double[] sortedArray, final double value) {
+        int low = 0;
+        int high = sortedArray.length;
+
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+
+            if (value < sortedArray[middle]) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+
+        return low;
+    }
+
+    private ArrayUtils() {
+        // Cannot be constructed.
+    }
+}
@@ -0,0 +1,191 @@
+package com.codeosseum.eligo.util;
+
+import java.util.Arrays;
+
+/**
+ * Map from {@code int} keys to {@code int} values using open addressing with linear probing. Neither keys nor values
+ * are boxed. Not thread-safe.
+ */
+public final class IntIntHashMap {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private static final int FREE = Integer.MIN_VALUE;
+
+    private int[] keys;
+
+    private int[] values;
+
+    private int size;
+
+    private int mask;
+
+    public IntIntHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public IntIntHashMap(final int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    public int get(final int key, final int defaultValue) {
+        checkKey(key);
+
+        for (int slot = slotOf(key); ; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+
+            if (keys[slot] == FREE) {
+                return defaultValue;
+            }
+        }
+    }
+
+    public boolean containsKey(final int key) {
+        checkKey(key);
+
+        for (int slot = slotOf(key); ; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return true;
+            }
+
+            if (keys[slot] == FREE) {
+                return false;
+            }
+        }
+    }
+
+    public void put(final int key, final int value) {
+        checkKey(key);
+
+        for (int slot = slotOf(key); ; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+
+                return;
+            }
+
+            if (keys[slot] == FREE) {
+                keys[slot] = key;
+                values[slot] = value;
+
+                if (++size > maxSize()) {
+                    grow();
+                }
+
+                return;
+            }
+        }
+    }
+
+    /**
+     * Removes the mapping of the specified key.
+     * @return the value the key was mapped to, or the default value if there was no mapping
+     */
+    public int remove(final int key, final int defaultValue) {
+        checkKey(key);
+
+        for (int slot = slotOf(key); ; slot = (slot + 1) & mask) {
+            if (keys[slot] == FREE) {
+                return defaultValue;
+            }
+
+            if (keys[slot] == key) {
+                final int value = values[slot];
+
+                shiftBack(slot);
+                --size;
+
+                return value;
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        if (size > 0) {
+            Arrays.fill(keys, FREE);
+
+            size = 0;
+        }
+    }
+
+    private int slotOf(final int key) {
+        // Spreads sequential keys over the table.
+        final int hash = key * 0x9E3779B9;
+
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    /**
+     * Fills the freed slot by moving back the following entries of the probe sequence which would otherwise become
+     * unreachable, so that no tombstones are needed.
+     */
+    private void shiftBack(int free) {
+        for (int slot = (free + 1) & mask; keys[slot] != FREE; slot = (slot + 1) & mask) {
+            final int home = slotOf(keys[slot]);
+
+            // The entry can be moved if its home slot is not within the cyclic range (free, slot].
+            if (((slot - home) & mask) >= ((slot - free) & mask)) {
+                keys[free] = keys[slot];
+                values[free] = values[slot];
+                free = slot;
+            }
+        }
+
+        keys[free] = FREE;
+    }
+
+    private int maxSize() {
+        return (keys.length >> 1) + (keys.length >> 2);
+    }
+
+    private void grow() {
+        final int[] oldKeys = keys;
+        final int[] oldValues = values;
+
+        allocate(keys.length << 1);
+
+        for (int i = 0; i < oldKeys.length; ++i) {
+            if (oldKeys[i] != FREE) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(final int capacity) {
+        this.keys = new int[capacity];
+        this.values = new int[capacity];
+        this.mask = capacity - 1;
+        this.size = 0;
+
+        Arrays.fill(keys, FREE);
+    }
+
+    private static int tableSizeFor(final int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize must not be negative!");
+        }
+
+        int capacity = DEFAULT_CAPACITY;
+
+        while (capacity - (capacity >> 2) <= expectedSize) {
+            capacity <<= 1;
+        }
+
+        return capacity;
+    }
+
+    private static void checkKey(final int key) {
+        if (key == FREE) {
+            throw new IllegalArgumentException("Integer.MIN_VALUE cannot be used as a key!");
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.codeosseum.eligo.util;
+
+import java.util.Arrays;
+
+/**
+ * Map from {@code long} keys to {@code int} values using open addressing with linear probing. Neither keys nor values
+ * are boxed, hence updating an existing mapping does not allocate. Not thread-safe.
+ */
+public final class LongIntHashMap {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private static final long FREE = Long.MIN_VALUE;
+
+    private long[] keys;
+
+    private int[] values;
+
+    private int size;
+
+    private int mask;
+
+    public LongIntHashMap() {
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    public int get(final long key, final int defaultValue) {
+        checkKey(key);
+
+        for (int slot = slotOf(key); ; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+
+            if (keys[slot] == FREE) {
+                return defaultValue;
+            }
+        }
+    }
+
+    public void put(final long key, final int value) {
+        checkKey(key);
+
+        for (int slot = slotOf(key); ; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+
+                return;
+            }
+
+            if (keys[slot] == FREE) {
+                keys[slot] = key;
+                values[slot] = value;
+
+                if (++size > maxSize()) {
+                    grow();
+                }
+
+                return;
+            }
+        }
+    }
+
+    /**
+     * Removes the mapping of the specified key.
+     * @return the value the key was mapped to, or the default value if there was no mapping
+     */
+    public int remove(final long key, final int defaultValue) {
+        checkKey(key);
+
+        for (int slot = slotOf(key); ; slot = (slot + 1) & mask) {
+            if (keys[slot] == FREE) {
+                return defaultValue;
+            }
+
+            if (keys[slot] == key) {
+                final int value = values[slot];
+
+                shiftBack(slot);
+                --size;
+
+                return value;
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Passes every mapping to the consumer, in no particular order.
+     */
+    public void forEach(final LongIntConsumer consumer) {
+        for (int slot = 0; slot < keys.length; ++slot) {
+            if (keys[slot] != FREE) {
+                consumer.accept(keys[slot], values[slot]);
+            }
+        }
+    }
+
+    private int slotOf(final long key) {
+        // Spreads sequential keys over the table.
+        final long hash = key * 0x9E3779B97F4A7C15L;
+
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    /**
+     * Fills the freed slot by moving back the following entries of the probe sequence which would otherwise become
+     * unreachable, so that no tombstones are needed.
+     */
+    private void shiftBack(int free) {
+        for (int slot = (free + 1) & mask; keys[slot] != FREE; slot = (slot + 1) & mask) {
+            final int home = slotOf(keys[slot]);
+
+            // The entry can be moved if its home slot is not within the cyclic range (free, slot].
+            if (((slot - home) & mask) >= ((slot - free) & mask)) {
+                keys[free] = keys[slot];
+                values[free] = values[slot];
+                free = slot;
+            }
+        }
+
+        keys[free] = FREE;
+    }
+
+    private int maxSize() {
+        return (keys.length >> 1) + (keys.length >> 2);
+    }
+
+    private void grow() {
+        final long[] oldKeys = keys;
+        final int[] oldValues = values;
+
+        allocate(keys.length << 1);
+
+        for (int i = 0; i < oldKeys.length; ++i) {
+            if (oldKeys[i] != FREE) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(final int capacity) {
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+        this.mask = capacity - 1;
+        this.size = 0;
+
+        Arrays.fill(keys, FREE);
+    }
+
+    private static void checkKey(final long key) {
+        if (key == FREE) {
+            throw new IllegalArgumentException("Long.MIN_VALUE cannot be used as a key!");
+        }
+    }
+
+    /**
+     * Receives a mapping of the map.
+     */
+    @FunctionalInterface
+    public interface LongIntConsumer {
+        void accept(long key, int value);
+    }
+}
@@ -0,0 +1,75 @@
+package com.codeosseum.eligo.classifier;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static java.util.Arrays.asList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AbstractClassifierTest {
+    @Test
+    @DisplayName("classIndex should use the optionals of a classifier overriding mapToOptionals only.")
+    void classIndexShouldUseTheOptionalsOfAClassifierOverridingMapToOptionalsOnly() {
+        // Given
+        final Classifier<Integer> classifier = new LegacyClassifier();
+
+        // Expect
+        assertEquals(0, classifier.classIndex(-5));
+        assertEquals(2, classifier.classIndex(5));
+    }
+
+    @Test
+    @DisplayName("classIndex should throw ClassificationException if mapToOptionals returns no or multiple classes.")
+    void classIndexShouldThrowClassificationExceptionIfMapToOptionalsReturnsNoOrMultipleClasses() {
+        // Given
+        final Classifier<Integer> classifier = new LegacyClassifier();
+
+        // Expect
+        assertThrows(ClassificationException.class, () -> classifier.classIndex(0));
+        assertThrows(ClassificationException.class, () -> classifier.classIndex(100));
+    }
+
+    @Test
+    @DisplayName("classIndex should throw UnsupportedOperationException if neither mapToIndex nor mapToOptionals is overridden.")
+    void classIndexShouldThrowUnsupportedOperationExceptionIfNeitherMapToIndexNorMapToOptionalsIsOverridden() {
+        // Given
+        final Classifier<Integer> classifier = new AbstractClassifier<Integer>() {
+            @Override
+            public int getClassCount() {
+                return 1;
+            }
+        };
+
+        // When
+        final UnsupportedOperationException exception = assertThrows(UnsupportedOperationException.class, () -> classifier.classIndex(1));
+
+        // Then
+        assertTrue(exception.getMessage().endsWith("must override mapToIndex!"));
+    }
+
+    /**
+     * Classifies negative numbers into the first, positive numbers into the last class, and numbers of at least 100
+     * into both the second and the last one.
+     */
+    @SuppressWarnings("deprecation")
+    private static final class LegacyClassifier extends AbstractClassifier<Integer> {
+        @Override
+        public int getClassCount() {
+            return 3;
+        }
+
+        @Override
+        protected List<Optional<Integer>> mapToOptionals(final Integer player) {
+            return asList(
+                    player < 0 ? Optional.of(player) : Optional.empty(),
+                    player >= 100 ? Optional.of(player) : Optional.empty(),
+                    player > 0 ? Optional.of(player) : Optional.empty());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.codeosseum.eligo.classifier;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import static com.codeosseum.eligo.classifier.DoubleOpenIntervalClassifier.fromBoundaries;
+
+class DoubleOpenIntervalClassifierTest {
+    @Test
+    @DisplayName("fromBoundaries should throw IllegalArgumentException if boundaries contains NaN.")
+    void fromBoundariesShouldThrowIllegalArgumentExceptionIfBoundariesContainsNaN() {
+        // Given
+        final DoubleValueSource<DummyPlayer> valueSource = DummyPlayer::getRating;
+        final double[] boundaries = {Double.NaN};
+
+        // Expect
+        assertThrows(IllegalArgumentException.class, () -> fromBoundaries(boundaries, valueSource));
+    }
+
+    @Test
+    @DisplayName("classIndex should throw ClassificationException if the value is NaN.")
+    void classIndexShouldThrowClassificationExceptionIfTheValueIsNaN() {
+        // Given
+        final DoubleOpenIntervalClassifier<DummyPlayer> classifier = fromBoundaries(new double[] {1.0}, DummyPlayer::getRating);
+
+        // Expect
+        assertThrows(ClassificationException.class, () -> classifier.classIndex(new DummyPlayer(Double.NaN)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("createCasesForClassIndex")
+    @DisplayName("classIndex should work correctly.")
+    void classIndexShouldWorkCorrectly(final double[] boundaries, final double rating, final int expectedIndex) {
+        // Given
+        final DoubleOpenIntervalClassifier<DummyPlayer> classifier = fromBoundaries(boundaries, DummyPlayer::getRating);
+
+        // When
+        final int actualIndex = classifier.classIndex(new DummyPlayer(rating));
+
+        // Then
+        assertEquals(expectedIndex, actualIndex);
+    }
+
+    private static Stream<Arguments> createCasesForClassIndex() {
+        final double[] manyBoundaries = {-1.5, 0.0, 1.5, 3.0};
+
+        return Stream.of(
+            Arguments.of(new double[] {}, 5.0, 0),
+            Arguments.of(manyBoundaries, Double.NEGATIVE_INFINITY, 0),
+            Arguments.of(manyBoundaries, -0.0, 2),
+            Arguments.of(manyBoundaries, 1.49, 2),
+            Arguments.of(manyBoundaries, 1.5, 3),
+            Arguments.of(manyBoundaries, Double.POSITIVE_INFINITY, 4)
+        );
+    }
+
+    private static final class DummyPlayer {
+        private final double rating;
+
+        private DummyPlayer(final double rating) {
+            this.rating = rating;
+        }
+
+        private double getRating() {
+            return rating;
+        }
+    }
+}
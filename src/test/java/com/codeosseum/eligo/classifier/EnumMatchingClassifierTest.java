@@ -0,0 +1,90 @@
+package com.codeosseum.eligo.classifier;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static java.util.Arrays.asList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import static com.codeosseum.eligo.classifier.EnumMatchingClassifier.fromEnum;
+import static com.codeosseum.eligo.classifier.EnumMatchingClassifier.fromValues;
+
+class EnumMatchingClassifierTest {
+    @Test
+    @DisplayName("fromValues should throw IllegalArgumentException if values is empty.")
+    void fromValuesShouldThrowIllegalArgumentExceptionIfValuesIsEmpty() {
+        // Given
+        final List<Region> values = Collections.emptyList();
+
+        // Expect
+        assertThrows(IllegalArgumentException.class, () -> fromValues(values, DummyPlayer::getRegion));
+    }
+
+    @Test
+    @DisplayName("fromValues should throw IllegalArgumentException if the elements of values are not unique.")
+    void fromValuesShouldThrowIllegalArgumentExceptionIfTheElementsOfValuesAreNotUnique() {
+        // Given
+        final List<Region> values = asList(Region.EU, Region.EU);
+
+        // Expect
+        assertThrows(IllegalArgumentException.class, () -> fromValues(values, DummyPlayer::getRegion));
+    }
+
+    @Test
+    @DisplayName("classIndex should respect the ordering of values.")
+    void classIndexShouldRespectTheOrderingOfValues() {
+        // Given
+        final EnumMatchingClassifier<DummyPlayer, Region> classifier = fromValues(asList(Region.ASIA, Region.EU), DummyPlayer::getRegion);
+
+        // Expect
+        assertEquals(2, classifier.getClassCount());
+        assertEquals(0, classifier.classIndex(new DummyPlayer(Region.ASIA)));
+        assertEquals(1, classifier.classIndex(new DummyPlayer(Region.EU)));
+    }
+
+    @Test
+    @DisplayName("classIndex should throw ClassificationException if the constant is not expected.")
+    void classIndexShouldThrowClassificationExceptionIfTheConstantIsNotExpected() {
+        // Given
+        final EnumMatchingClassifier<DummyPlayer, Region> classifier = fromValues(asList(Region.ASIA, Region.EU), DummyPlayer::getRegion);
+
+        // Expect
+        assertThrows(ClassificationException.class, () -> classifier.classIndex(new DummyPlayer(Region.NA)));
+        assertThrows(ClassificationException.class, () -> classifier.classIndex(new DummyPlayer(null)));
+    }
+
+    @Test
+    @DisplayName("fromEnum should create a class for each constant in declaration order.")
+    void fromEnumShouldCreateAClassForEachConstantInDeclarationOrder() {
+        // Given
+        final EnumMatchingClassifier<DummyPlayer, Region> classifier = fromEnum(Region.class, DummyPlayer::getRegion);
+
+        // Expect
+        assertEquals(Region.values().length, classifier.getClassCount());
+
+        for (Region region : Region.values()) {
+            assertEquals(region.ordinal(), classifier.classIndex(new DummyPlayer(region)));
+        }
+    }
+
+    private enum Region {
+        EU, NA, ASIA
+    }
+
+    private static final class DummyPlayer {
+        private final Region region;
+
+        private DummyPlayer(final Region region) {
+            this.region = region;
+        }
+
+        private Region getRegion() {
+            return region;
+        }
+    }
+}
@@ -118,6 +118,21 @@ class ExactMatchingClassifierTest {
         assertEquals(expectedClassification, actualClassification);
     }
 
+    @ParameterizedTest
+    @MethodSource("createClassificationParameters")
+    @DisplayName("classIndex should return the index of the non-empty classification.")
+    void classIndexShouldReturnTheIndexOfTheNonEmptyClassification(List<String> values, DummyPlayer player, List<Optional<DummyPlayer>> expectedClassification) {
+        // Given
+        final ExactMatchingClassifier<DummyPlayer, String> classifier = fromValues(values, DummyPlayer::getName);
+        final int expectedIndex = expectedClassification.indexOf(Optional.of(player));
+
+        // When
+        final int actualIndex = classifier.classIndex(player);
+
+        // Then
+        assertEquals(expectedIndex, actualIndex);
+    }
+
     private static Stream<Arguments> createClassificationParameters() {
         return Stream.of(
             singleClassClassification(),
@@ -0,0 +1,52 @@
+package com.codeosseum.eligo.classifier;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IntClassifiersTest {
+    private static final int[] RANKS = {5, 10, 25};
+
+    @Test
+    @DisplayName("openInterval should classify player ids by the looked up int value.")
+    void openIntervalShouldClassifyPlayerIdsByTheLookedUpIntValue() {
+        // Given
+        final IntClassifier classifier = IntClassifiers.openInterval(new int[] {10, 20}, id -> RANKS[id]);
+
+        // Expect
+        assertEquals(3, classifier.getClassCount());
+        assertEquals(0, classifier.classIndex(0));
+        assertEquals(1, classifier.classIndex(1));
+        assertEquals(2, classifier.classIndex(2));
+    }
+
+    @Test
+    @DisplayName("openInterval should throw ClassificationException if the looked up double value is NaN.")
+    void openIntervalShouldThrowClassificationExceptionIfTheLookedUpDoubleValueIsNaN() {
+        // Given
+        final IntClassifier classifier = IntClassifiers.openInterval(new double[] {0.5}, id -> Double.NaN);
+
+        // Expect
+        assertThrows(ClassificationException.class, () -> classifier.classIndex(0));
+    }
+
+    @Test
+    @DisplayName("openInterval should throw IllegalArgumentException if boundaries is not sorted.")
+    void openIntervalShouldThrowIllegalArgumentExceptionIfBoundariesIsNotSorted() {
+        // Expect
+        assertThrows(IllegalArgumentException.class, () -> IntClassifiers.openInterval(new int[] {20, 10}, id -> id));
+    }
+
+    @Test
+    @DisplayName("indexed should throw ClassificationException if the looked up index is out of range.")
+    void indexedShouldThrowClassificationExceptionIfTheLookedUpIndexIsOutOfRange() {
+        // Given
+        final IntClassifier classifier = IntClassifiers.indexed(2, id -> id);
+
+        // Expect
+        assertEquals(1, classifier.classIndex(1));
+        assertThrows(ClassificationException.class, () -> classifier.classIndex(2));
+    }
+}
@@ -0,0 +1,101 @@
+package com.codeosseum.eligo.classifier;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import static com.codeosseum.eligo.classifier.IntOpenIntervalClassifier.fromBoundaries;
+
+class IntOpenIntervalClassifierTest {
+    @Test
+    @DisplayName("fromBoundaries should throw NullPointerException if boundaries is null.")
+    void fromBoundariesShouldThrowNullPointerExceptionIfBoundariesIsNull() {
+        // Given
+        final IntValueSource<DummyPlayer> valueSource = DummyPlayer::getRank;
+        final int[] boundaries = null;
+
+        // Expect
+        assertThrows(NullPointerException.class, () -> fromBoundaries(boundaries, valueSource));
+    }
+
+    @Test
+    @DisplayName("fromBoundaries should throw NullPointerException if valueSource is null.")
+    void fromBoundariesShouldThrowNullPointerExceptionIfValueSourceIsNull() {
+        // Given
+        final IntValueSource<DummyPlayer> valueSource = null;
+        final int[] boundaries = {};
+
+        // Expect
+        assertThrows(NullPointerException.class, () -> fromBoundaries(boundaries, valueSource));
+    }
+
+    @Test
+    @DisplayName("fromBoundaries should throw IllegalArgumentException if boundaries is not sorted.")
+    void fromBoundariesShouldThrowIllegalArgumentExceptionIfBoundariesIsNotSorted() {
+        // Given
+        final IntValueSource<DummyPlayer> valueSource = DummyPlayer::getRank;
+        final int[] boundaries = {30, 10, 20};
+
+        // Expect
+        assertThrows(IllegalArgumentException.class, () -> fromBoundaries(boundaries, valueSource));
+    }
+
+    @Test
+    @DisplayName("fromBoundaries should throw IllegalArgumentException if the elements of boundaries are not unique.")
+    void fromBoundariesShouldThrowIllegalArgumentExceptionIfTheElementsOfBoundariesAreNotUnique() {
+        // Given
+        final IntValueSource<DummyPlayer> valueSource = DummyPlayer::getRank;
+        final int[] boundaries = {10, 10};
+
+        // Expect
+        assertThrows(IllegalArgumentException.class, () -> fromBoundaries(boundaries, valueSource));
+    }
+
+    @ParameterizedTest
+    @MethodSource("createCasesForClassIndex")
+    @DisplayName("classIndex should work correctly.")
+    void classIndexShouldWorkCorrectly(final int[] boundaries, final int rank, final int expectedIndex) {
+        // Given
+        final IntOpenIntervalClassifier<DummyPlayer> classifier = fromBoundaries(boundaries, DummyPlayer::getRank);
+
+        // When
+        final int actualIndex = classifier.classIndex(new DummyPlayer(rank));
+
+        // Then
+        assertEquals(expectedIndex, actualIndex);
+    }
+
+    private static Stream<Arguments> createCasesForClassIndex() {
+        final int[] manyBoundaries = {10, 20, 30, 40, 50, 60, 70};
+
+        return Stream.of(
+            Arguments.of(new int[] {}, 5, 0),
+            Arguments.of(new int[] {10}, 5, 0),
+            Arguments.of(new int[] {10}, 10, 1),
+            Arguments.of(new int[] {10}, 15, 1),
+            Arguments.of(manyBoundaries, Integer.MIN_VALUE, 0),
+            Arguments.of(manyBoundaries, 39, 3),
+            Arguments.of(manyBoundaries, 40, 4),
+            Arguments.of(manyBoundaries, Integer.MAX_VALUE, 7)
+        );
+    }
+
+    private static final class DummyPlayer {
+        private final int rank;
+
+        private DummyPlayer(final int rank) {
+            this.rank = rank;
+        }
+
+        private int getRank() {
+            return rank;
+        }
+    }
+}
@@ -79,6 +79,21 @@ class OpenIntervalClassifierTest {
         assertEquals(expectedClassification, actualClassification);
     }
 
+    @ParameterizedTest
+    @MethodSource("createCasesForClassify")
+    @DisplayName("classIndex should return the index of the non-empty classification.")
+    void classIndexShouldReturnTheIndexOfTheNonEmptyClassification(final List<String> boundaries, final DummyPlayer player, final List<Optional<DummyPlayer>> expectedClassification) {
+        // Given
+        final OpenIntervalClassifier<DummyPlayer, String> classifier = fromBoundaries(boundaries, DummyPlayer::getName);
+        final int expectedIndex = expectedClassification.indexOf(Optional.of(player));
+
+        // When
+        final int actualIndex = classifier.classIndex(player);
+
+        // Then
+        assertEquals(expectedIndex, actualIndex);
+    }
+
     private static Stream<Arguments> createCasesForClassify() {
         return Stream.of(
             noBoundaryClassification(),
@@ -0,0 +1,87 @@
+package com.codeosseum.eligo.matchmaker.decisiontree;
+
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static com.codeosseum.eligo.matchmaker.decisiontree.BucketMatcher.all;
+import static com.codeosseum.eligo.matchmaker.decisiontree.BucketMatcher.hasAtLeast;
+
+class BucketMatcherTest {
+    private static final Predicate<String> IS_ATTACKER = player -> player.startsWith("attacker");
+
+    private static final Predicate<String> IS_DEFENDER = player -> player.startsWith("defender");
+
+    @Test
+    @DisplayName("hasAtLeast should throw IllegalArgumentException if count is not positive.")
+    void hasAtLeastShouldThrowIllegalArgumentExceptionIfCountIsNotPositive() {
+        // Expect
+        assertThrows(IllegalArgumentException.class, () -> hasAtLeast(0));
+        assertThrows(IllegalArgumentException.class, () -> hasAtLeast(0, IS_ATTACKER));
+        assertThrows(IllegalArgumentException.class, () -> hasAtLeast(0, "attacker"));
+    }
+
+    @Test
+    @DisplayName("hasAtLeast should count tracked and untracked predicates alike.")
+    void hasAtLeastShouldCountTrackedAndUntrackedPredicatesAlike() {
+        // Given
+        final TrackedPredicates<String> trackedPredicates = new TrackedPredicates<>();
+        trackedPredicates.register("attacker", IS_ATTACKER);
+
+        final Bucket<String> bucket = new Bucket<>(0, trackedPredicates);
+        final BucketMatcher<String> matcher = new BucketMatcher<>(bucket);
+
+        // When
+        final Ticket<String> removed = new Ticket<>("attacker2", bucket);
+
+        bucket.add(new Ticket<>("attacker1", bucket));
+        bucket.add(removed);
+        bucket.add(new Ticket<>("defender1", bucket));
+        bucket.remove(removed);
+
+        // Then
+        assertTrue(BucketMatcher.<String>hasAtLeast(2).test(matcher));
+        assertFalse(BucketMatcher.<String>hasAtLeast(3).test(matcher));
+        assertTrue(BucketMatcher.<String>hasAtLeast(1, "attacker").test(matcher));
+        assertFalse(BucketMatcher.<String>hasAtLeast(2, "attacker").test(matcher));
+        assertTrue(hasAtLeast(1, IS_ATTACKER).test(matcher));
+        assertFalse(hasAtLeast(2, IS_ATTACKER).test(matcher));
+        assertTrue(hasAtLeast(1, IS_DEFENDER).test(matcher));
+        assertFalse(hasAtLeast(2, IS_DEFENDER).test(matcher));
+    }
+
+    @Test
+    @DisplayName("hasAtLeast should throw IllegalArgumentException if the predicate name is not registered.")
+    void hasAtLeastShouldThrowIllegalArgumentExceptionIfThePredicateNameIsNotRegistered() {
+        // Given
+        final BucketMatcher<String> matcher = new BucketMatcher<>(new Bucket<>(0, new TrackedPredicates<>()));
+
+        // Expect
+        assertThrows(IllegalArgumentException.class, () -> BucketMatcher.<String>hasAtLeast(1, "attacker").test(matcher));
+    }
+
+    @Test
+    @DisplayName("all should check every player of the bucket.")
+    void allShouldCheckEveryPlayerOfTheBucket() {
+        // Given
+        final Bucket<String> bucket = new Bucket<>(0, new TrackedPredicates<>());
+        final BucketMatcher<String> matcher = new BucketMatcher<>(bucket);
+
+        // When
+        bucket.add(new Ticket<>("attacker1", bucket));
+
+        // Then
+        assertTrue(all(IS_ATTACKER).test(matcher));
+
+        // When
+        bucket.add(new Ticket<>("defender1", bucket));
+
+        // Then
+        assertFalse(all(IS_ATTACKER).test(matcher));
+    }
+}
@@ -0,0 +1,128 @@
+package com.codeosseum.eligo.matchmaker.decisiontree;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.codeosseum.eligo.classifier.Classifier;
+import com.codeosseum.eligo.classifier.Classifiers;
+
+import static java.util.Arrays.asList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BucketTreeTest {
+    private static final List<Classifier<int[]>> CLASSIFIERS = asList(
+            Classifiers.openInterval(new int[] {10, 20}, player -> player[0]),
+            Classifiers.openInterval(new int[] {100}, player -> player[1])
+    );
+
+    @Test
+    @DisplayName("address should form a mixed-radix number of the class indices.")
+    void addressShouldFormAMixedRadixNumberOfTheClassIndices() {
+        // Given
+        final BucketTree<int[]> tree = BucketTree.create(CLASSIFIERS, new TrackedPredicates<>(), false);
+
+        // Expect
+        assertEquals(6, tree.getBucketCount());
+        assertEquals(0, tree.address(new int[] {5, 50}));
+        assertEquals(1, tree.address(new int[] {5, 150}));
+        assertEquals(4, tree.address(new int[] {25, 50}));
+        assertEquals(2, tree.classIndex(4, 0));
+        assertEquals(0, tree.classIndex(4, 1));
+    }
+
+    @Test
+    @DisplayName("bucket should return the bucket stored at the address of the player.")
+    void bucketShouldReturnTheBucketStoredAtTheAddressOfThePlayer() {
+        // Given
+        final BucketTree<int[]> tree = BucketTree.create(CLASSIFIERS, new TrackedPredicates<>(), false);
+
+        // Expect
+        assertSame(tree.bucket(5), tree.bucket(tree.address(new int[] {25, 150})));
+        assertEquals(5, tree.bucket(5).getAddress());
+    }
+
+    @Test
+    @DisplayName("neighbour should offset a single class index of the address.")
+    void neighbourShouldOffsetASingleClassIndexOfTheAddress() {
+        // Given
+        final BucketTree<int[]> tree = BucketTree.create(CLASSIFIERS, new TrackedPredicates<>(), false);
+
+        // Expect
+        assertEquals(3, tree.neighbour(1, 0, 1));
+        assertEquals(5, tree.neighbour(1, 0, 2));
+        assertEquals(-1, tree.neighbour(1, 0, 3));
+        assertEquals(-1, tree.neighbour(1, 0, -1));
+        assertEquals(2, tree.neighbour(3, 1, -1));
+        assertEquals(-1, tree.neighbour(3, 1, 1));
+    }
+
+    @Test
+    @DisplayName("dense tree should create every bucket upfront.")
+    void denseTreeShouldCreateEveryBucketUpfront() {
+        // Given
+        final BucketTree<int[]> tree = BucketTree.create(CLASSIFIERS, new TrackedPredicates<>(), false);
+
+        // Expect
+        assertEquals(6, count(tree.buckets()));
+
+        for (long address = 0; address < tree.getBucketCount(); ++address) {
+            assertEquals(address, tree.bucket(address).getAddress());
+        }
+    }
+
+    @Test
+    @DisplayName("dense tree should throw IllegalArgumentException when the buckets do not fit into an array.")
+    void denseTreeShouldThrowIllegalArgumentExceptionWhenTheBucketsDoNotFitIntoAnArray() {
+        // Given
+        final Classifier<int[]> classifier = Classifiers.openInterval(IntStream.range(1, 100_000).toArray(), player -> player[0]);
+
+        // Expect
+        assertThrows(IllegalArgumentException.class, () -> BucketTree.create(asList(classifier, classifier), new TrackedPredicates<>(), false));
+    }
+
+    @Test
+    @DisplayName("sparse tree should create buckets on first use and reclaim them once empty.")
+    void sparseTreeShouldCreateBucketsOnFirstUseAndReclaimThemOnceEmpty() {
+        // Given
+        final BucketTree<int[]> tree = BucketTree.create(CLASSIFIERS, new TrackedPredicates<>(), true);
+        final int[] player = {25, 50};
+
+        // When
+        final Bucket<int[]> bucket = tree.bucket(tree.address(player));
+        final Ticket<int[]> ticket = new Ticket<>(player, bucket);
+        bucket.add(ticket);
+        tree.release(bucket);
+
+        // Then
+        assertEquals(1, count(tree.buckets()));
+        assertSame(bucket, tree.bucket(4));
+
+        // When
+        bucket.remove(ticket);
+        tree.release(bucket);
+
+        // Then
+        assertTrue(bucket.isEmpty());
+        assertFalse(tree.buckets().iterator().hasNext());
+        assertNotSame(bucket, tree.bucket(4));
+    }
+
+    private static int count(final Iterable<?> iterable) {
+        int count = 0;
+
+        for (Object ignored : iterable) {
+            ++count;
+        }
+
+        return count;
+    }
+}
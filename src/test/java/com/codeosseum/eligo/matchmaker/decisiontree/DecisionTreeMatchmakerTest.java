@@ -0,0 +1,665 @@
+package com.codeosseum.eligo.matchmaker.decisiontree;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import com.codeosseum.eligo.classifier.Classifiers;
+import com.codeosseum.eligo.matchmaker.Matchmaker;
+import com.codeosseum.eligo.matchmaker.Matchmakers;
+import com.codeosseum.eligo.matchmaker.PlayerRemovedException;
+import com.codeosseum.eligo.matchmaker.metrics.AggregatingMatchmakerMetrics;
+
+import static java.util.Arrays.asList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static com.codeosseum.eligo.matchmaker.decisiontree.BucketMatcher.hasAtLeast;
+
+class DecisionTreeMatchmakerTest {
+    private static final int MATCH_SIZE = 2;
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("createModes")
+    @DisplayName("makeMatch should match players of the same bucket and remove them from the lobby.")
+    void makeMatchShouldMatchPlayersOfTheSameBucketAndRemoveThemFromTheLobby(final String mode, final UnaryOperator<DecisionTreeMatchmakerBuilder<DummyPlayer, Set<DummyPlayer>>> configuration) {
+        // Given
+        final Matchmaker<DummyPlayer, Set<DummyPlayer>> matchmaker = createMatchmaker(configuration);
+        final DummyPlayer first = new DummyPlayer("first", 5);
+        final DummyPlayer second = new DummyPlayer("second", 7);
+
+        matchmaker.addPlayer(first);
+        matchmaker.addPlayer(second);
+
+        // When
+        final Set<Set<DummyPlayer>> matches = matchmaker.makeMatch();
+
+        // Then
+        assertEquals(1, matches.size());
+        assertEquals(new HashSet<>(asList(first, second)), matches.iterator().next());
+        assertTrue(matchmaker.makeMatch().isEmpty());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("createModes")
+    @DisplayName("makeMatch should not match players of different buckets.")
+    void makeMatchShouldNotMatchPlayersOfDifferentBuckets(final String mode, final UnaryOperator<DecisionTreeMatchmakerBuilder<DummyPlayer, Set<DummyPlayer>>> configuration) {
+        // Given
+        final Matchmaker<DummyPlayer, Set<DummyPlayer>> matchmaker = createMatchmaker(configuration);
+
+        matchmaker.addPlayer(new DummyPlayer("low", 5));
+        matchmaker.addPlayer(new DummyPlayer("high", 15));
+
+        // Expect
+        assertTrue(matchmaker.makeMatch().isEmpty());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("createModes")
+    @DisplayName("makeMatchAndKeepPlayers should keep the matched players in the lobby.")
+    void makeMatchAndKeepPlayersShouldKeepTheMatchedPlayersInTheLobby(final String mode, final UnaryOperator<DecisionTreeMatchmakerBuilder<DummyPlayer, Set<DummyPlayer>>> configuration) {
+        // Given
+        final Matchmaker<DummyPlayer, Set<DummyPlayer>> matchmaker = createMatchmaker(configuration);
+
+        matchmaker.addPlayer(new DummyPlayer("first", 5));
+        matchmaker.addPlayer(new DummyPlayer("second", 7));
+
+        // Expect
+        assertEquals(1, matchmaker.makeMatchAndKeepPlayers().size());
+        assertEquals(1, matchmaker.makeMatch().size());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("createModes")
+    @DisplayName("removePlayer should remove the player from the lobby.")
+    void removePlayerShouldRemoveThePlayerFromTheLobby(final String mode, final UnaryOperator<DecisionTreeMatchmakerBuilder<DummyPlayer, Set<DummyPlayer>>> configuration) {
+        // Given
+        final Matchmaker<DummyPlayer, Set<DummyPlayer>> matchmaker = createMatchmaker(configuration);
+        final DummyPlayer removed = new DummyPlayer("removed", 5);
+
+        matchmaker.addPlayer(removed);
+        matchmaker.addPlayer(new DummyPlayer("kept", 7));
+
+        // When
+        matchmaker.removePlayer(removed);
+        matchmaker.removePlayer(new DummyPlayer("absent", 3));
+
+        // Then
+        assertTrue(matchmaker.makeMatch().isEmpty());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("createModes")
+    @DisplayName("addPlayer should do nothing if the player is already present.")
+    void addPlayerShouldDoNothingIfThePlayerIsAlreadyPresent(final String mode, final UnaryOperator<DecisionTreeMatchmakerBuilder<DummyPlayer, Set<DummyPlayer>>> configuration) {
+        // Given
+        final Matchmaker<DummyPlayer, Set<DummyPlayer>> matchmaker = createMatchmaker(configuration);
+        final DummyPlayer player = new DummyPlayer("player", 5);
+
+        // When
+        matchmaker.addPlayer(player);
+        matchmaker.addPlayer(player);
+
+        // Then
+        assertTrue(matchmaker.makeMatch().isEmpty());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("createModes")
+    @DisplayName("addPlayers should add every player to the bucket it belongs to.")
+    void addPlayersShouldAddEveryPlayerToTheBucketItBelongsTo(final String mode, final UnaryOperator<DecisionTreeMatchmakerBuilder<DummyPlayer, Set<DummyPlayer>>> configuration) {
+        // Given
+        final Matchmaker<DummyPlayer, Set<DummyPlayer>> matchmaker = createMatchmaker(configuration);
+        final DummyPlayer lowFirst = new DummyPlayer("low first", 5);
+        final DummyPlayer highFirst = new DummyPlayer("high first", 15);
+        final DummyPlayer lowSecond = new DummyPlayer("low second", 7);
+        final DummyPlayer highSecond = new DummyPlayer("high second", 17);
+
+        // When
+        matchmaker.addPlayers(asList(lowFirst, highFirst, lowSecond, highSecond, lowFirst));
+
+        // Then
+        final Set<Set<DummyPlayer>> expected = new HashSet<>(asList(
+                new HashSet<>(asList(lowFirst, lowSecond)),
+                new HashSet<>(asList(highFirst, highSecond))));
+
+        assertEquals(expected, matchmaker.makeMatch());
+        assertTrue(matchmaker.makeMatch().isEmpty());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("createModes")
+    @DisplayName("removePlayers should remove every player and complete their futures exceptionally.")
+    void removePlayersShouldRemoveEveryPlayerAndCompleteTheirFuturesExceptionally(final String mode, final UnaryOperator<DecisionTreeMatchmakerBuilder<DummyPlayer, Set<DummyPlayer>>> configuration) {
+        // Given
+        final Matchmaker<DummyPlayer, Set<DummyPlayer>> matchmaker = createMatchmaker(configuration);
+        final DummyPlayer lowFirst = new DummyPlayer("low first", 5);
+        final DummyPlayer lowSecond = new DummyPlayer("low second", 7);
+        final DummyPlayer lowThird = new DummyPlayer("low third", 9);
+        final DummyPlayer high = new DummyPlayer("high", 15);
+
+        final CompletableFuture<Set<DummyPlayer>> future = matchmaker.awaitMatch(lowFirst);
+
+        matchmaker.addPlayers(asList(lowSecond, lowThird, high));
+
+        // When
+        matchmaker.removePlayers(asList(lowFirst, lowSecond, high, new DummyPlayer("absent", 3)));
+        final Set<Set<DummyPlayer>> matches = matchmaker.makeMatch();
+
+        // Then
+        assertTrue(matches.isEmpty());
+
+        final CompletionException exception = assertThrows(CompletionException.class, future::join);
+        assertTrue(exception.getCause() instanceof PlayerRemovedException);
+
+        matchmaker.addPlayer(lowFirst);
+        assertEquals(Collections.singleton(new HashSet<>(asList(lowFirst, lowThird))), matchmaker.makeMatch());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("createModes")
+    @DisplayName("awaitMatch should complete the future with the match of the player.")
+    void awaitMatchShouldCompleteTheFutureWithTheMatchOfThePlayer(final String mode, final UnaryOperator<DecisionTreeMatchmakerBuilder<DummyPlayer, Set<DummyPlayer>>> configuration) {
+        // Given
+        final Matchmaker<DummyPlayer, Set<DummyPlayer>> matchmaker = createMatchmaker(configuration);
+        final DummyPlayer first = new DummyPlayer("first", 5);
+        final DummyPlayer second = new DummyPlayer("second", 7);
+
+        final CompletableFuture<Set<DummyPlayer>> future = matchmaker.awaitMatch(first);
+        matchmaker.addPlayer(second);
+
+        // When
+        final Set<Set<DummyPlayer>> matches = matchmaker.makeMatch();
+
+        // Then
+        assertTrue(future.isDone());
+        assertSame(matches.iterator().next(), future.join());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("createModes")
+    @DisplayName("awaitMatch should return the same future if the player is already awaiting a match.")
+    void awaitMatchShouldReturnTheSameFutureIfThePlayerIsAlreadyAwaitingAMatch(final String mode, final UnaryOperator<DecisionTreeMatchmakerBuilder<DummyPlayer, Set<DummyPlayer>>> configuration) {
+        // Given
+        final Matchmaker<DummyPlayer, Set<DummyPlayer>> matchmaker = createMatchmaker(configuration);
+        final DummyPlayer player = new DummyPlayer("player", 5);
+
+        // When
+        final CompletableFuture<Set<DummyPlayer>> first = matchmaker.awaitMatch(player);
+        final CompletableFuture<Set<DummyPlayer>> second = matchmaker.awaitMatch(player);
+
+        matchmaker.addPlayer(new DummyPlayer("other", 7));
+        matchmaker.makeMatch();
+
+        // Then
+        assertTrue(first.isDone());
+        assertEquals(first.join(), second.join());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("createModes")
+    @DisplayName("removePlayer should complete the future of the player exceptionally.")
+    void removePlayerShouldCompleteTheFutureOfThePlayerExceptionally(final String mode, final UnaryOperator<DecisionTreeMatchmakerBuilder<DummyPlayer, Set<DummyPlayer>>> configuration) {
+        // Given
+        final Matchmaker<DummyPlayer, Set<DummyPlayer>> matchmaker = createMatchmaker(configuration);
+        final DummyPlayer player = new DummyPlayer("player", 5);
+
+        final CompletableFuture<Set<DummyPlayer>> future = matchmaker.awaitMatch(player);
+
+        // When
+        matchmaker.removePlayer(player);
+        matchmaker.makeMatch();
+
+        // Then
+        final CompletionException exception = assertThrows(CompletionException.class, future::join);
+        assertTrue(exception.getCause() instanceof PlayerRemovedException);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("createModes")
+    @DisplayName("makeMatchAndKeepPlayers should not complete the future of the player.")
+    void makeMatchAndKeepPlayersShouldNotCompleteTheFutureOfThePlayer(final String mode, final UnaryOperator<DecisionTreeMatchmakerBuilder<DummyPlayer, Set<DummyPlayer>>> configuration) {
+        // Given
+        final Matchmaker<DummyPlayer, Set<DummyPlayer>> matchmaker = createMatchmaker(configuration);
+        final CompletableFuture<Set<DummyPlayer>> future = matchmaker.awaitMatch(new DummyPlayer("first", 5));
+
+        matchmaker.addPlayer(new DummyPlayer("second", 7));
+
+        // When
+        matchmaker.makeMatchAndKeepPlayers();
+
+        // Then
+        assertFalse(future.isDone());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("createModes")
+    @DisplayName("widening should match players of adjacent classes once they have been waiting long enough.")
+    void wideningShouldMatchPlayersOfAdjacentClassesOnceTheyHaveBeenWaitingLongEnough(final String mode, final UnaryOperator<DecisionTreeMatchmakerBuilder<DummyPlayer, Set<DummyPlayer>>> configuration) {
+        // Given
+        final MutableClock clock = new MutableClock();
+        final Matchmaker<DummyPlayer, Set<DummyPlayer>> matchmaker = createMatchmaker(
+                builder -> configuration.apply(builder).widen(0, Duration.ofSeconds(30)).clock(clock));
+        final DummyPlayer low = new DummyPlayer("low", 5);
+        final DummyPlayer high = new DummyPlayer("high", 15);
+
+        matchmaker.addPlayer(low);
+        clock.advance(Duration.ofSeconds(10));
+        matchmaker.addPlayer(high);
+
+        // When
+        clock.advance(Duration.ofSeconds(19));
+        final Set<Set<DummyPlayer>> early = matchmaker.makeMatch();
+
+        clock.advance(Duration.ofSeconds(1));
+        final Set<Set<DummyPlayer>> widened = matchmaker.makeMatch();
+
+        // Then
+        assertTrue(early.isEmpty());
+        assertEquals(1, widened.size());
+        assertEquals(new HashSet<>(asList(low, high)), widened.iterator().next());
+        assertTrue(matchmaker.makeMatch().isEmpty());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("createModes")
+    @DisplayName("makeMatch should report bucket sizes, predicate evaluations, wait times and ticks to the metrics.")
+    void makeMatchShouldReportBucketSizesPredicateEvaluationsWaitTimesAndTicksToTheMetrics(final String mode, final UnaryOperator<DecisionTreeMatchmakerBuilder<DummyPlayer, Set<DummyPlayer>>> configuration) {
+        // Given
+        final MutableClock clock = new MutableClock();
+        final AggregatingMatchmakerMetrics metrics = new AggregatingMatchmakerMetrics();
+        final Matchmaker<DummyPlayer, Set<DummyPlayer>> matchmaker = createMatchmaker(builder -> configuration.apply(builder).clock(clock).metrics(metrics));
+
+        matchmaker.addPlayer(new DummyPlayer("first", 5));
+        matchmaker.addPlayer(new DummyPlayer("second", 7));
+        matchmaker.addPlayer(new DummyPlayer("third", 15));
+        clock.advance(Duration.ofSeconds(10));
+
+        // When
+        matchmaker.makeMatch();
+
+        // Then
+        assertEquals(Collections.singletonMap(1L, 1), metrics.getBucketSizes());
+        assertEquals(2, metrics.getPredicateEvaluations(0));
+        assertEquals(0.5, metrics.getPredicatePassRate(0));
+        assertEquals(2, metrics.getWaitTimes().getCount());
+        assertEquals(10_000, metrics.getWaitTimes().getMax());
+        assertEquals(1, metrics.getTickLatencies().getCount());
+        assertEquals(1, metrics.getMatchesPerTick().getMax());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("createModes")
+    @DisplayName("updatePlayer should move the player to its new bucket and keep its future.")
+    void updatePlayerShouldMoveThePlayerToItsNewBucketAndKeepItsFuture(final String mode, final UnaryOperator<DecisionTreeMatchmakerBuilder<DummyPlayer, Set<DummyPlayer>>> configuration) {
+        // Given
+        final Matchmaker<DummyPlayer, Set<DummyPlayer>> matchmaker = createMatchmaker(configuration);
+        final DummyPlayer first = new DummyPlayer("first", 5);
+        final DummyPlayer second = new DummyPlayer("second", 15);
+
+        final CompletableFuture<Set<DummyPlayer>> future = matchmaker.awaitMatch(first);
+        matchmaker.addPlayer(second);
+
+        assertTrue(matchmaker.makeMatch().isEmpty());
+
+        // When
+        first.rank = 12;
+        matchmaker.updatePlayer(first);
+
+        final Set<Set<DummyPlayer>> matches = matchmaker.makeMatch();
+
+        // Then
+        assertEquals(Collections.singleton(new HashSet<>(asList(first, second))), matches);
+        assertEquals(new HashSet<>(asList(first, second)), future.join());
+        assertTrue(matchmaker.makeMatch().isEmpty());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("createModes")
+    @DisplayName("updatePlayer should keep the time the player joined the lobby.")
+    void updatePlayerShouldKeepTheTimeThePlayerJoinedTheLobby(final String mode, final UnaryOperator<DecisionTreeMatchmakerBuilder<DummyPlayer, Set<DummyPlayer>>> configuration) {
+        // Given
+        final MutableClock clock = new MutableClock();
+        final AggregatingMatchmakerMetrics metrics = new AggregatingMatchmakerMetrics();
+        final Matchmaker<DummyPlayer, Set<DummyPlayer>> matchmaker = createMatchmaker(builder -> configuration.apply(builder).clock(clock).metrics(metrics));
+        final DummyPlayer first = new DummyPlayer("first", 5);
+
+        matchmaker.addPlayer(first);
+        clock.advance(Duration.ofSeconds(10));
+
+        // When
+        first.rank = 15;
+        matchmaker.updatePlayer(first);
+        matchmaker.addPlayer(new DummyPlayer("second", 15));
+        matchmaker.makeMatch();
+
+        // Then
+        assertEquals(2, metrics.getWaitTimes().getCount());
+        assertEquals(10_000, metrics.getWaitTimes().getMax());
+        assertTrue(metrics.getBucketSizes().isEmpty());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("createModes")
+    @DisplayName("updatePlayer should add the player if it is not present.")
+    void updatePlayerShouldAddThePlayerIfItIsNotPresent(final String mode, final UnaryOperator<DecisionTreeMatchmakerBuilder<DummyPlayer, Set<DummyPlayer>>> configuration) {
+        // Given
+        final Matchmaker<DummyPlayer, Set<DummyPlayer>> matchmaker = createMatchmaker(configuration);
+        final DummyPlayer first = new DummyPlayer("first", 5);
+        final DummyPlayer second = new DummyPlayer("second", 7);
+
+        // When
+        matchmaker.updatePlayer(first);
+        matchmaker.addPlayer(second);
+
+        // Then
+        assertEquals(Collections.singleton(new HashSet<>(asList(first, second))), matchmaker.makeMatch());
+    }
+
+    @Test
+    @DisplayName("widen should throw IllegalArgumentException when the thresholds are not strictly increasing.")
+    void widenShouldThrowIllegalArgumentExceptionWhenTheThresholdsAreNotStrictlyIncreasing() {
+        // Expect
+        assertThrows(IllegalArgumentException.class,
+                () -> Matchmakers.<DummyPlayer, Set<DummyPlayer>>decisionTree().widen(0, Duration.ofSeconds(30), Duration.ofSeconds(30)));
+    }
+
+    @Test
+    @DisplayName("build should throw IllegalArgumentException when the widened classifier does not exist.")
+    void buildShouldThrowIllegalArgumentExceptionWhenTheWidenedClassifierDoesNotExist() {
+        // Expect
+        assertThrows(IllegalArgumentException.class, () -> createMatchmaker(builder -> builder.widen(1, Duration.ofSeconds(30))));
+    }
+
+    @Test
+    @DisplayName("buffered mode should apply additions and removals in order at the start of the tick.")
+    void bufferedModeShouldApplyAdditionsAndRemovalsInOrderAtTheStartOfTheTick() {
+        // Given
+        final Matchmaker<DummyPlayer, Set<DummyPlayer>> matchmaker = createMatchmaker(DecisionTreeMatchmakerBuilder::buffered);
+        final DummyPlayer readded = new DummyPlayer("readded", 5);
+
+        // When
+        matchmaker.addPlayer(readded);
+        matchmaker.removePlayer(readded);
+        matchmaker.addPlayer(readded);
+        matchmaker.addPlayer(new DummyPlayer("other", 7));
+
+        // Then
+        assertEquals(1, matchmaker.makeMatch().size());
+    }
+
+    @Test
+    @DisplayName("tracking dirty buckets should skip unchanged buckets whose predicate failed.")
+    void trackingDirtyBucketsShouldSkipUnchangedBucketsWhosePredicateFailed() {
+        // Given
+        final AtomicInteger evaluationCount = new AtomicInteger();
+        final MatchFunction<DummyPlayer, Set<DummyPlayer>> matchFunction = MatchFunction.<DummyPlayer, Set<DummyPlayer>>builder()
+                .predicate(BucketMatcher.<DummyPlayer>hasAtLeast(1).and(ctx -> evaluationCount.incrementAndGet() >= MATCH_SIZE))
+                .supplier(picker -> toSet(picker.pickMany(MATCH_SIZE)))
+                .build();
+
+        final Matchmaker<DummyPlayer, Set<DummyPlayer>> matchmaker = Matchmakers.<DummyPlayer, Set<DummyPlayer>>decisionTree()
+                .matchFunction(matchFunction)
+                .trackDirtyBuckets()
+                .build();
+
+        // When
+        matchmaker.addPlayer(new DummyPlayer("first", 5));
+        matchmaker.makeMatch();
+        matchmaker.makeMatch();
+
+        // Then
+        assertEquals(1, evaluationCount.get());
+
+        // When
+        matchmaker.addPlayer(new DummyPlayer("second", 7));
+
+        // Then
+        assertEquals(1, matchmaker.makeMatch().size());
+        assertEquals(2, evaluationCount.get());
+        assertTrue(matchmaker.makeMatch().isEmpty());
+    }
+
+    @Test
+    @DisplayName("sparse tree tracking dirty buckets should not keep the buckets created for players already present.")
+    void sparseTreeTrackingDirtyBucketsShouldNotKeepTheBucketsCreatedForPlayersAlreadyPresent() {
+        // Given
+        final DecisionTreeMatchmaker<DummyPlayer, Set<DummyPlayer>> matchmaker =
+                (DecisionTreeMatchmaker<DummyPlayer, Set<DummyPlayer>>) createMatchmaker(builder -> builder.sparse().concurrent().trackDirtyBuckets());
+        final DummyPlayer player = new DummyPlayer("player", 5);
+
+        matchmaker.addPlayer(player);
+
+        // When
+        player.rank = 15;
+        matchmaker.addPlayer(player);
+        matchmaker.awaitMatch(player);
+        matchmaker.addPlayers(Collections.singletonList(player));
+        matchmaker.makeMatch();
+
+        // Then
+        assertEquals(1, matchmaker.getAllocatedBucketCount());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("createModes")
+    @DisplayName("draining match functions should make every possible match from a bucket in one call.")
+    void drainingMatchFunctionsShouldMakeEveryPossibleMatchFromABucketInOneCall(final String mode, final UnaryOperator<DecisionTreeMatchmakerBuilder<DummyPlayer, Set<DummyPlayer>>> configuration) {
+        // Given
+        final Matchmaker<DummyPlayer, Set<DummyPlayer>> matchmaker = createMatchmaker(configuration, MatchFunction.MatchFunctionBuilder::drain);
+
+        for (int i = 0; i < 7; ++i) {
+            matchmaker.addPlayer(new DummyPlayer("player" + i, 5));
+        }
+
+        // Expect
+        assertEquals(3, matchmaker.makeMatch().size());
+        assertTrue(matchmaker.makeMatch().isEmpty());
+    }
+
+    @Test
+    @DisplayName("draining match functions should respect the maximum number of matches per bucket.")
+    void drainingMatchFunctionsShouldRespectTheMaximumNumberOfMatchesPerBucket() {
+        // Given
+        final Matchmaker<DummyPlayer, Set<DummyPlayer>> matchmaker = createMatchmaker(UnaryOperator.identity(), builder -> builder.drain(2));
+
+        for (int i = 0; i < 7; ++i) {
+            matchmaker.addPlayer(new DummyPlayer("player" + i, 5));
+        }
+
+        // Expect
+        assertEquals(2, matchmaker.makeMatch().size());
+        assertEquals(1, matchmaker.makeMatch().size());
+        assertTrue(matchmaker.makeMatch().isEmpty());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("createModes")
+    @DisplayName("makeMatch should make a match from every bucket.")
+    void makeMatchShouldMakeAMatchFromEveryBucket(final String mode, final UnaryOperator<DecisionTreeMatchmakerBuilder<DummyPlayer, Set<DummyPlayer>>> configuration) {
+        // Given
+        final int bucketCount = 100;
+        final MatchFunction<DummyPlayer, Set<DummyPlayer>> matchFunction = MatchFunction.<DummyPlayer, Set<DummyPlayer>>builder()
+                .predicate(hasAtLeast(MATCH_SIZE))
+                .supplier(picker -> toSet(picker.pickMany(MATCH_SIZE)))
+                .build();
+
+        final DecisionTreeMatchmakerBuilder<DummyPlayer, Set<DummyPlayer>> builder = Matchmakers.<DummyPlayer, Set<DummyPlayer>>decisionTree()
+                .classifier(Classifiers.openInterval(IntStream.range(1, bucketCount).toArray(), DummyPlayer::getRank))
+                .matchFunction(matchFunction);
+
+        final Matchmaker<DummyPlayer, Set<DummyPlayer>> matchmaker = configuration.apply(builder).build();
+
+        for (int i = 0; i < bucketCount * MATCH_SIZE; ++i) {
+            matchmaker.addPlayer(new DummyPlayer("player" + i, i % bucketCount));
+        }
+
+        // When
+        final Set<Set<DummyPlayer>> matches = matchmaker.makeMatch();
+
+        // Then
+        assertEquals(bucketCount, matches.size());
+        matches.forEach(match -> assertEquals(1, match.stream().mapToInt(DummyPlayer::getRank).distinct().count()));
+        assertTrue(matchmaker.makeMatch().isEmpty());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("createModes")
+    @DisplayName("concurrent joins and ticks should match every player exactly once.")
+    void concurrentJoinsAndTicksShouldMatchEveryPlayerExactlyOnce(final String mode, final UnaryOperator<DecisionTreeMatchmakerBuilder<DummyPlayer, Set<DummyPlayer>>> configuration) throws Exception {
+        // Given
+        final Matchmaker<DummyPlayer, Set<DummyPlayer>> matchmaker = createMatchmaker(configuration);
+        final int threadCount = 4;
+        final int playersPerThread = 1000;
+        final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        final List<DummyPlayer> matchedPlayers = new ArrayList<>();
+
+        // When
+        final List<Future<?>> joins = new ArrayList<>();
+
+        for (int thread = 0; thread < threadCount; ++thread) {
+            final int offset = thread * playersPerThread;
+
+            joins.add(executor.submit(() -> {
+                for (int i = 0; i < playersPerThread; ++i) {
+                    matchmaker.addPlayer(new DummyPlayer("player" + (offset + i), (offset + i) % 20));
+                }
+            }));
+        }
+
+        while (!joins.stream().allMatch(Future::isDone)) {
+            matchmaker.makeMatch().forEach(matchedPlayers::addAll);
+        }
+
+        for (Future<?> join : joins) {
+            join.get();
+        }
+
+        executor.shutdown();
+
+        Set<Set<DummyPlayer>> matches;
+
+        while (!(matches = matchmaker.makeMatch()).isEmpty()) {
+            matches.forEach(matchedPlayers::addAll);
+        }
+
+        // Then
+        assertEquals(threadCount * playersPerThread, matchedPlayers.size());
+        assertEquals(threadCount * playersPerThread, new HashSet<>(matchedPlayers).size());
+    }
+
+    private static Stream<Arguments> createModes() {
+        return Stream.of(
+            mode("dense", UnaryOperator.identity()),
+            mode("sparse", DecisionTreeMatchmakerBuilder::sparse),
+            mode("concurrent", DecisionTreeMatchmakerBuilder::concurrent),
+            mode("sparse concurrent", builder -> builder.sparse().concurrent()),
+            mode("buffered", DecisionTreeMatchmakerBuilder::buffered),
+            mode("buffered concurrent", builder -> builder.buffered().concurrent()),
+            mode("tracking dirty buckets", DecisionTreeMatchmakerBuilder::trackDirtyBuckets),
+            mode("sparse concurrent tracking dirty buckets", builder -> builder.sparse().concurrent().trackDirtyBuckets()),
+            mode("parallel", DecisionTreeMatchmakerBuilder::parallel),
+            mode("parallel concurrent tracking dirty buckets", builder -> builder.parallel().concurrent().trackDirtyBuckets())
+        );
+    }
+
+    private static Arguments mode(final String name, final UnaryOperator<DecisionTreeMatchmakerBuilder<DummyPlayer, Set<DummyPlayer>>> configuration) {
+        return Arguments.of(name, configuration);
+    }
+
+    private static Matchmaker<DummyPlayer, Set<DummyPlayer>> createMatchmaker(final UnaryOperator<DecisionTreeMatchmakerBuilder<DummyPlayer, Set<DummyPlayer>>> configuration) {
+        return createMatchmaker(configuration, UnaryOperator.identity());
+    }
+
+    private static Matchmaker<DummyPlayer, Set<DummyPlayer>> createMatchmaker(final UnaryOperator<DecisionTreeMatchmakerBuilder<DummyPlayer, Set<DummyPlayer>>> configuration,
+                                                                            final UnaryOperator<MatchFunction.MatchFunctionBuilder<DummyPlayer, Set<DummyPlayer>>> functionConfiguration) {
+        final MatchFunction<DummyPlayer, Set<DummyPlayer>> matchFunction = functionConfiguration.apply(MatchFunction.<DummyPlayer, Set<DummyPlayer>>builder())
+                .predicate(hasAtLeast(MATCH_SIZE))
+                .supplier(picker -> toSet(picker.pickMany(MATCH_SIZE)))
+                .build();
+
+        final DecisionTreeMatchmakerBuilder<DummyPlayer, Set<DummyPlayer>> builder = Matchmakers.<DummyPlayer, Set<DummyPlayer>>decisionTree()
+                .classifier(Classifiers.openInterval(new int[] {10}, DummyPlayer::getRank))
+                .matchFunction(matchFunction);
+
+        return configuration.apply(builder).build();
+    }
+
+    private static Set<DummyPlayer> toSet(final List<DummyPlayer> players) {
+        return new HashSet<>(players);
+    }
+
+    private static final class MutableClock extends Clock {
+        private long millis;
+
+        private void advance(final Duration duration) {
+            millis += duration.toMillis();
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+    }
+
+    private static final class DummyPlayer {
+        private final String name;
+
+        private int rank;
+
+        private DummyPlayer(final String name, final int rank) {
+            this.name = name;
+            this.rank = rank;
+        }
+
+        private int getRank() {
+            return rank;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.codeosseum.eligo.matchmaker.decisiontree;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.codeosseum.eligo.classifier.IntClassifiers;
+import com.codeosseum.eligo.matchmaker.IntMatchmaker;
+import com.codeosseum.eligo.matchmaker.Matchmakers;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static com.codeosseum.eligo.matchmaker.decisiontree.IntBucketMatcher.hasAtLeast;
+
+class IntDecisionTreeMatchmakerTest {
+    private static final int MATCH_SIZE = 2;
+
+    private static final int[] RANKS = {5, 7, 15, 3, 12};
+
+    @Test
+    @DisplayName("makeMatch should match players of the same bucket and remove them from the lobby.")
+    void makeMatchShouldMatchPlayersOfTheSameBucketAndRemoveThemFromTheLobby() {
+        // Given
+        final IntMatchmaker<List<Integer>> matchmaker = createMatchmaker(IntMatchFunction.builder());
+
+        matchmaker.addPlayer(0);
+        matchmaker.addPlayer(1);
+        matchmaker.addPlayer(2);
+
+        // When
+        final Set<List<Integer>> matches = matchmaker.makeMatch();
+
+        // Then
+        assertEquals(singleton(asList(0, 1)), matches);
+        assertTrue(matchmaker.makeMatch().isEmpty());
+    }
+
+    @Test
+    @DisplayName("removePlayer should remove the player from the lobby.")
+    void removePlayerShouldRemoveThePlayerFromTheLobby() {
+        // Given
+        final IntMatchmaker<List<Integer>> matchmaker = createMatchmaker(IntMatchFunction.builder());
+
+        matchmaker.addPlayer(0);
+        matchmaker.addPlayer(1);
+
+        // When
+        matchmaker.removePlayer(1);
+        matchmaker.removePlayer(3);
+        matchmaker.addPlayer(0);
+
+        // Then
+        assertTrue(matchmaker.makeMatch().isEmpty());
+    }
+
+    @Test
+    @DisplayName("updatePlayer should move the player to its new bucket.")
+    void updatePlayerShouldMoveThePlayerToItsNewBucket() {
+        // Given
+        final int[] ranks = {5, 15};
+        final IntMatchmaker<List<Integer>> matchmaker = Matchmakers.<List<Integer>>intDecisionTree()
+                .classifier(IntClassifiers.openInterval(new int[] {10}, id -> ranks[id]))
+                .matchFunction(IntMatchFunction.<List<Integer>>builder()
+                        .predicate(hasAtLeast(MATCH_SIZE))
+                        .supplier(picker -> toSortedList(picker.pickMany(MATCH_SIZE)))
+                        .build())
+                .build();
+
+        matchmaker.addPlayer(0);
+        matchmaker.addPlayer(1);
+
+        assertTrue(matchmaker.makeMatch().isEmpty());
+
+        // When
+        ranks[0] = 12;
+        matchmaker.updatePlayer(0);
+
+        // Then
+        assertEquals(singleton(asList(0, 1)), matchmaker.makeMatch());
+    }
+
+    @Test
+    @DisplayName("makeMatchAndKeepPlayers should keep the matched players in the lobby.")
+    void makeMatchAndKeepPlayersShouldKeepTheMatchedPlayersInTheLobby() {
+        // Given
+        final IntMatchmaker<List<Integer>> matchmaker = createMatchmaker(IntMatchFunction.builder());
+
+        matchmaker.addPlayer(2);
+        matchmaker.addPlayer(4);
+
+        // When
+        final Set<List<Integer>> kept = matchmaker.makeMatchAndKeepPlayers();
+
+        // Then
+        assertEquals(singleton(asList(2, 4)), kept);
+        assertEquals(kept, matchmaker.makeMatch());
+    }
+
+    @Test
+    @DisplayName("draining match functions should match every player of a large lobby exactly once.")
+    void drainingMatchFunctionsShouldMatchEveryPlayerOfALargeLobbyExactlyOnce() {
+        // Given
+        final IntMatchmaker<List<Integer>> matchmaker = Matchmakers.<List<Integer>>intDecisionTree()
+                .classifier(IntClassifiers.indexed(4, id -> id % 4))
+                .matchFunction(IntMatchFunction.<List<Integer>>builder()
+                        .predicate(hasAtLeast(MATCH_SIZE))
+                        .supplier(picker -> toSortedList(picker.pickMany(MATCH_SIZE)))
+                        .drain()
+                        .build())
+                .build();
+
+        IntStream.range(0, 10_000).forEach(matchmaker::addPlayer);
+        IntStream.range(0, 10_000).filter(id -> id % 10 == 0).forEach(matchmaker::removePlayer);
+
+        // When
+        final Set<List<Integer>> matches = matchmaker.makeMatch();
+
+        // Then
+        final Set<Integer> matchedPlayers = new HashSet<>();
+
+        matches.forEach(match -> {
+            assertEquals(match.get(0) % 4, match.get(1) % 4);
+            assertTrue(match.get(0) % 10 != 0 && match.get(1) % 10 != 0);
+
+            matchedPlayers.addAll(match);
+        });
+
+        assertEquals(9_000, matchedPlayers.size());
+        assertTrue(matchmaker.makeMatch().isEmpty());
+    }
+
+    private static IntMatchmaker<List<Integer>> createMatchmaker(final IntMatchFunction.IntMatchFunctionBuilder<List<Integer>> functionBuilder) {
+        return Matchmakers.<List<Integer>>intDecisionTree()
+                .classifier(IntClassifiers.openInterval(new int[] {10}, id -> RANKS[id]))
+                .matchFunction(functionBuilder
+                        .predicate(hasAtLeast(MATCH_SIZE))
+                        .supplier(picker -> toSortedList(picker.pickMany(MATCH_SIZE)))
+                        .build())
+                .build();
+    }
+
+    private static List<Integer> toSortedList(final int[] playerIds) {
+        Arrays.sort(playerIds);
+
+        return asList(Arrays.stream(playerIds).boxed().toArray(Integer[]::new));
+    }
+}
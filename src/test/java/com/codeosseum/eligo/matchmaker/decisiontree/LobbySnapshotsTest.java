@@ -0,0 +1,220 @@
+package com.codeosseum.eligo.matchmaker.decisiontree;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.codeosseum.eligo.classifier.Classifiers;
+import com.codeosseum.eligo.matchmaker.Matchmaker;
+import com.codeosseum.eligo.matchmaker.Matchmakers;
+import com.codeosseum.eligo.matchmaker.PlayerCodec;
+
+import static java.util.Arrays.asList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static com.codeosseum.eligo.matchmaker.decisiontree.BucketMatcher.hasAtLeast;
+
+class LobbySnapshotsTest {
+    private static final PlayerCodec<DummyPlayer> CODEC = new DummyPlayerCodec();
+
+    private Path path;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        path = Files.createTempFile("lobby", ".snapshot");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @ParameterizedTest(name = "window size {0}")
+    @ValueSource(ints = {1, 16, 1 << 20})
+    @DisplayName("read should restore the players written by write into their buckets.")
+    void readShouldRestoreThePlayersWrittenByWriteIntoTheirBuckets(final int windowSize) throws IOException {
+        // Given
+        final Matchmaker<DummyPlayer, Set<DummyPlayer>> source = createMatchmaker(Clock.systemUTC(), 10);
+        final List<DummyPlayer> players = IntStream.range(0, 100)
+                .mapToObj(i -> new DummyPlayer("player " + i, i % 20))
+                .collect(Collectors.toList());
+
+        source.addPlayers(players);
+
+        final Matchmaker<DummyPlayer, Set<DummyPlayer>> target = createMatchmaker(Clock.systemUTC(), 10);
+
+        // When
+        final int written = LobbySnapshots.write(source, CODEC, path, windowSize);
+        final int read = LobbySnapshots.read(target, CODEC, path, windowSize);
+
+        // Then
+        assertEquals(players.size(), written);
+        assertEquals(players.size(), read);
+
+        final Set<Set<DummyPlayer>> matches = target.makeMatch();
+
+        assertEquals(new HashSet<>(players), matches.stream().flatMap(Set::stream).collect(Collectors.toSet()));
+        assertTrue(matches.stream().allMatch(match -> match.stream().map(player -> player.rank < 10).distinct().count() == 1));
+    }
+
+    @Test
+    @DisplayName("read should preserve the waiting times of the players.")
+    void readShouldPreserveTheWaitingTimesOfThePlayers() throws IOException {
+        // Given
+        final DummyPlayer low = new DummyPlayer("low", 5);
+        final DummyPlayer high = new DummyPlayer("high", 15);
+
+        final Matchmaker<DummyPlayer, Set<DummyPlayer>> source = createMatchmaker(clockAt(Duration.ZERO), 10);
+
+        source.addPlayers(asList(low, high));
+        LobbySnapshots.write(source, CODEC, path);
+
+        final DecisionTreeMatchmakerBuilder<DummyPlayer, Set<DummyPlayer>> builder = builder(clockAt(Duration.ofSeconds(30)), 10)
+                .trackDirtyBuckets()
+                .widen(0, Duration.ofSeconds(30));
+        final Matchmaker<DummyPlayer, Set<DummyPlayer>> target = builder.build();
+
+        // When
+        LobbySnapshots.read(target, CODEC, path);
+
+        // Then
+        assertEquals(Collections.singleton(new HashSet<>(asList(low, high))), target.makeMatch());
+    }
+
+    @Test
+    @DisplayName("read should throw IllegalArgumentException when the classifiers have different class counts.")
+    void readShouldThrowIllegalArgumentExceptionWhenTheClassifiersHaveDifferentClassCounts() throws IOException {
+        // Given
+        LobbySnapshots.write(createMatchmaker(Clock.systemUTC(), 10), CODEC, path);
+
+        // Expect
+        assertThrows(IllegalArgumentException.class, () -> LobbySnapshots.read(builder(Clock.systemUTC(), 10, 20).build(), CODEC, path));
+    }
+
+    @Test
+    @DisplayName("read should throw StreamCorruptedException when the file is not a snapshot.")
+    void readShouldThrowStreamCorruptedExceptionWhenTheFileIsNotASnapshot() throws IOException {
+        // Given
+        Files.write(path, "not a snapshot of a lobby".getBytes(StandardCharsets.UTF_8));
+
+        // Expect
+        assertThrows(StreamCorruptedException.class, () -> LobbySnapshots.read(createMatchmaker(Clock.systemUTC(), 10), CODEC, path));
+    }
+
+    @Test
+    @DisplayName("write should throw IllegalArgumentException when the matchmaker is not a decision tree matchmaker.")
+    void writeShouldThrowIllegalArgumentExceptionWhenTheMatchmakerIsNotADecisionTreeMatchmaker() {
+        // Given
+        final Matchmaker<DummyPlayer, List<DummyPlayer>> matchmaker = Matchmakers.<DummyPlayer, List<DummyPlayer>>ratingWindow()
+                .rating(DummyPlayer::getRank)
+                .supplier(players -> players)
+                .build();
+
+        // Expect
+        assertThrows(IllegalArgumentException.class, () -> LobbySnapshots.write(matchmaker, CODEC, path));
+    }
+
+    private static Matchmaker<DummyPlayer, Set<DummyPlayer>> createMatchmaker(final Clock clock, final int... boundaries) {
+        return builder(clock, boundaries).build();
+    }
+
+    private static DecisionTreeMatchmakerBuilder<DummyPlayer, Set<DummyPlayer>> builder(final Clock clock, final int... boundaries) {
+        final MatchFunction<DummyPlayer, Set<DummyPlayer>> matchFunction = MatchFunction.<DummyPlayer, Set<DummyPlayer>>builder()
+                .predicate(hasAtLeast(2))
+                .supplier(picker -> new HashSet<>(picker.pickMany(2)))
+                .drain()
+                .build();
+
+        return Matchmakers.<DummyPlayer, Set<DummyPlayer>>decisionTree()
+                .classifier(Classifiers.openInterval(boundaries, DummyPlayer::getRank))
+                .matchFunction(matchFunction)
+                .clock(clock);
+    }
+
+    private static Clock clockAt(final Duration time) {
+        return Clock.fixed(Instant.ofEpochMilli(time.toMillis()), ZoneOffset.UTC);
+    }
+
+    private static final class DummyPlayerCodec implements PlayerCodec<DummyPlayer> {
+        @Override
+        public void encode(final DummyPlayer player, final ByteBuffer buffer) {
+            final byte[] name = player.name.getBytes(StandardCharsets.UTF_8);
+
+            buffer.putInt(player.rank).put(name);
+        }
+
+        @Override
+        public DummyPlayer decode(final ByteBuffer buffer) {
+            final int rank = buffer.getInt();
+            final byte[] name = new byte[buffer.remaining()];
+
+            buffer.get(name);
+
+            return new DummyPlayer(new String(name, StandardCharsets.UTF_8), rank);
+        }
+    }
+
+    private static final class DummyPlayer {
+        private final String name;
+
+        private final int rank;
+
+        private DummyPlayer(final String name, final int rank) {
+            this.name = name;
+            this.rank = rank;
+        }
+
+        private int getRank() {
+            return rank;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (this == other) {
+                return true;
+            }
+
+            if (!(other instanceof DummyPlayer)) {
+                return false;
+            }
+
+            final DummyPlayer that = (DummyPlayer) other;
+
+            return rank == that.rank && name.equals(that.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, rank);
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.codeosseum.eligo.matchmaker.decisiontree;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static java.util.Arrays.asList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PlayerPickerTest {
+    private static final List<Integer> PLAYERS = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+
+    @Test
+    @DisplayName("pickMany should pick distinct players.")
+    void pickManyShouldPickDistinctPlayers() {
+        // Given
+        final PlayerPicker<Integer> picker = new PlayerPicker<>(PLAYERS);
+
+        // When
+        final List<Integer> first = picker.pickMany(60);
+        final List<Integer> second = picker.pickMany(40);
+
+        // Then
+        final HashSet<Integer> picked = new HashSet<>(first);
+        picked.addAll(second);
+
+        assertEquals(new HashSet<>(PLAYERS), picked);
+        assertEquals(0, picker.getAvailablePlayerCount());
+        assertEquals(100, picker.getSelectedPlayerCount());
+        assertThrows(IllegalStateException.class, picker::pickSingle);
+    }
+
+    @Test
+    @DisplayName("pickMany should throw IllegalArgumentException if count is invalid.")
+    void pickManyShouldThrowIllegalArgumentExceptionIfCountIsInvalid() {
+        // Given
+        final PlayerPicker<Integer> picker = new PlayerPicker<>(PLAYERS);
+
+        // Expect
+        assertThrows(IllegalArgumentException.class, () -> picker.pickMany(0));
+        assertThrows(IllegalArgumentException.class, () -> picker.pickMany(101));
+    }
+
+    @Test
+    @DisplayName("pickSingle with predicate should only pick matching players.")
+    void pickSingleWithPredicateShouldOnlyPickMatchingPlayers() {
+        // Given
+        final PlayerPicker<Integer> picker = new PlayerPicker<>(PLAYERS);
+
+        // When
+        final List<Integer> picked = IntStream.range(0, 10)
+                .mapToObj(i -> picker.pickSingle(player -> player % 10 == 0))
+                .collect(Collectors.toList());
+
+        // Then
+        assertEquals(IntStream.range(0, 10).mapToObj(i -> i * 10).collect(Collectors.toSet()), new HashSet<>(picked));
+        assertThrows(IllegalStateException.class, () -> picker.pickSingle(player -> player % 10 == 0));
+    }
+
+    @Test
+    @DisplayName("pickMany with predicate should not pick anyone if there are not enough matching players.")
+    void pickManyWithPredicateShouldNotPickAnyoneIfThereAreNotEnoughMatchingPlayers() {
+        // Given
+        final PlayerPicker<Integer> picker = new PlayerPicker<>(PLAYERS);
+
+        // Expect
+        assertThrows(IllegalArgumentException.class, () -> picker.pickMany(11, player -> player % 10 == 0));
+        assertEquals(0, picker.getSelectedPlayerCount());
+        assertEquals(10, picker.pickMany(10, player -> player % 10 == 0).size());
+    }
+
+    @Test
+    @DisplayName("reset should make the selected players available again.")
+    void resetShouldMakeTheSelectedPlayersAvailableAgain() {
+        // Given
+        final PlayerPicker<Integer> picker = new PlayerPicker<>(asList(1, 2, 3));
+
+        // When
+        picker.pickMany(3);
+        picker.reset();
+
+        // Then
+        assertEquals(3, picker.getAvailablePlayerCount());
+        assertEquals(new HashSet<>(asList(1, 2, 3)), new HashSet<>(picker.pickMany(3)));
+    }
+
+    @Test
+    @DisplayName("pickSingle should pick every player with similar probability.")
+    void pickSingleShouldPickEveryPlayerWithSimilarProbability() {
+        // Given
+        final List<Integer> players = asList(1, 2, 3);
+        final Map<Integer, Integer> pickCounts = new HashMap<>();
+
+        // When
+        for (int i = 0; i < 3000; ++i) {
+            pickCounts.merge(new PlayerPicker<>(players).pickSingle(), 1, Integer::sum);
+        }
+
+        // Then
+        players.forEach(player -> assertTrue(pickCounts.getOrDefault(player, 0) > 800));
+    }
+}
@@ -0,0 +1,471 @@
+package com.codeosseum.eligo.matchmaker.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.codeosseum.eligo.classifier.Classifiers;
+import com.codeosseum.eligo.matchmaker.Matchmaker;
+import com.codeosseum.eligo.matchmaker.Matchmakers;
+import com.codeosseum.eligo.matchmaker.PlayerCodec;
+import com.codeosseum.eligo.matchmaker.decisiontree.LobbySnapshots;
+import com.codeosseum.eligo.matchmaker.decisiontree.MatchFunction;
+
+import static java.util.Arrays.asList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static com.codeosseum.eligo.matchmaker.decisiontree.BucketMatcher.hasAtLeast;
+
+class MatchmakerJournalTest {
+    private static final PlayerCodec<String> CODEC = new StringCodec();
+
+    private Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("journal");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("replay should apply the additions, removals and matches recorded before the restart.")
+    void replayShouldApplyTheAdditionsRemovalsAndMatchesRecordedBeforeTheRestart() throws IOException {
+        // Given
+        try (MatchmakerJournal<String> journal = MatchmakerJournal.open(directory, CODEC)) {
+            final Matchmaker<String, Set<String>> matchmaker = journal.journaling(createMatchmaker(), match -> match);
+
+            matchmaker.addPlayers(asList("first", "second"));
+            matchmaker.makeMatch();
+            matchmaker.addPlayer("third");
+            matchmaker.addPlayer("fourth");
+            matchmaker.removePlayer("third");
+            matchmaker.awaitMatch("fifth");
+        }
+
+        final Matchmaker<String, Set<String>> restored = createMatchmaker();
+
+        // When
+        final int operationCount;
+
+        try (MatchmakerJournal<String> journal = MatchmakerJournal.open(directory, CODEC)) {
+            operationCount = journal.replay(restored);
+        }
+
+        // Then
+        assertEquals(8, operationCount);
+        assertEquals(asSet("fourth", "fifth"), lobbyOf(restored));
+    }
+
+    @Test
+    @DisplayName("replay should apply the recorded updates.")
+    void replayShouldApplyTheRecordedUpdates() throws IOException {
+        // Given
+        try (MatchmakerJournal<String> journal = MatchmakerJournal.open(directory, CODEC)) {
+            final Matchmaker<String, Set<String>> matchmaker = journal.journaling(createMatchmaker(), match -> match);
+
+            matchmaker.updatePlayer("first");
+            matchmaker.addPlayer("second");
+            matchmaker.updatePlayer("second");
+        }
+
+        final Matchmaker<String, Set<String>> restored = createMatchmaker();
+
+        // When
+        final int operationCount;
+
+        try (MatchmakerJournal<String> journal = MatchmakerJournal.open(directory, CODEC)) {
+            operationCount = journal.replay(restored);
+        }
+
+        // Then
+        assertEquals(3, operationCount);
+        assertEquals(asSet("first", "second"), lobbyOf(restored));
+    }
+
+    @Test
+    @DisplayName("sync should let concurrent callers share writes.")
+    void syncShouldLetConcurrentCallersShareWrites() throws Exception {
+        // Given
+        final int threadCount = 8;
+        final int playersPerThread = 100;
+        final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        final long syncCount;
+
+        try (MatchmakerJournal<String> journal = MatchmakerJournal.open(directory, CODEC)) {
+            final Matchmaker<String, Set<String>> matchmaker = journal.journaling(createMatchmaker(), match -> match);
+
+            // When
+            final List<Future<?>> futures = new ArrayList<>();
+
+            for (int thread = 0; thread < threadCount; ++thread) {
+                final int offset = thread * playersPerThread;
+
+                futures.add(executor.submit(() -> IntStream.range(offset, offset + playersPerThread)
+                        .forEach(i -> matchmaker.addPlayer("player " + i))));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+
+            syncCount = journal.getSyncCount();
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        final Matchmaker<String, Set<String>> restored = createMatchmaker();
+
+        try (MatchmakerJournal<String> journal = MatchmakerJournal.open(directory, CODEC)) {
+            journal.replay(restored);
+        }
+
+        assertTrue(syncCount <= threadCount * playersPerThread);
+        assertEquals(threadCount * playersPerThread, lobbyOf(restored).size());
+    }
+
+    @Test
+    @DisplayName("checkpoint should delete the segments covered by the snapshot.")
+    void checkpointShouldDeleteTheSegmentsCoveredByTheSnapshot() throws IOException {
+        // Given
+        final Path snapshot = Files.createTempFile("lobby", ".snapshot");
+
+        try {
+            try (MatchmakerJournal<String> journal = MatchmakerJournal.open(directory, CODEC)) {
+                final Matchmaker<String, Set<String>> lobby = createMatchmaker();
+                final Matchmaker<String, Set<String>> matchmaker = journal.journaling(lobby, match -> match);
+
+                matchmaker.addPlayer("first");
+                matchmaker.addPlayer("second");
+
+                // When
+                journal.checkpoint(() -> LobbySnapshots.write(lobby, CODEC, snapshot));
+
+                matchmaker.removePlayer("first");
+                matchmaker.addPlayer("third");
+            }
+
+            // Then
+            final Matchmaker<String, Set<String>> restored = createMatchmaker();
+
+            LobbySnapshots.read(restored, CODEC, snapshot);
+
+            try (MatchmakerJournal<String> journal = MatchmakerJournal.open(directory, CODEC)) {
+                assertEquals(2, journal.replay(restored));
+            }
+
+            assertEquals(asSet("second", "third"), lobbyOf(restored));
+        } finally {
+            Files.deleteIfExists(snapshot);
+        }
+    }
+
+    @Test
+    @DisplayName("replay should stop at a torn record.")
+    void replayShouldStopAtATornRecord() throws IOException {
+        // Given
+        try (MatchmakerJournal<String> journal = MatchmakerJournal.open(directory, CODEC)) {
+            journal.journaling(createMatchmaker(), match -> match).addPlayer("first");
+        }
+
+        try (Stream<Path> segments = Files.list(directory)) {
+            final Path segment = segments.findFirst().orElseThrow(IllegalStateException::new);
+
+            Files.write(segment, new byte[] {0, 0, 0, 9, 1, 2, 3, 4, 1, 'x'}, StandardOpenOption.APPEND);
+        }
+
+        final Matchmaker<String, Set<String>> restored = createMatchmaker();
+
+        // When
+        final int operationCount;
+
+        try (MatchmakerJournal<String> journal = MatchmakerJournal.open(directory, CODEC)) {
+            operationCount = journal.replay(restored);
+        }
+
+        // Then
+        assertEquals(1, operationCount);
+        assertEquals(asSet("first"), lobbyOf(restored));
+    }
+
+    @Test
+    @DisplayName("replay should stop at a record whose length exceeds the segment.")
+    void replayShouldStopAtARecordWhoseLengthExceedsTheSegment() throws IOException {
+        // Given
+        try (MatchmakerJournal<String> journal = MatchmakerJournal.open(directory, CODEC)) {
+            journal.journaling(createMatchmaker(), match -> match).addPlayer("first");
+        }
+
+        try (Stream<Path> segments = Files.list(directory)) {
+            final Path segment = segments.findFirst().orElseThrow(IllegalStateException::new);
+
+            Files.write(segment, new byte[] {0x7F, 0, 0, 0, 1, 2, 3, 4, 1, 'x'}, StandardOpenOption.APPEND);
+        }
+
+        final Matchmaker<String, Set<String>> restored = createMatchmaker();
+
+        // When
+        final int operationCount;
+
+        try (MatchmakerJournal<String> journal = MatchmakerJournal.open(directory, CODEC)) {
+            operationCount = journal.replay(restored);
+        }
+
+        // Then
+        assertEquals(1, operationCount);
+        assertEquals(asSet("first"), lobbyOf(restored));
+    }
+
+    @Test
+    @DisplayName("checkpoint should wait for the recorded operations to be applied.")
+    void checkpointShouldWaitForTheRecordedOperationsToBeApplied() throws Exception {
+        // Given
+        final Path snapshot = Files.createTempFile("lobby", ".snapshot");
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        final Matchmaker<String, Set<String>> lobby = createMatchmaker();
+        final BlockingMatchmaker blocking = new BlockingMatchmaker(lobby);
+
+        try {
+            try (MatchmakerJournal<String> journal = MatchmakerJournal.open(directory, CODEC)) {
+                final Matchmaker<String, Set<String>> matchmaker = journal.journaling(blocking, match -> match);
+
+                final Future<?> addition = executor.submit(() -> matchmaker.addPlayer("first"));
+
+                blocking.entered.await();
+
+                // When
+                final Future<?> checkpoint = executor.submit(() -> {
+                    journal.checkpoint(() -> LobbySnapshots.write(lobby, CODEC, snapshot));
+
+                    return null;
+                });
+
+                Thread.sleep(100);
+                blocking.released.countDown();
+
+                addition.get();
+                checkpoint.get();
+            }
+
+            // Then
+            final Matchmaker<String, Set<String>> restored = createMatchmaker();
+
+            LobbySnapshots.read(restored, CODEC, snapshot);
+
+            try (MatchmakerJournal<String> journal = MatchmakerJournal.open(directory, CODEC)) {
+                journal.replay(restored);
+            }
+
+            assertEquals(asSet("first"), lobbyOf(restored));
+        } finally {
+            executor.shutdown();
+            Files.deleteIfExists(snapshot);
+        }
+    }
+
+    @Test
+    @DisplayName("operations of other players should not wait for an operation being applied.")
+    void operationsOfOtherPlayersShouldNotWaitForAnOperationBeingApplied() throws Exception {
+        // Given
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        final Matchmaker<String, Set<String>> lobby = createMatchmaker();
+        final BlockingMatchmaker blocking = new BlockingMatchmaker(lobby);
+
+        try (MatchmakerJournal<String> journal = MatchmakerJournal.open(directory, CODEC)) {
+            final Matchmaker<String, Set<String>> matchmaker = journal.journaling(blocking, match -> match);
+
+            final Future<?> addition = executor.submit(() -> matchmaker.addPlayer("first"));
+
+            blocking.entered.await();
+
+            // When
+            executor.submit(() -> matchmaker.removePlayer("second")).get(5, TimeUnit.SECONDS);
+
+            // Then
+            assertFalse(addition.isDone());
+
+            blocking.released.countDown();
+            addition.get();
+
+            assertEquals(asSet("first"), lobbyOf(lobby));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("checkpoint should cover every operation recorded before it, even if run concurrently with them.")
+    void checkpointShouldCoverEveryOperationRecordedBeforeItEvenIfRunConcurrentlyWithThem() throws Exception {
+        // Given
+        final int threadCount = 4;
+        final int operationsPerThread = 500;
+        final Path snapshot = Files.createTempFile("lobby", ".snapshot");
+        final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        final Matchmaker<String, Set<String>> lobby = createMatchmaker();
+
+        try {
+            try (MatchmakerJournal<String> journal = MatchmakerJournal.open(directory, CODEC)) {
+                final Matchmaker<String, Set<String>> matchmaker = journal.journaling(lobby, match -> match);
+                final List<Future<?>> futures = new ArrayList<>();
+
+                for (int thread = 0; thread < threadCount; ++thread) {
+                    final int offset = thread * 10;
+
+                    futures.add(executor.submit(() -> {
+                        for (int i = 0; i < operationsPerThread; ++i) {
+                            final String player = "player " + (offset + i % 10);
+
+                            if (i % 3 == 0) {
+                                matchmaker.removePlayer(player);
+                            } else {
+                                matchmaker.addPlayer(player);
+                            }
+                        }
+                    }));
+                }
+
+                // When
+                while (!futures.stream().allMatch(Future::isDone)) {
+                    journal.checkpoint(() -> LobbySnapshots.write(lobby, CODEC, snapshot));
+                }
+
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            }
+
+            // Then
+            final Matchmaker<String, Set<String>> restored = createMatchmaker();
+
+            LobbySnapshots.read(restored, CODEC, snapshot);
+
+            try (MatchmakerJournal<String> journal = MatchmakerJournal.open(directory, CODEC)) {
+                journal.replay(restored);
+            }
+
+            assertEquals(lobbyOf(lobby), lobbyOf(restored));
+        } finally {
+            executor.shutdown();
+            Files.deleteIfExists(snapshot);
+        }
+    }
+
+    private static Matchmaker<String, Set<String>> createMatchmaker() {
+        final MatchFunction<String, Set<String>> matchFunction = MatchFunction.<String, Set<String>>builder()
+                .predicate(hasAtLeast(1))
+                .supplier(picker -> new HashSet<>(picker.pickMany(picker.getAvailablePlayerCount())))
+                .build();
+
+        return Matchmakers.<String, Set<String>>decisionTree()
+                .classifier(Classifiers.openInterval(new int[] {0}, String::length))
+                .matchFunction(matchFunction)
+                .build();
+    }
+
+    private static Set<String> lobbyOf(final Matchmaker<String, Set<String>> matchmaker) {
+        return matchmaker.makeMatchAndKeepPlayers().stream()
+                .flatMap(Set::stream)
+                .collect(Collectors.toSet());
+    }
+
+    private static Set<String> asSet(final String... players) {
+        return new HashSet<>(asList(players));
+    }
+
+    /**
+     * Blocks the first addition between its recording and its application until released.
+     */
+    private static final class BlockingMatchmaker implements Matchmaker<String, Set<String>> {
+        private final Matchmaker<String, Set<String>> matchmaker;
+
+        private final CountDownLatch entered = new CountDownLatch(1);
+
+        private final CountDownLatch released = new CountDownLatch(1);
+
+        private BlockingMatchmaker(final Matchmaker<String, Set<String>> matchmaker) {
+            this.matchmaker = matchmaker;
+        }
+
+        @Override
+        public void addPlayer(final String player) {
+            entered.countDown();
+
+            try {
+                released.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            matchmaker.addPlayer(player);
+        }
+
+        @Override
+        public CompletableFuture<Set<String>> awaitMatch(final String player) {
+            return matchmaker.awaitMatch(player);
+        }
+
+        @Override
+        public void removePlayer(final String player) {
+            matchmaker.removePlayer(player);
+        }
+
+        @Override
+        public Set<Set<String>> makeMatch() {
+            return matchmaker.makeMatch();
+        }
+
+        @Override
+        public Set<Set<String>> makeMatchAndKeepPlayers() {
+            return matchmaker.makeMatchAndKeepPlayers();
+        }
+    }
+
+    private static final class StringCodec implements PlayerCodec<String> {
+        @Override
+        public void encode(final String player, final ByteBuffer buffer) {
+            buffer.put(player.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public String decode(final ByteBuffer buffer) {
+            final byte[] bytes = new byte[buffer.remaining()];
+
+            buffer.get(bytes);
+
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
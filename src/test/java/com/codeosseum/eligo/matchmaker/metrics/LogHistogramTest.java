@@ -0,0 +1,70 @@
+package com.codeosseum.eligo.matchmaker.metrics;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LogHistogramTest {
+    @Test
+    @DisplayName("record should update the count, sum and maximum.")
+    void recordShouldUpdateTheCountSumAndMaximum() {
+        // Given
+        final LogHistogram histogram = new LogHistogram();
+
+        // When
+        histogram.record(3);
+        histogram.record(10);
+        histogram.record(-4);
+
+        // Then
+        assertEquals(3, histogram.getCount());
+        assertEquals(13, histogram.getSum());
+        assertEquals(10, histogram.getMax());
+    }
+
+    @ParameterizedTest(name = "percentile {0} should be {1}")
+    @MethodSource("createPercentiles")
+    @DisplayName("getPercentile should return the upper bound of the bucket containing the percentile.")
+    void getPercentileShouldReturnTheUpperBoundOfTheBucketContainingThePercentile(final double percentile, final long expected) {
+        // Given
+        final LogHistogram histogram = new LogHistogram();
+
+        for (long value = 1; value <= 100; ++value) {
+            histogram.record(value);
+        }
+
+        // Expect
+        assertEquals(expected, histogram.getPercentile(percentile));
+    }
+
+    @Test
+    @DisplayName("getPercentile should return zero if nothing has been recorded.")
+    void getPercentileShouldReturnZeroIfNothingHasBeenRecorded() {
+        // Expect
+        assertEquals(0, new LogHistogram().getPercentile(99));
+    }
+
+    @Test
+    @DisplayName("getPercentile should throw IllegalArgumentException when the percentile is out of range.")
+    void getPercentileShouldThrowIllegalArgumentExceptionWhenThePercentileIsOutOfRange() {
+        // Expect
+        assertThrows(IllegalArgumentException.class, () -> new LogHistogram().getPercentile(101));
+    }
+
+    private static Stream<Arguments> createPercentiles() {
+        return Stream.of(
+            Arguments.of(0, 1),
+            Arguments.of(1, 1),
+            Arguments.of(50, 63),
+            Arguments.of(64, 100),
+            Arguments.of(100, 100)
+        );
+    }
+}
@@ -0,0 +1,393 @@
+package com.codeosseum.eligo.matchmaker.partition;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import com.codeosseum.eligo.classifier.Classifier;
+import com.codeosseum.eligo.classifier.Classifiers;
+import com.codeosseum.eligo.matchmaker.Matchmaker;
+import com.codeosseum.eligo.matchmaker.Matchmakers;
+import com.codeosseum.eligo.matchmaker.decisiontree.MatchFunction;
+
+import static java.util.Arrays.asList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static com.codeosseum.eligo.matchmaker.decisiontree.BucketMatcher.hasAtLeast;
+
+class PartitionedMatchmakerTest {
+    private static final Classifier<DummyPlayer> REGION = Classifiers.openInterval(new int[] {1, 2, 3}, DummyPlayer::getRegion);
+
+    private final List<LoopbackShardTransport<DummyPlayer, Set<DummyPlayer>>> transports = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        transports.forEach(LoopbackShardTransport::close);
+    }
+
+    @ParameterizedTest(name = "region {0} should be routed to shard {1}")
+    @MethodSource("createRoutes")
+    @DisplayName("addPlayer should route the player to the shard covering its class.")
+    void addPlayerShouldRouteThePlayerToTheShardCoveringItsClass(final int region, final int expectedShard) {
+        // Given
+        final List<RecordingShardTransport> shards = asList(new RecordingShardTransport(), new RecordingShardTransport());
+        final Matchmaker<DummyPlayer, Set<DummyPlayer>> matchmaker = createMatchmaker(shards);
+        final DummyPlayer player = new DummyPlayer("player", region);
+
+        // When
+        matchmaker.addPlayer(player);
+
+        // Then
+        for (int i = 0; i < shards.size(); ++i) {
+            assertEquals(i == expectedShard ? 1 : 0, shards.get(i).added.size());
+        }
+    }
+
+    @Test
+    @DisplayName("makeMatch should collect the matches of every shard.")
+    void makeMatchShouldCollectTheMatchesOfEveryShard() {
+        // Given
+        final Matchmaker<DummyPlayer, Set<DummyPlayer>> matchmaker = createMatchmaker(4);
+        final DummyPlayer firstEurope = new DummyPlayer("first europe", 0);
+        final DummyPlayer secondEurope = new DummyPlayer("second europe", 0);
+        final DummyPlayer firstAsia = new DummyPlayer("first asia", 3);
+        final DummyPlayer secondAsia = new DummyPlayer("second asia", 3);
+        final DummyPlayer america = new DummyPlayer("america", 1);
+
+        matchmaker.addPlayers(asList(firstEurope, firstAsia, secondEurope, secondAsia, america));
+
+        // When
+        final Set<Set<DummyPlayer>> matches = matchmaker.makeMatch();
+
+        // Then
+        final Set<Set<DummyPlayer>> expected = new HashSet<>(asList(
+                new HashSet<>(asList(firstEurope, secondEurope)),
+                new HashSet<>(asList(firstAsia, secondAsia))));
+
+        assertEquals(expected, matches);
+        assertTrue(matchmaker.makeMatch().isEmpty());
+    }
+
+    @Test
+    @DisplayName("makeMatch should return the matches of the other shards and report the failure of a shard.")
+    void makeMatchShouldReturnTheMatchesOfTheOtherShardsAndReportTheFailureOfAShard() {
+        // Given
+        final RecordingShardTransport failing = new RecordingShardTransport();
+        final List<Throwable> errors = new ArrayList<>();
+        final Matchmaker<DummyPlayer, Set<DummyPlayer>> matchmaker = Matchmakers.<DummyPlayer, Set<DummyPlayer>>partitioned()
+                .classifier(REGION)
+                .matchedPlayers(match -> match)
+                .shard(createShard())
+                .shard(failing)
+                .errorHandler(errors::add)
+                .build();
+        final DummyPlayer first = new DummyPlayer("first", 0);
+        final DummyPlayer second = new DummyPlayer("second", 0);
+
+        failing.failure = new IllegalStateException("boom");
+        matchmaker.addPlayers(asList(first, second));
+
+        // When
+        final Set<Set<DummyPlayer>> matches = matchmaker.makeMatch();
+
+        // Then
+        assertEquals(Collections.singleton(new HashSet<>(asList(first, second))), matches);
+        assertEquals(Collections.singletonList(failing.failure), errors);
+    }
+
+    @Test
+    @DisplayName("removePlayer should remove the player from its shard.")
+    void removePlayerShouldRemoveThePlayerFromItsShard() {
+        // Given
+        final Matchmaker<DummyPlayer, Set<DummyPlayer>> matchmaker = createMatchmaker(2);
+        final DummyPlayer first = new DummyPlayer("first", 2);
+        final DummyPlayer second = new DummyPlayer("second", 2);
+
+        final CompletableFuture<Set<DummyPlayer>> future = matchmaker.awaitMatch(first);
+        matchmaker.addPlayer(second);
+
+        // When
+        matchmaker.removePlayers(asList(second));
+
+        // Then
+        assertTrue(matchmaker.makeMatch().isEmpty());
+
+        matchmaker.addPlayer(second);
+        matchmaker.makeMatch();
+
+        assertEquals(new HashSet<>(asList(first, second)), future.join());
+    }
+
+    @Test
+    @DisplayName("removePlayer should remove the player from its shard even if its class has changed.")
+    void removePlayerShouldRemoveThePlayerFromItsShardEvenIfItsClassHasChanged() {
+        // Given
+        final Matchmaker<DummyPlayer, Set<DummyPlayer>> matchmaker = createMatchmaker(2);
+        final DummyPlayer first = new DummyPlayer("first", 0);
+        final DummyPlayer second = new DummyPlayer("second", 0);
+
+        matchmaker.addPlayer(first);
+        first.region = 3;
+
+        // When
+        matchmaker.removePlayer(first);
+
+        // Then
+        matchmaker.addPlayer(second);
+
+        assertTrue(matchmaker.makeMatch().isEmpty());
+    }
+
+    @Test
+    @DisplayName("removePlayer should only be sent to the shard the player was added to.")
+    void removePlayerShouldOnlyBeSentToTheShardThePlayerWasAddedTo() {
+        // Given
+        final List<RecordingShardTransport> shards = asList(new RecordingShardTransport(), new RecordingShardTransport());
+        final Matchmaker<DummyPlayer, Set<DummyPlayer>> matchmaker = createMatchmaker(shards);
+        final DummyPlayer player = new DummyPlayer("player", 0);
+
+        matchmaker.addPlayer(player);
+        player.region = 3;
+
+        // When
+        matchmaker.removePlayer(player);
+
+        // Then
+        assertEquals(asList(player), shards.get(0).removed);
+        assertTrue(shards.get(1).removed.isEmpty());
+    }
+
+    @Test
+    @DisplayName("makeMatch should forget the shards of the matched players.")
+    void makeMatchShouldForgetTheShardsOfTheMatchedPlayers() {
+        // Given
+        final List<RecordingShardTransport> shards = asList(new RecordingShardTransport(), new RecordingShardTransport());
+        final Matchmaker<DummyPlayer, Set<DummyPlayer>> matchmaker = createMatchmaker(shards);
+        final DummyPlayer player = new DummyPlayer("player", 0);
+
+        matchmaker.addPlayer(player);
+        shards.get(0).matches.add(Collections.singleton(player));
+
+        // When
+        matchmaker.makeMatch();
+
+        // Then
+        player.region = 3;
+        matchmaker.removePlayer(player);
+
+        assertTrue(shards.get(0).removed.isEmpty());
+        assertEquals(asList(player), shards.get(1).removed);
+    }
+
+    @Test
+    @DisplayName("updatePlayer should move the player to the shard covering its new class.")
+    void updatePlayerShouldMoveThePlayerToTheShardCoveringItsNewClass() {
+        // Given
+        final List<RecordingShardTransport> shards = asList(new RecordingShardTransport(), new RecordingShardTransport());
+        final Matchmaker<DummyPlayer, Set<DummyPlayer>> matchmaker = createMatchmaker(shards);
+        final DummyPlayer player = new DummyPlayer("player", 0);
+
+        matchmaker.addPlayer(player);
+        player.region = 3;
+
+        // When
+        matchmaker.updatePlayer(player);
+
+        // Then
+        assertTrue(shards.get(0).added.isEmpty());
+        assertEquals(asList(player), shards.get(1).added);
+    }
+
+    @Test
+    @DisplayName("updatePlayer should not send removals if the player stays in its shard.")
+    void updatePlayerShouldNotSendRemovalsIfThePlayerStaysInItsShard() {
+        // Given
+        final List<RecordingShardTransport> shards = asList(new RecordingShardTransport(), new RecordingShardTransport());
+        final Matchmaker<DummyPlayer, Set<DummyPlayer>> matchmaker = createMatchmaker(shards);
+        final DummyPlayer player = new DummyPlayer("player", 0);
+
+        matchmaker.addPlayer(player);
+        player.region = 1;
+
+        // When
+        matchmaker.updatePlayer(player);
+
+        // Then
+        assertTrue(shards.get(0).removed.isEmpty());
+        assertTrue(shards.get(1).removed.isEmpty());
+        assertEquals(asList(player), shards.get(0).added);
+    }
+
+    @Test
+    @DisplayName("build should throw IllegalArgumentException when the players of a match cannot be listed.")
+    void buildShouldThrowIllegalArgumentExceptionWhenThePlayersOfAMatchCannotBeListed() {
+        // Given
+        final PartitionedMatchmakerBuilder<DummyPlayer, Set<DummyPlayer>> builder = Matchmakers.<DummyPlayer, Set<DummyPlayer>>partitioned()
+                .classifier(REGION)
+                .shard(new RecordingShardTransport());
+
+        // Expect
+        assertThrows(IllegalArgumentException.class, builder::build);
+    }
+
+    @Test
+    @DisplayName("build should throw IllegalArgumentException when there are more shards than classes.")
+    void buildShouldThrowIllegalArgumentExceptionWhenThereAreMoreShardsThanClasses() {
+        // Given
+        final PartitionedMatchmakerBuilder<DummyPlayer, Set<DummyPlayer>> builder = Matchmakers.<DummyPlayer, Set<DummyPlayer>>partitioned()
+                .classifier(REGION)
+                .matchedPlayers(match -> match);
+
+        for (int i = 0; i < 5; ++i) {
+            builder.shard(new RecordingShardTransport());
+        }
+
+        // Expect
+        assertThrows(IllegalArgumentException.class, builder::build);
+    }
+
+    @Test
+    @DisplayName("build should throw IllegalArgumentException when there are no shards.")
+    void buildShouldThrowIllegalArgumentExceptionWhenThereAreNoShards() {
+        // Expect
+        assertThrows(IllegalArgumentException.class, () -> Matchmakers.<DummyPlayer, Set<DummyPlayer>>partitioned()
+                .classifier(REGION)
+                .matchedPlayers(match -> match)
+                .build());
+    }
+
+    private static Stream<Arguments> createRoutes() {
+        return Stream.of(
+            Arguments.of(0, 0),
+            Arguments.of(1, 0),
+            Arguments.of(2, 1),
+            Arguments.of(3, 1)
+        );
+    }
+
+    private Matchmaker<DummyPlayer, Set<DummyPlayer>> createMatchmaker(final int shardCount) {
+        final PartitionedMatchmakerBuilder<DummyPlayer, Set<DummyPlayer>> builder = Matchmakers.<DummyPlayer, Set<DummyPlayer>>partitioned()
+                .classifier(REGION)
+                .matchedPlayers(match -> match);
+
+        for (int i = 0; i < shardCount; ++i) {
+            builder.shard(createShard());
+        }
+
+        return builder.build();
+    }
+
+    private static Matchmaker<DummyPlayer, Set<DummyPlayer>> createMatchmaker(final List<RecordingShardTransport> shards) {
+        final PartitionedMatchmakerBuilder<DummyPlayer, Set<DummyPlayer>> builder = Matchmakers.<DummyPlayer, Set<DummyPlayer>>partitioned()
+                .classifier(REGION)
+                .matchedPlayers(match -> match);
+
+        shards.forEach(builder::shard);
+
+        return builder.build();
+    }
+
+    private LoopbackShardTransport<DummyPlayer, Set<DummyPlayer>> createShard() {
+        final MatchFunction<DummyPlayer, Set<DummyPlayer>> matchFunction = MatchFunction.<DummyPlayer, Set<DummyPlayer>>builder()
+                .predicate(hasAtLeast(2))
+                .supplier(picker -> new HashSet<>(picker.pickMany(2)))
+                .build();
+
+        final LoopbackShardTransport<DummyPlayer, Set<DummyPlayer>> transport = new LoopbackShardTransport<>(Matchmakers.<DummyPlayer, Set<DummyPlayer>>decisionTree()
+                .classifier(REGION)
+                .matchFunction(matchFunction)
+                .build());
+
+        transports.add(transport);
+
+        return transport;
+    }
+
+    private static final class RecordingShardTransport implements ShardTransport<DummyPlayer, Set<DummyPlayer>> {
+        private final List<DummyPlayer> added = new ArrayList<>();
+
+        private final List<DummyPlayer> removed = new ArrayList<>();
+
+        private final Set<Set<DummyPlayer>> matches = new HashSet<>();
+
+        private RuntimeException failure;
+
+        @Override
+        public void addPlayers(final Collection<? extends DummyPlayer> players) {
+            added.addAll(players);
+        }
+
+        @Override
+        public CompletableFuture<Set<DummyPlayer>> awaitMatch(final DummyPlayer player) {
+            added.add(player);
+
+            return new CompletableFuture<>();
+        }
+
+        @Override
+        public void removePlayers(final Collection<? extends DummyPlayer> players) {
+            added.removeAll(players);
+            removed.addAll(players);
+        }
+
+        @Override
+        public void updatePlayers(final Collection<? extends DummyPlayer> players) {
+            added.removeAll(players);
+            added.addAll(players);
+        }
+
+        @Override
+        public CompletableFuture<Set<Set<DummyPlayer>>> makeMatch() {
+            final CompletableFuture<Set<Set<DummyPlayer>>> future = new CompletableFuture<>();
+
+            if (failure != null) {
+                future.completeExceptionally(failure);
+            } else {
+                future.complete(new HashSet<>(matches));
+                matches.clear();
+            }
+
+            return future;
+        }
+
+        @Override
+        public CompletableFuture<Set<Set<DummyPlayer>>> makeMatchAndKeepPlayers() {
+            return CompletableFuture.completedFuture(new HashSet<>());
+        }
+    }
+
+    private static final class DummyPlayer {
+        private final String name;
+
+        private int region;
+
+        private DummyPlayer(final String name, final int region) {
+            this.name = name;
+            this.region = region;
+        }
+
+        private int getRegion() {
+            return region;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.codeosseum.eligo.matchmaker.ratingwindow;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.codeosseum.eligo.classifier.ClassificationException;
+import com.codeosseum.eligo.matchmaker.Matchmaker;
+import com.codeosseum.eligo.matchmaker.Matchmakers;
+import com.codeosseum.eligo.matchmaker.PlayerRemovedException;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RatingWindowMatchmakerTest {
+    @Test
+    @DisplayName("makeMatch should match players with close ratings regardless of boundaries.")
+    void makeMatchShouldMatchPlayersWithCloseRatingsRegardlessOfBoundaries() {
+        // Given
+        final Matchmaker<DummyPlayer, List<DummyPlayer>> matchmaker = createMatchmaker(Double.POSITIVE_INFINITY);
+        final DummyPlayer first = new DummyPlayer("first", 1999);
+        final DummyPlayer second = new DummyPlayer("second", 2001);
+
+        matchmaker.addPlayer(new DummyPlayer("far", 1500));
+        matchmaker.addPlayer(second);
+        matchmaker.addPlayer(first);
+
+        // When
+        final Set<List<DummyPlayer>> matches = matchmaker.makeMatch();
+
+        // Then
+        assertEquals(singleton(asList(first, second)), matches);
+        assertTrue(matchmaker.makeMatch().isEmpty());
+    }
+
+    @Test
+    @DisplayName("makeMatch should prefer the tightest window of overlapping ones.")
+    void makeMatchShouldPreferTheTightestWindowOfOverlappingOnes() {
+        // Given
+        final Matchmaker<DummyPlayer, List<DummyPlayer>> matchmaker = createMatchmaker(Double.POSITIVE_INFINITY);
+        final DummyPlayer second = new DummyPlayer("second", 110);
+        final DummyPlayer third = new DummyPlayer("third", 111);
+
+        matchmaker.addPlayer(new DummyPlayer("first", 100));
+        matchmaker.addPlayer(second);
+        matchmaker.addPlayer(third);
+
+        // When
+        final Set<List<DummyPlayer>> matches = matchmaker.makeMatch();
+
+        // Then
+        assertEquals(singleton(asList(second, third)), matches);
+    }
+
+    @Test
+    @DisplayName("makeMatch should not match players whose ratings are further apart than the maximum spread.")
+    void makeMatchShouldNotMatchPlayersWhoseRatingsAreFurtherApartThanTheMaximumSpread() {
+        // Given
+        final Matchmaker<DummyPlayer, List<DummyPlayer>> matchmaker = createMatchmaker(50);
+
+        matchmaker.addPlayer(new DummyPlayer("first", 1000));
+        matchmaker.addPlayer(new DummyPlayer("second", 1051));
+
+        // Expect
+        assertTrue(matchmaker.makeMatch().isEmpty());
+    }
+
+    @Test
+    @DisplayName("makeMatch should make every disjoint match in a single call.")
+    void makeMatchShouldMakeEveryDisjointMatchInASingleCall() {
+        // Given
+        final Matchmaker<DummyPlayer, List<DummyPlayer>> matchmaker = createMatchmaker(Double.POSITIVE_INFINITY);
+
+        for (int i = 0; i < 10; ++i) {
+            matchmaker.addPlayer(new DummyPlayer("player" + i, i * 10));
+        }
+
+        // When
+        final Set<List<DummyPlayer>> matches = matchmaker.makeMatch();
+
+        // Then
+        assertEquals(5, matches.size());
+        assertTrue(matchmaker.makeMatch().isEmpty());
+    }
+
+    @Test
+    @DisplayName("makeMatchAndKeepPlayers should keep the matched players in the lobby.")
+    void makeMatchAndKeepPlayersShouldKeepTheMatchedPlayersInTheLobby() {
+        // Given
+        final Matchmaker<DummyPlayer, List<DummyPlayer>> matchmaker = createMatchmaker(Double.POSITIVE_INFINITY);
+
+        matchmaker.addPlayer(new DummyPlayer("first", 1000));
+        matchmaker.addPlayer(new DummyPlayer("second", 1010));
+
+        // When
+        final Set<List<DummyPlayer>> kept = matchmaker.makeMatchAndKeepPlayers();
+
+        // Then
+        assertEquals(kept, matchmaker.makeMatch());
+    }
+
+    @Test
+    @DisplayName("awaitMatch should complete the future with the match of the player.")
+    void awaitMatchShouldCompleteTheFutureWithTheMatchOfThePlayer() {
+        // Given
+        final Matchmaker<DummyPlayer, List<DummyPlayer>> matchmaker = createMatchmaker(Double.POSITIVE_INFINITY);
+        final DummyPlayer first = new DummyPlayer("first", 1000);
+        final DummyPlayer second = new DummyPlayer("second", 1010);
+
+        final CompletableFuture<List<DummyPlayer>> future = matchmaker.awaitMatch(first);
+        matchmaker.addPlayer(second);
+
+        // When
+        matchmaker.makeMatch();
+
+        // Then
+        assertEquals(asList(first, second), future.join());
+    }
+
+    @Test
+    @DisplayName("removePlayer should complete the future of the player exceptionally.")
+    void removePlayerShouldCompleteTheFutureOfThePlayerExceptionally() {
+        // Given
+        final Matchmaker<DummyPlayer, List<DummyPlayer>> matchmaker = createMatchmaker(Double.POSITIVE_INFINITY);
+        final DummyPlayer player = new DummyPlayer("player", 1000);
+
+        final CompletableFuture<List<DummyPlayer>> future = matchmaker.awaitMatch(player);
+
+        // When
+        matchmaker.removePlayer(player);
+        matchmaker.addPlayer(new DummyPlayer("other", 1000));
+
+        // Then
+        assertTrue(matchmaker.makeMatch().isEmpty());
+
+        final CompletionException exception = assertThrows(CompletionException.class, future::join);
+        assertTrue(exception.getCause() instanceof PlayerRemovedException);
+    }
+
+    @Test
+    @DisplayName("updatePlayer should move the player to its new rating and keep its future.")
+    void updatePlayerShouldMoveThePlayerToItsNewRatingAndKeepItsFuture() {
+        // Given
+        final Matchmaker<DummyPlayer, List<DummyPlayer>> matchmaker = createMatchmaker(50);
+        final DummyPlayer first = new DummyPlayer("first", 1000);
+        final DummyPlayer second = new DummyPlayer("second", 1100);
+
+        final CompletableFuture<List<DummyPlayer>> future = matchmaker.awaitMatch(first);
+        matchmaker.addPlayer(second);
+
+        assertTrue(matchmaker.makeMatch().isEmpty());
+
+        // When
+        first.rating = 1090;
+        matchmaker.updatePlayer(first);
+
+        // Then
+        assertEquals(singleton(asList(first, second)), matchmaker.makeMatch());
+        assertEquals(asList(first, second), future.join());
+    }
+
+    @Test
+    @DisplayName("addPlayer should throw ClassificationException when the rating is NaN.")
+    void addPlayerShouldThrowClassificationExceptionWhenTheRatingIsNaN() {
+        // Given
+        final Matchmaker<DummyPlayer, List<DummyPlayer>> matchmaker = createMatchmaker(Double.POSITIVE_INFINITY);
+
+        // Expect
+        assertThrows(ClassificationException.class, () -> matchmaker.addPlayer(new DummyPlayer("player", Double.NaN)));
+    }
+
+    @Test
+    @DisplayName("maxSpread should throw IllegalArgumentException when the spread is negative.")
+    void maxSpreadShouldThrowIllegalArgumentExceptionWhenTheSpreadIsNegative() {
+        // Expect
+        assertThrows(IllegalArgumentException.class, () -> Matchmakers.ratingWindow().maxSpread(-1));
+    }
+
+    private static Matchmaker<DummyPlayer, List<DummyPlayer>> createMatchmaker(final double maxSpread) {
+        return Matchmakers.<DummyPlayer, List<DummyPlayer>>ratingWindow()
+                .rating(DummyPlayer::getRating)
+                .matchSize(2)
+                .maxSpread(maxSpread)
+                .supplier(players -> players)
+                .build();
+    }
+
+    private static final class DummyPlayer {
+        private final String name;
+
+        private double rating;
+
+        private DummyPlayer(final String name, final double rating) {
+            this.name = name;
+            this.rating = rating;
+        }
+
+        private double getRating() {
+            return rating;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
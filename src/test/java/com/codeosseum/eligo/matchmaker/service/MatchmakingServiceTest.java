@@ -0,0 +1,281 @@
+package com.codeosseum.eligo.matchmaker.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.codeosseum.eligo.matchmaker.Matchmaker;
+
+import static java.util.Arrays.asList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MatchmakingServiceTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    @Test
+    @DisplayName("The service should deliver matches to every listener.")
+    void theServiceShouldDeliverMatchesToEveryListener() throws InterruptedException {
+        // Given
+        final CountingMatchmaker matchmaker = new CountingMatchmaker(3);
+        final List<Integer> firstReceived = new CopyOnWriteArrayList<>();
+        final List<Integer> secondReceived = new CopyOnWriteArrayList<>();
+        final CountDownLatch delivered = new CountDownLatch(6);
+        final MatchmakingService<Integer> service = MatchmakingService.builder(matchmaker)
+                .interval(Duration.ofMillis(1))
+                .listener(match -> { firstReceived.add(match); delivered.countDown(); })
+                .listener(match -> { secondReceived.add(match); delivered.countDown(); })
+                .build();
+
+        // When
+        service.start();
+
+        // Then
+        assertTrue(delivered.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+        assertEquals(asSortedList(firstReceived), asSortedList(secondReceived));
+        assertEquals(3, firstReceived.size());
+
+        service.shutdown();
+        assertTrue(service.awaitTermination(TIMEOUT));
+    }
+
+    @Test
+    @DisplayName("The service should back off when no matches are made.")
+    void theServiceShouldBackOffWhenNoMatchesAreMade() throws InterruptedException {
+        // Given
+        final CountingMatchmaker matchmaker = new CountingMatchmaker(0);
+        final MatchmakingService<Integer> service = MatchmakingService.builder(matchmaker)
+                .interval(Duration.ofMillis(1))
+                .maxInterval(Duration.ofSeconds(10))
+                .build();
+
+        // When
+        service.start();
+        Thread.sleep(300);
+        service.shutdown();
+
+        // Then
+        assertTrue(service.awaitTermination(TIMEOUT));
+        // Without back-off, roughly 300 ticks would have been made.
+        assertTrue(matchmaker.getTicks() <= 12);
+    }
+
+    @Test
+    @DisplayName("The service should stop ticking after shutdown.")
+    void theServiceShouldStopTickingAfterShutdown() throws InterruptedException {
+        // Given
+        final CountingMatchmaker matchmaker = new CountingMatchmaker(Integer.MAX_VALUE);
+        final MatchmakingService<Integer> service = MatchmakingService.builder(matchmaker)
+                .interval(Duration.ofMillis(1))
+                .build();
+
+        service.start();
+        Thread.sleep(20);
+
+        // When
+        service.shutdown();
+
+        // Then
+        assertTrue(service.awaitTermination(TIMEOUT));
+        assertFalse(service.isRunning());
+
+        final int ticks = matchmaker.getTicks();
+        Thread.sleep(20);
+        assertEquals(ticks, matchmaker.getTicks());
+    }
+
+    @Test
+    @DisplayName("The service should keep ticking when making matches fails.")
+    void theServiceShouldKeepTickingWhenMakingMatchesFails() throws InterruptedException {
+        // Given
+        final RuntimeException failure = new RuntimeException();
+        final CountDownLatch failures = new CountDownLatch(3);
+        final List<Throwable> errors = new CopyOnWriteArrayList<>();
+        final MatchmakingService<Integer> service = MatchmakingService.builder(new FailingMatchmaker(failure))
+                .interval(Duration.ofMillis(1))
+                .maxInterval(Duration.ofMillis(1))
+                .errorHandler(error -> { errors.add(error); failures.countDown(); })
+                .build();
+
+        // When
+        service.start();
+
+        // Then
+        assertTrue(failures.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+        assertSame(failure, errors.get(0));
+
+        service.shutdown();
+        assertTrue(service.awaitTermination(TIMEOUT));
+    }
+
+    @Test
+    @DisplayName("The service should keep ticking when making matches throws an error.")
+    void theServiceShouldKeepTickingWhenMakingMatchesThrowsAnError() throws InterruptedException {
+        // Given
+        final Error failure = new AssertionError();
+        final CountDownLatch failures = new CountDownLatch(3);
+        final List<Throwable> errors = new CopyOnWriteArrayList<>();
+        final MatchmakingService<Integer> service = MatchmakingService.builder(new FailingMatchmaker(failure))
+                .interval(Duration.ofMillis(1))
+                .maxInterval(Duration.ofMillis(1))
+                .errorHandler(error -> { errors.add(error); failures.countDown(); })
+                .build();
+
+        // When
+        service.start();
+
+        // Then
+        assertTrue(failures.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+        assertSame(failure, errors.get(0));
+
+        service.shutdown();
+        assertTrue(service.awaitTermination(TIMEOUT));
+    }
+
+    @Test
+    @DisplayName("The service should deliver the matches rejected by the delivery executor on its own thread.")
+    void theServiceShouldDeliverTheMatchesRejectedByTheDeliveryExecutorOnItsOwnThread() throws InterruptedException {
+        // Given
+        final List<Integer> received = new CopyOnWriteArrayList<>();
+        final CountDownLatch delivered = new CountDownLatch(3);
+        final MatchmakingService<Integer> service = MatchmakingService.builder(new CountingMatchmaker(3))
+                .interval(Duration.ofMillis(1))
+                .deliveryExecutor(command -> {
+                    throw new RejectedExecutionException();
+                })
+                .listener(match -> { received.add(match); delivered.countDown(); })
+                .build();
+
+        // When
+        service.start();
+
+        // Then
+        assertTrue(delivered.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+        assertEquals(asList(1, 2, 3), asSortedList(received));
+
+        service.shutdown();
+        assertTrue(service.awaitTermination(TIMEOUT));
+    }
+
+    @Test
+    @DisplayName("start should throw IllegalStateException when called twice.")
+    void startShouldThrowIllegalStateExceptionWhenCalledTwice() {
+        // Given
+        final MatchmakingService<Integer> service = MatchmakingService.builder(new CountingMatchmaker(0)).build();
+
+        service.start();
+
+        // Expect
+        assertThrows(IllegalStateException.class, service::start);
+
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("interval should throw IllegalArgumentException when the duration is not positive.")
+    void intervalShouldThrowIllegalArgumentExceptionWhenTheDurationIsNotPositive() {
+        // Expect
+        assertThrows(IllegalArgumentException.class,
+                () -> MatchmakingService.builder(new CountingMatchmaker(0)).interval(Duration.ZERO));
+    }
+
+    private static List<Integer> asSortedList(final List<Integer> list) {
+        final List<Integer> copy = new ArrayList<>(list);
+        Collections.sort(copy);
+
+        return copy;
+    }
+
+    private static final class CountingMatchmaker implements Matchmaker<Integer, Integer> {
+        private final int matchCount;
+
+        private final AtomicInteger ticks = new AtomicInteger();
+
+        private CountingMatchmaker(final int matchCount) {
+            this.matchCount = matchCount;
+        }
+
+        @Override
+        public void addPlayer(final Integer player) {
+        }
+
+        @Override
+        public CompletableFuture<Integer> awaitMatch(final Integer player) {
+            return new CompletableFuture<>();
+        }
+
+        @Override
+        public void removePlayer(final Integer player) {
+        }
+
+        @Override
+        public Set<Integer> makeMatch() {
+            final int tick = ticks.incrementAndGet();
+
+            return tick <= matchCount ? Collections.singleton(tick) : Collections.emptySet();
+        }
+
+        @Override
+        public Set<Integer> makeMatchAndKeepPlayers() {
+            return makeMatch();
+        }
+
+        int getTicks() {
+            return ticks.get();
+        }
+    }
+
+    private static final class FailingMatchmaker implements Matchmaker<Integer, Integer> {
+        private final Throwable failure;
+
+        private FailingMatchmaker(final Throwable failure) {
+            this.failure = failure;
+        }
+
+        @Override
+        public void addPlayer(final Integer player) {
+        }
+
+        @Override
+        public CompletableFuture<Integer> awaitMatch(final Integer player) {
+            return new CompletableFuture<>();
+        }
+
+        @Override
+        public void removePlayer(final Integer player) {
+        }
+
+        @Override
+        public Set<Integer> makeMatch() {
+            return fail();
+        }
+
+        @Override
+        public Set<Integer> makeMatchAndKeepPlayers() {
+            return fail();
+        }
+
+        private Set<Integer> fail() {
+            if (failure instanceof Error) {
+                throw (Error) failure;
+            }
+
+            throw (RuntimeException) failure;
+        }
+    }
+}
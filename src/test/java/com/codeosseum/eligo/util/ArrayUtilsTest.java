@@ -0,0 +1,69 @@
+package com.codeosseum.eligo.util;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import static com.codeosseum.eligo.util.ArrayUtils.isStrictlyIncreasing;
+import static com.codeosseum.eligo.util.ArrayUtils.upperBound;
+
+class ArrayUtilsTest {
+    @ParameterizedTest
+    @MethodSource("createCasesForIntIsStrictlyIncreasing")
+    @DisplayName("isStrictlyIncreasing should work correctly for int arrays.")
+    void intIsStrictlyIncreasingShouldWorkCorrectly(int[] array, boolean expectedResult) {
+        // Expect
+        assertEquals(expectedResult, isStrictlyIncreasing(array));
+    }
+
+    @ParameterizedTest
+    @MethodSource("createCasesForDoubleIsStrictlyIncreasing")
+    @DisplayName("isStrictlyIncreasing should work correctly for double arrays.")
+    void doubleIsStrictlyIncreasingShouldWorkCorrectly(double[] array, boolean expectedResult) {
+        // Expect
+        assertEquals(expectedResult, isStrictlyIncreasing(array));
+    }
+
+    @ParameterizedTest
+    @MethodSource("createCasesForIntUpperBound")
+    @DisplayName("upperBound should return the index of the first greater element.")
+    void intUpperBoundShouldReturnTheIndexOfTheFirstGreaterElement(int[] array, int value, int expectedResult) {
+        // Expect
+        assertEquals(expectedResult, upperBound(array, value));
+    }
+
+    private static Stream<Arguments> createCasesForIntUpperBound() {
+        return Stream.of(
+            Arguments.of(new int[] {}, 5, 0),
+            Arguments.of(new int[] {10, 20}, 5, 0),
+            Arguments.of(new int[] {10, 20}, 10, 1),
+            Arguments.of(new int[] {10, 20}, 15, 1),
+            Arguments.of(new int[] {10, 20}, 20, 2)
+        );
+    }
+
+    private static Stream<Arguments> createCasesForIntIsStrictlyIncreasing() {
+        return Stream.of(
+            Arguments.of(new int[] {}, true),
+            Arguments.of(new int[] {1}, true),
+            Arguments.of(new int[] {1, 1}, false),
+            Arguments.of(new int[] {3, 2, 1}, false),
+            Arguments.of(new int[] {1, 2, 3}, true)
+        );
+    }
+
+    private static Stream<Arguments> createCasesForDoubleIsStrictlyIncreasing() {
+        return Stream.of(
+            Arguments.of(new double[] {}, true),
+            Arguments.of(new double[] {Double.NaN}, false),
+            Arguments.of(new double[] {1.0, Double.NaN}, false),
+            Arguments.of(new double[] {1.0, 1.0}, false),
+            Arguments.of(new double[] {1.0, 2.0, 3.0}, true)
+        );
+    }
+}
@@ -0,0 +1,79 @@
+package com.codeosseum.eligo.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntIntHashMapTest {
+    @Test
+    @DisplayName("put and get should work correctly while growing.")
+    void putAndGetShouldWorkCorrectlyWhileGrowing() {
+        // Given
+        final IntIntHashMap map = new IntIntHashMap();
+
+        // When
+        for (int i = -1000; i < 1000; ++i) {
+            map.put(i, i * 2);
+        }
+
+        map.put(5, 0);
+
+        // Then
+        assertEquals(2000, map.size());
+        assertEquals(0, map.get(5, -1));
+        assertEquals(-2000, map.get(-1000, -1));
+        assertEquals(-1, map.get(1000, -1));
+        assertTrue(map.containsKey(999));
+        assertFalse(map.containsKey(1000));
+    }
+
+    @Test
+    @DisplayName("remove should keep the remaining mappings reachable.")
+    void removeShouldKeepTheRemainingMappingsReachable() {
+        // Given
+        final IntIntHashMap map = new IntIntHashMap();
+
+        for (int i = 0; i < 1000; ++i) {
+            map.put(i, i);
+        }
+
+        // When
+        for (int i = 0; i < 1000; i += 3) {
+            assertEquals(i, map.remove(i, -1));
+        }
+
+        // Then
+        assertEquals(-1, map.remove(0, -1));
+        assertEquals(666, map.size());
+
+        for (int i = 0; i < 1000; ++i) {
+            assertEquals(i % 3 == 0 ? -1 : i, map.get(i, -1));
+        }
+    }
+
+    @Test
+    @DisplayName("clear should remove every mapping.")
+    void clearShouldRemoveEveryMapping() {
+        // Given
+        final IntIntHashMap map = new IntIntHashMap();
+        map.put(1, 1);
+
+        // When
+        map.clear();
+
+        // Then
+        assertTrue(map.isEmpty());
+        assertEquals(-1, map.get(1, -1));
+    }
+
+    @Test
+    @DisplayName("put should throw IllegalArgumentException if the key is Integer.MIN_VALUE.")
+    void putShouldThrowIllegalArgumentExceptionIfTheKeyIsIntegerMinValue() {
+        // Expect
+        assertThrows(IllegalArgumentException.class, () -> new IntIntHashMap().put(Integer.MIN_VALUE, 0));
+    }
+}
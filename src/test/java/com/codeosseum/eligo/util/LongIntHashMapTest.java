@@ -0,0 +1,84 @@
+package com.codeosseum.eligo.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LongIntHashMapTest {
+    @Test
+    @DisplayName("put and get should work correctly while growing.")
+    void putAndGetShouldWorkCorrectlyWhileGrowing() {
+        // Given
+        final LongIntHashMap map = new LongIntHashMap();
+
+        // When
+        for (long i = 0; i < 2000; ++i) {
+            map.put(i << 32, (int) i * 2);
+        }
+
+        map.put(5L << 32, 0);
+
+        // Then
+        assertEquals(2000, map.size());
+        assertEquals(0, map.get(5L << 32, -1));
+        assertEquals(3998, map.get(1999L << 32, -1));
+        assertEquals(-1, map.get(2000L << 32, -1));
+    }
+
+    @Test
+    @DisplayName("remove should keep the remaining mappings reachable.")
+    void removeShouldKeepTheRemainingMappingsReachable() {
+        // Given
+        final LongIntHashMap map = new LongIntHashMap();
+
+        for (int i = 0; i < 1000; ++i) {
+            map.put(i, i);
+        }
+
+        // When
+        for (int i = 0; i < 1000; i += 3) {
+            assertEquals(i, map.remove(i, -1));
+        }
+
+        // Then
+        assertEquals(-1, map.remove(0, -1));
+        assertEquals(666, map.size());
+
+        for (int i = 0; i < 1000; ++i) {
+            assertEquals(i % 3 == 0 ? -1 : i, map.get(i, -1));
+        }
+    }
+
+    @Test
+    @DisplayName("forEach should pass every mapping to the consumer.")
+    void forEachShouldPassEveryMappingToTheConsumer() {
+        // Given
+        final LongIntHashMap map = new LongIntHashMap();
+        final Map<Long, Integer> expected = new HashMap<>();
+
+        for (int i = 0; i < 100; ++i) {
+            map.put(i * 7L, i);
+            expected.put(i * 7L, i);
+        }
+
+        // When
+        final Map<Long, Integer> visited = new HashMap<>();
+
+        map.forEach(visited::put);
+
+        // Then
+        assertEquals(expected, visited);
+    }
+
+    @Test
+    @DisplayName("put should throw IllegalArgumentException if the key is Long.MIN_VALUE.")
+    void putShouldThrowIllegalArgumentExceptionIfTheKeyIsLongMinValue() {
+        // Expect
+        assertThrows(IllegalArgumentException.class, () -> new LongIntHashMap().put(Long.MIN_VALUE, 0));
+    }
+}